@@ -282,6 +282,16 @@ public class V1_11 extends NMSWrapper {
         return nbt.toString();
     }
 
+    @Override
+    public byte[] getNMSItemStackBytes(ItemStack itemStack) throws IOException {
+        NBTTagCompound nbtTagCompound = new NBTTagCompound();
+        net.minecraft.server.v1_11_R1.ItemStack nmsItemStack = toNMSCopy(itemStack);
+        NBTBase nbt = nmsItemStack.save(nbtTagCompound);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompressedStreamTools.a((NBTTagCompound) nbt, (DataOutput) new DataOutputStream(out));
+        return out.toByteArray();
+    }
+
     @Override
     public Map<Key, DataComponentValue> getNMSItemStackDataComponents(ItemStack itemStack) {
         throw new UnsupportedOperationException();
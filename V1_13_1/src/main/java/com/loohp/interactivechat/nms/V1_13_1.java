@@ -323,6 +323,16 @@ public class V1_13_1 extends NMSWrapper {
         return nbt.toString();
     }
 
+    @Override
+    public byte[] getNMSItemStackBytes(ItemStack itemStack) throws IOException {
+        NBTTagCompound nbtTagCompound = new NBTTagCompound();
+        net.minecraft.server.v1_13_R2.ItemStack nmsItemStack = toNMSCopy(itemStack);
+        NBTBase nbt = nmsItemStack.save(nbtTagCompound);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NBTCompressedStreamTools.a((NBTTagCompound) nbt, (DataOutput) new DataOutputStream(out));
+        return out.toByteArray();
+    }
+
     @Override
     public Map<Key, DataComponentValue> getNMSItemStackDataComponents(ItemStack itemStack) {
         throw new UnsupportedOperationException();
@@ -142,6 +142,8 @@ public abstract class NMSWrapper {
 
     public abstract String getNMSItemStackJson(ItemStack itemStack);
 
+    public abstract byte[] getNMSItemStackBytes(ItemStack itemStack) throws IOException;
+
     public abstract Map<Key, DataComponentValue> getNMSItemStackDataComponents(ItemStack itemStack);
 
     public abstract ItemStack getItemStackFromDataComponents(ItemStack itemStack, Map<Key, DataComponentValue> dataComponents);
@@ -58,6 +58,10 @@ public interface IICPlayer extends IOfflineICPlayer {
 
     void setRemoteEnderChest(Inventory enderchest);
 
+    /**
+     * @return An unmodifiable set of the plugin provided nicknames of this player, as well as the ones forwarded
+     * from the proxy if this player is remote. Copy it before making changes.
+     */
     Set<String> getNicknames();
 
     Set<String> getRemoteNicknames();
@@ -21,6 +21,7 @@
 package com.loohp.interactivechat;
 
 import com.loohp.interactivechat.api.InteractiveChatAPI;
+import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
 import com.loohp.interactivechat.api.events.InteractiveChatConfigReloadEvent;
 import com.loohp.interactivechat.bungeemessaging.BungeeMessageSender;
 import com.loohp.interactivechat.config.ConfigManager;
@@ -337,7 +338,7 @@ public class Commands implements CommandExecutor, TabCompleter {
                                 component = CommandsDisplay.process(component);
                             }
                             if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_16) && InteractiveChat.fontTags) {
-                                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.customfont.translate", true, 250)) {
+                                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.customfont.translate", true)) {
                                     component = ComponentFont.parseFont(component);
                                 }
                             }
@@ -491,15 +492,15 @@ public class Commands implements CommandExecutor, TabCompleter {
                     PlayerData data = InteractiveChat.playerDataManager.getPlayerData(player);
                     String hash = args[1];
                     if (data == null || data.getInventoryDisplayLayout() == 0) {
-                        Inventory inv = InteractiveChat.inventoryDisplay.get(hash);
+                        Inventory inv = InteractiveChatAPI.getSharedInventory(SharedType.INVENTORY, hash);
                         if (inv != null) {
                             Scheduler.runTask(InteractiveChat.plugin, () -> player.openInventory(inv), player);
                         } else {
                             InteractiveChat.sendMessage(player, PlaceholderAPIUtils.setPlaceholders(player, InteractiveChat.invExpiredMessage));
                         }
                     } else {
-                        Inventory inv = InteractiveChat.inventoryDisplay1Upper.get(hash);
-                        Inventory inv2 = InteractiveChat.inventoryDisplay1Lower.get(hash);
+                        Inventory inv = InteractiveChatAPI.getSharedInventory(SharedType.INVENTORY1_UPPER, hash);
+                        Inventory inv2 = InteractiveChatAPI.getSharedInventory(SharedType.INVENTORY1_LOWER, hash);
                         if (inv != null && inv2 != null) {
                             Scheduler.runTask(InteractiveChat.plugin, () -> {
                                 player.openInventory(inv);
@@ -513,7 +514,7 @@ public class Commands implements CommandExecutor, TabCompleter {
                     break;
                 }
                 case "viewender": {
-                    Inventory inv = InteractiveChat.enderDisplay.get(args[1]);
+                    Inventory inv = InteractiveChatAPI.getSharedInventory(SharedType.ENDERCHEST, args[1]);
                     if (inv != null) {
                         Scheduler.runTask(InteractiveChat.plugin, () -> player.openInventory(inv), player);
                     } else {
@@ -522,7 +523,7 @@ public class Commands implements CommandExecutor, TabCompleter {
                     break;
                 }
                 case "viewitem": {
-                    Inventory inv = InteractiveChat.itemDisplay.get(args[1]);
+                    Inventory inv = InteractiveChatAPI.getSharedInventory(SharedType.ITEM, args[1]);
                     if (inv != null) {
                         Scheduler.runTask(InteractiveChat.plugin, () -> player.openInventory(inv), player);
                     } else {
@@ -531,7 +532,7 @@ public class Commands implements CommandExecutor, TabCompleter {
                     break;
                 }
                 case "viewmap":
-                    ItemStack map = InteractiveChat.mapDisplay.get(args[1]);
+                    ItemStack map = InteractiveChatAPI.getSharedMap(args[1]);
                     if (map != null) {
                         Scheduler.runTask(InteractiveChat.plugin, () -> MapViewer.showMap(player, map), player);
                     } else {
@@ -61,15 +61,22 @@ import com.loohp.interactivechat.metrics.Metrics;
 import com.loohp.interactivechat.modules.MentionDisplay;
 import com.loohp.interactivechat.modules.PlayernameDisplay;
 import com.loohp.interactivechat.modules.ProcessExternalMessage;
+import com.loohp.interactivechat.objectholders.CompactSharedDisplayStorage;
 import com.loohp.interactivechat.objectholders.ConcurrentCacheHashMap;
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
 import com.loohp.interactivechat.objectholders.LogFilter;
+import com.loohp.interactivechat.objectholders.MentionEffectProfile;
 import com.loohp.interactivechat.objectholders.MentionPair;
 import com.loohp.interactivechat.objectholders.ModernChatCompletionTask;
 import com.loohp.interactivechat.objectholders.NicknameManager;
+import com.loohp.interactivechat.objectholders.NicknameProviderCache;
+import com.loohp.interactivechat.objectholders.OnlinePlayerNameIndex;
 import com.loohp.interactivechat.objectholders.PlaceholderCooldownManager;
+import com.loohp.interactivechat.objectholders.PlaceholderIngressMatcher;
+import com.loohp.interactivechat.objectholders.PlaceholderKeywordIndex;
+import com.loohp.interactivechat.objectholders.RecentMessageIndex;
 import com.loohp.interactivechat.objectholders.SignedMessageModificationData;
 import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.placeholderapi.Placeholders;
@@ -263,7 +270,8 @@ public class InteractiveChat extends JavaPlugin {
     public static String bedrockEventsMenuContent = "";
     public static String bedrockEventsMenuRunSuggested = "";
 
-    public static Map<String, UUID> messages = new ConcurrentHashMap<>();
+    public static RecentMessageIndex messages = new RecentMessageIndex();
+    public static OnlinePlayerNameIndex onlinePlayerNames = new OnlinePlayerNameIndex();
     public static Map<String, Long> keyTime = new ConcurrentHashMap<>();
     public static Map<String, ICPlayer> keyPlayer = new ConcurrentHashMap<>();
 
@@ -278,6 +286,7 @@ public class InteractiveChat extends JavaPlugin {
     public static ConcurrentCacheHashMap<String, Inventory> inventoryDisplay1Lower = new ConcurrentCacheHashMap<>(InteractiveChat.itemDisplayTimeout, 60000);
     public static ConcurrentCacheHashMap<String, Inventory> enderDisplay = new ConcurrentCacheHashMap<>(InteractiveChat.itemDisplayTimeout, 60000);
     public static ConcurrentCacheHashMap<String, ItemStack> mapDisplay = new ConcurrentCacheHashMap<>(InteractiveChat.itemDisplayTimeout, 60000);
+    public static CompactSharedDisplayStorage compactDisplayStorage = null;
     public static Set<Inventory> upperSharedInventory = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     public static Set<Inventory> lowerSharedInventory = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 
@@ -288,6 +297,8 @@ public class InteractiveChat extends JavaPlugin {
     public static long universalCooldown = 0;
 
     public static Map<UUID, ICPlaceholder> placeholderList = new LinkedHashMap<>();
+    public static PlaceholderKeywordIndex customPlaceholderIndex = null;
+    public static PlaceholderIngressMatcher placeholderIngressMatcher = PlaceholderIngressMatcher.build(Collections.emptyList());
     public static int maxPlaceholders = -1;
     public static String limitReachMessage = "&cPlease do now use excessive amount of placeholders in one message!";
 
@@ -312,12 +323,14 @@ public class InteractiveChat extends JavaPlugin {
     public static int mentionTitleDuration = 0;
     public static int mentionBossBarDuration = 0;
     public static int mentionBossBarRemoveDelay = 0;
+    public static MentionEffectProfile mentionEffectProfile = null;
 
     public static List<String> commandList = new ArrayList<>();
 
     public static Set<String> messageToIgnore = new HashSet<>();
 
     public static Map<Plugin, Function<UUID, List<String>>> pluginNicknames = new ConcurrentHashMap<>();
+    public static NicknameProviderCache nicknameProviderCache = new NicknameProviderCache(pluginNicknames);
 
     public static boolean filterUselessColorCodes = true;
 
@@ -507,17 +520,12 @@ public class InteractiveChat extends JavaPlugin {
             }
 
             Scheduler.runTaskTimerAsynchronously(plugin, () -> {
-                if (parsePAPIOnMainThread) {
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        Scheduler.runTask(plugin, () -> {
-                            PlaceholderParser.parse(ICPlayerFactory.getICPlayer(player), usePlayerNameHoverText);
-                            PlaceholderParser.parse(ICPlayerFactory.getICPlayer(player), usePlayerNameClickValue);
-                        }, player);
-                    }
-                } else {
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        PlaceholderParser.parse(ICPlayerFactory.getICPlayer(player), usePlayerNameHoverText);
-                        PlaceholderParser.parse(ICPlayerFactory.getICPlayer(player), usePlayerNameClickValue);
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    ICPlayer icPlayer = ICPlayerFactory.getICPlayer(player);
+                    if (useTooltipOnTab) {
+                        PlaceholderParser.prefetch(icPlayer, usePlayerNameHoverText, Component.text(usePlayerNameClickValue), tabTooltip);
+                    } else {
+                        PlaceholderParser.prefetch(icPlayer, usePlayerNameHoverText, Component.text(usePlayerNameClickValue));
                     }
                 }
             }, 0, 100);
@@ -578,6 +586,8 @@ public class InteractiveChat extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new InventoryEvents(), this);
         getServer().getPluginManager().registerEvents(new PlayerUtils(), this);
         getServer().getPluginManager().registerEvents(new MapViewer(), this);
+        getServer().getPluginManager().registerEvents(onlinePlayerNames, this);
+        onlinePlayerNames.start();
 
         OutMessagePacket.messageListeners();
         if (version.isNewerOrEqualTo(MCVersion.V1_19)) {
@@ -707,7 +717,7 @@ public class InteractiveChat extends JavaPlugin {
         }
 
         playerDataManager = new PlayerDataManager(this, database);
-        nicknameManager = new NicknameManager(uuid -> InteractiveChatAPI.getNicknames(uuid), () -> InteractiveChatAPI.getOnlineICPlayers().stream().filter(each -> each.isLocal()).map(each -> each.getUniqueId()).collect(Collectors.toSet()), 5000, (uuid, nicknames) -> {
+        nicknameManager = new NicknameManager(uuid -> nicknameProviderCache.fetchNicknames(uuid), () -> InteractiveChatAPI.getOnlineICPlayers().stream().filter(each -> each.isLocal()).map(each -> each.getUniqueId()).collect(Collectors.toSet()), 5000, (uuid, nicknames) -> {
             if (InteractiveChat.bungeecordMode) {
                 Player bukkitPlayer = Bukkit.getPlayer(uuid);
                 if (bukkitPlayer != null) {
@@ -806,6 +816,7 @@ public class InteractiveChat extends JavaPlugin {
         if (nicknameManager != null) {
             nicknameManager.close();
         }
+        ICPlayerFactory.shutdownOfflinePlayerLoader();
         try {
             MessagePacketHandler.getAsyncChatSendingExecutor().close();
         } catch (Exception ignored) {
@@ -821,7 +832,7 @@ public class InteractiveChat extends JavaPlugin {
             inventoryDisplay1Lower.cleanUp();
             enderDisplay.cleanUp();
             mapDisplay.cleanUp();
-        }, 0, 1200);
+        }, 0, 20);
     }
 
 }
@@ -23,9 +23,13 @@ package com.loohp.interactivechat.api;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.bungeemessaging.BungeeMessageSender;
 import com.loohp.interactivechat.modules.ItemDisplay;
+import com.loohp.interactivechat.objectholders.CompactSharedDisplayStorage;
+import com.loohp.interactivechat.objectholders.CompactSharedDisplayStorage.MaterializedDisplay;
+import com.loohp.interactivechat.objectholders.ConcurrentCacheHashMap;
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
+import com.loohp.interactivechat.objectholders.NicknameProviderCache;
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
 import com.loohp.interactivechat.objectholders.PlaceholderCooldownManager;
 import com.loohp.interactivechat.objectholders.ValuePairs;
@@ -34,9 +38,7 @@ import com.loohp.interactivechat.platform.packets.PlatformPlayServerSystemChatPa
 import com.loohp.interactivechat.registry.Registry;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
 import net.kyori.adventure.text.Component;
-import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.chat.ComponentSerializer;
-import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
@@ -50,7 +52,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
@@ -322,12 +323,18 @@ public class InteractiveChatAPI {
     }
 
     /**
-     * Get the shared inventory list
+     * Get the shared inventory list, shares held in compact storage are materialized by this call
      *
      * @param type
      * @return The shared inventory list
      */
     public static Map<String, Inventory> getItemShareList(SharedType type) {
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        if (storage != null) {
+            for (String hash : storage.getInventoryHashes(type)) {
+                getSharedInventory(type, hash);
+            }
+        }
         switch (type) {
             case ITEM:
                 return Collections.unmodifiableMap(InteractiveChat.itemDisplay);
@@ -344,11 +351,17 @@ public class InteractiveChatAPI {
     }
 
     /**
-     * Get the shared map list
+     * Get the shared map list, shares held in compact storage are materialized by this call
      *
      * @return The shared map list
      */
     public static Map<String, ItemStack> getMapShareList() {
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        if (storage != null) {
+            for (String hash : storage.getMapHashes()) {
+                getSharedMap(hash);
+            }
+        }
         return Collections.unmodifiableMap(InteractiveChat.mapDisplay);
     }
 
@@ -387,6 +400,96 @@ public class InteractiveChatAPI {
         return hash;
     }
 
+    /**
+     * Add an inventory to the shared inventory list, if compact storage is enabled the inventory
+     * is stored serialized and is only turned back into an inventory when it is viewed
+     *
+     * @param type
+     * @param hash key
+     * @param title the title the inventory was created with
+     * @param inventory
+     * @return The hashed key which can be used to retrieve the inventory
+     * @throws Exception
+     */
+    public static String addInventoryToItemShareList(SharedType type, String hash, String title, Inventory inventory) throws Exception {
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        if (storage != null) {
+            try {
+                storage.storeInventory(type, hash, title, inventory);
+                return hash;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return addInventoryToItemShareList(type, hash, inventory);
+    }
+
+    /**
+     * Check whether an inventory is shared under the given hash, regardless of how it is stored
+     *
+     * @param type
+     * @param hash key
+     * @return Whether it is shared
+     */
+    public static boolean isInventoryShared(SharedType type, String hash) {
+        if (getDisplayMap(type).containsKey(hash)) {
+            return true;
+        }
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        return storage != null && storage.containsInventory(type, hash);
+    }
+
+    /**
+     * Get a shared inventory, materializing it from compact storage if needed
+     *
+     * @param type
+     * @param hash key
+     * @return The shared inventory, or null if it does not exist or has expired
+     */
+    public static Inventory getSharedInventory(SharedType type, String hash) {
+        ConcurrentCacheHashMap<String, Inventory> map = getDisplayMap(type);
+        Inventory inventory = map.get(hash);
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        if (inventory != null || storage == null) {
+            return inventory;
+        }
+        synchronized (storage) {
+            MaterializedDisplay<Inventory> materialized = null;
+            try {
+                materialized = storage.materializeInventory(type, hash);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            if (materialized == null) {
+                return map.get(hash);
+            }
+            inventory = materialized.getValue();
+            if (type.equals(SharedType.INVENTORY1_LOWER)) {
+                InteractiveChat.lowerSharedInventory.add(inventory);
+            } else {
+                InteractiveChat.upperSharedInventory.add(inventory);
+            }
+            Inventory existing = map.putIfAbsent(hash, inventory, materialized.getExpireAt());
+            return existing == null ? inventory : existing;
+        }
+    }
+
+    private static ConcurrentCacheHashMap<String, Inventory> getDisplayMap(SharedType type) {
+        switch (type) {
+            case ITEM:
+                return InteractiveChat.itemDisplay;
+            case INVENTORY:
+                return InteractiveChat.inventoryDisplay;
+            case INVENTORY1_UPPER:
+                return InteractiveChat.inventoryDisplay1Upper;
+            case INVENTORY1_LOWER:
+                return InteractiveChat.inventoryDisplay1Lower;
+            case ENDERCHEST:
+                return InteractiveChat.enderDisplay;
+        }
+        throw new IllegalArgumentException("Unknown shared type " + type);
+    }
+
     /**
      * Add a map to the shared map list
      *
@@ -395,10 +498,61 @@ public class InteractiveChatAPI {
      * @return The hashed key which can be used to retrieve the inventory
      */
     public static String addMapToMapSharedList(String hash, ItemStack item) {
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        if (storage != null) {
+            try {
+                storage.storeMap(hash, item);
+                return hash;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
         InteractiveChat.mapDisplay.put(hash, item);
         return hash;
     }
 
+    /**
+     * Check whether a map is shared under the given hash, regardless of how it is stored
+     *
+     * @param hash key
+     * @return Whether it is shared
+     */
+    public static boolean isMapShared(String hash) {
+        if (InteractiveChat.mapDisplay.containsKey(hash)) {
+            return true;
+        }
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        return storage != null && storage.containsMap(hash);
+    }
+
+    /**
+     * Get a shared map, materializing it from compact storage if needed
+     *
+     * @param hash key
+     * @return The shared map, or null if it does not exist or has expired
+     */
+    public static ItemStack getSharedMap(String hash) {
+        ItemStack item = InteractiveChat.mapDisplay.get(hash);
+        CompactSharedDisplayStorage storage = InteractiveChat.compactDisplayStorage;
+        if (item != null || storage == null) {
+            return item;
+        }
+        synchronized (storage) {
+            MaterializedDisplay<ItemStack> materialized = null;
+            try {
+                materialized = storage.materializeMap(hash);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            if (materialized == null) {
+                return InteractiveChat.mapDisplay.get(hash);
+            }
+            item = materialized.getValue();
+            ItemStack existing = InteractiveChat.mapDisplay.putIfAbsent(hash, item, materialized.getExpireAt());
+            return existing == null ? item : existing;
+        }
+    }
+
     /**
      * Register a function that the plugin will fetch nicknames from when it is needed.
      *
@@ -406,7 +560,32 @@ public class InteractiveChatAPI {
      * @param provider
      */
     public static void registerNicknameProvider(Plugin plugin, Function<UUID, List<String>> provider) {
+        registerNicknameProvider(plugin, provider, NicknameProviderCache.DEFAULT_STALENESS);
+    }
+
+    /**
+     * Register a function that the plugin will fetch nicknames from when it is needed.<br>
+     * Results are cached, and refreshed in the background once they are older than the given staleness.
+     *
+     * @param plugin
+     * @param provider
+     * @param staleness in milliseconds
+     */
+    public static void registerNicknameProvider(Plugin plugin, Function<UUID, List<String>> provider, long staleness) {
+        InteractiveChat.nicknameProviderCache.setStaleness(plugin, staleness);
         InteractiveChat.pluginNicknames.put(plugin, provider);
+        InteractiveChat.nicknameProviderCache.invalidateAll();
+    }
+
+    /**
+     * Tell InteractiveChat that the nicknames provided by the plugin for the player have changed,
+     * the cached nicknames will be refreshed asynchronously
+     *
+     * @param plugin
+     * @param uuid
+     */
+    public static void refreshNicknames(Plugin plugin, UUID uuid) {
+        InteractiveChat.nicknameProviderCache.refresh(plugin, uuid);
     }
 
     /**
@@ -416,6 +595,8 @@ public class InteractiveChatAPI {
      */
     public static void unregisterNicknameProvider(Plugin plugin) {
         InteractiveChat.pluginNicknames.remove(plugin);
+        InteractiveChat.nicknameProviderCache.removeStaleness(plugin);
+        InteractiveChat.nicknameProviderCache.invalidateAll();
     }
 
     /**
@@ -441,23 +622,10 @@ public class InteractiveChatAPI {
      * Get all plugin provided nicknames of the provided player, can return an empty {@link List}
      *
      * @param uuid
-     * @return A list of nicknames
+     * @return An unmodifiable list of nicknames
      */
     public static List<String> getNicknames(UUID uuid) {
-        List<String> nicks = new ArrayList<>();
-        for (Entry<Plugin, Function<UUID, List<String>>> entry : InteractiveChat.pluginNicknames.entrySet()) {
-            try {
-                List<String> names = entry.getValue().apply(uuid);
-                if (names != null) {
-                    nicks.addAll(names);
-                }
-            } catch (Throwable e) {
-                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] " + entry.getKey().getName() + " " + entry.getKey().getDescription().getVersion() + " threw an error while providing registered nicknames.");
-                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Unless this is Essentials, please contact that plugin's developer for support");
-                e.printStackTrace();
-            }
-        }
-        return nicks;
+        return InteractiveChat.nicknameProviderCache.getNicknames(uuid);
     }
 
     /**
@@ -469,20 +637,9 @@ public class InteractiveChatAPI {
      */
     public static List<String> getNicknames(UUID uuid, Predicate<String> predicate) {
         List<String> nicks = new ArrayList<>();
-        for (Entry<Plugin, Function<UUID, List<String>>> entry : InteractiveChat.pluginNicknames.entrySet()) {
-            try {
-                List<String> names = entry.getValue().apply(uuid);
-                if (names != null) {
-                    for (String name : names) {
-                        if (predicate.test(name)) {
-                            nicks.add(name);
-                        }
-                    }
-                }
-            } catch (Throwable e) {
-                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] " + entry.getKey().getName() + " " + entry.getKey().getDescription().getVersion() + " threw an error while providing registered nicknames.");
-                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Unless this is Essentials, please contact that plugin's developer for support");
-                e.printStackTrace();
+        for (String name : InteractiveChat.nicknameProviderCache.getNicknames(uuid)) {
+            if (predicate.test(name)) {
+                nicks.add(name);
             }
         }
         return nicks;
@@ -633,6 +790,17 @@ public class InteractiveChatAPI {
         return ICPlayerFactory.getOfflineICPlayer(uuid);
     }
 
+    /**
+     * Get {@link OfflineICPlayer} from a {@link UUID} without blocking the calling thread
+     * If the offline player has never joined the server, the future may complete with null.
+     *
+     * @param uuid
+     * @return A future of the OfflineICPlayer
+     */
+    public static CompletableFuture<OfflineICPlayer> getOfflineICPlayerAsync(UUID uuid) {
+        return ICPlayerFactory.getOfflineICPlayerAsync(uuid);
+    }
+
     /**
      * Get {@link OfflineICPlayer} from the given username
      * This method may involve a blocking web request to get the UUID for the given name.
@@ -49,6 +49,7 @@ import com.loohp.interactivechat.objectholders.ValueTrios;
 import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechat.utils.DataTypeIO;
 import com.loohp.interactivechat.utils.InventoryUtils;
+import com.loohp.interactivechat.utils.PacketCompressionUtils;
 import com.loohp.interactivechat.utils.PlaceholderParser;
 import com.loohp.interactivechat.utils.PlayerUtils;
 import com.loohp.platformscheduler.Scheduler;
@@ -59,6 +60,7 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.messaging.PluginMessageListener;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -114,7 +116,8 @@ public class BungeeMessageListener implements PluginMessageListener {
                 int packetNumber = in.readInt();
                 int packetChunkIndex = in.readInt();
                 int packetChunkSize = in.readInt();
-                int packetId = in.readShort();
+                int packetHeader = in.readUnsignedShort();
+                int packetId = packetHeader & ~PacketCompressionUtils.COMPRESSED_FLAG;
                 byte[] data = new byte[bytes.length - 14];
                 in.readFully(data);
 
@@ -140,12 +143,16 @@ public class BungeeMessageListener implements PluginMessageListener {
                     System.arraycopy(chunk, 0, data, pos, chunk.length);
                     pos += chunk.length;
                 }
+                if ((packetHeader & PacketCompressionUtils.COMPRESSED_FLAG) != 0) {
+                    data = PacketCompressionUtils.decompress(data);
+                }
 
                 if (InteractiveChat.pluginMessagePacketVerbose) {
                     String playerName = pluginMessagingPlayer != null ? pluginMessagingPlayer.getName() : "Redis";
                     Bukkit.getConsoleSender().sendMessage("IC Inbound - ID " + packetId + " via " + playerName);
                 }
-                ByteArrayDataInput input = ByteStreams.newDataInput(data);
+                ByteArrayInputStream inputStream = new ByteArrayInputStream(data);
+                ByteArrayDataInput input = ByteStreams.newDataInput(inputStream);
 
                 switch (packetId) {
                     case 0x00:
@@ -180,9 +187,13 @@ public class BungeeMessageListener implements PluginMessageListener {
                         int delay = input.readInt();
                         short itemStackScheme = input.readShort();
                         short inventoryScheme = input.readShort();
+                        boolean compression = inputStream.available() > 0 && input.readBoolean();
+                        boolean inventoryDelta = inputStream.available() > 0 && input.readBoolean();
                         InteractiveChat.remoteDelay = delay;
                         BungeeMessageSender.itemStackScheme = itemStackScheme;
                         BungeeMessageSender.inventoryScheme = inventoryScheme;
+                        BungeeMessageSender.inventoryDelta = inventoryDelta;
+                        PacketCompressionUtils.setEnabled(compression);
                         break;
                     case 0x02:
                         UUID sender = DataTypeIO.readUUID(input);
@@ -206,15 +217,11 @@ public class BungeeMessageListener implements PluginMessageListener {
                         for (int i = 0; i < equipment.length; i++) {
                             equipment[i] = DataTypeIO.readItemStack(input, StandardCharsets.UTF_8);
                         }
-                        player.getEquipment().setHelmet(equipment[0]);
-                        player.getEquipment().setChestplate(equipment[1]);
-                        player.getEquipment().setLeggings(equipment[2]);
-                        player.getEquipment().setBoots(equipment[3]);
-                        if (InteractiveChat.version.isOld()) {
-                            player.getEquipment().setItemInHand(equipment[4]);
-                        } else {
-                            player.getEquipment().setItemInMainHand(equipment[4]);
-                            player.getEquipment().setItemInOffHand(equipment[5]);
+                        for (int i = 0; i < equipment.length; i++) {
+                            setRemoteEquipment(player, i, equipment[i]);
+                        }
+                        if (inputStream.available() >= 4) {
+                            BungeeMessageSender.inventorySyncTracker.setRemoteVersion(uuid, InventorySyncTracker.EQUIPMENT, input.readInt());
                         }
                         break;
                     case 0x04:
@@ -235,6 +242,9 @@ public class BungeeMessageListener implements PluginMessageListener {
                         } else {
                             player1.setRemoteEnderChest(DataTypeIO.readInventory(input, StandardCharsets.UTF_8, null));
                         }
+                        if (inputStream.available() >= 4) {
+                            BungeeMessageSender.inventorySyncTracker.setRemoteVersion(uuid1, type, input.readInt());
+                        }
                         break;
                     case 0x05:
                         UUID uuid2 = DataTypeIO.readUUID(input);
@@ -353,6 +363,7 @@ public class BungeeMessageListener implements PluginMessageListener {
                         Player player6 = Bukkit.getPlayer(playerUUID2);
                         if (player6 != null) {
                             ICPlayer player7 = ICPlayerFactory.getICPlayer(player6);
+                            BungeeMessageSender.inventorySyncTracker.invalidate(playerUUID2, requestType);
                             switch (requestType) {
                                 case 0:
                                     BungeeMessageSender.forwardInventory(System.currentTimeMillis(), player7.getUniqueId(), player7.isRightHanded(), player7.getSelectedSlot(), player7.getExperienceLevel(), null, player7.getInventory());
@@ -360,6 +371,15 @@ public class BungeeMessageListener implements PluginMessageListener {
                                 case 1:
                                     BungeeMessageSender.forwardEnderchest(System.currentTimeMillis(), player7.getUniqueId(), player7.isRightHanded(), player7.getSelectedSlot(), player7.getExperienceLevel(), null, player7.getEnderChest());
                                     break;
+                                case 2:
+                                    ItemStack[] localEquipment;
+                                    if (InteractiveChat.version.isOld()) {
+                                        localEquipment = new ItemStack[] {player6.getEquipment().getHelmet(), player6.getEquipment().getChestplate(), player6.getEquipment().getLeggings(), player6.getEquipment().getBoots(), player6.getEquipment().getItemInHand()};
+                                    } else {
+                                        localEquipment = new ItemStack[] {player6.getEquipment().getHelmet(), player6.getEquipment().getChestplate(), player6.getEquipment().getLeggings(), player6.getEquipment().getBoots(), player6.getEquipment().getItemInMainHand(), player6.getEquipment().getItemInOffHand()};
+                                    }
+                                    BungeeMessageSender.forwardEquipment(System.currentTimeMillis(), player7.getUniqueId(), player7.isRightHanded(), player7.getSelectedSlot(), player7.getExperienceLevel(), localEquipment);
+                                    break;
                             }
                         }
                         break;
@@ -514,6 +534,45 @@ public class BungeeMessageListener implements PluginMessageListener {
                             }
                         }
                         break;
+                    case 0x18:
+                        UUID deltaUUID = DataTypeIO.readUUID(input);
+                        ICPlayer deltaPlayer = ICPlayerFactory.getICPlayer(deltaUUID);
+                        if (deltaPlayer == null || deltaPlayer.isLocal()) {
+                            break;
+                        }
+                        deltaPlayer.setRemoteRightHanded(input.readBoolean());
+                        deltaPlayer.setRemoteSelectedSlot(input.readByte());
+                        deltaPlayer.setRemoteExperienceLevel(input.readInt());
+                        int deltaType = input.readByte();
+                        int baseVersion = input.readInt();
+                        int deltaVersion = input.readInt();
+                        Inventory deltaInventory = deltaType == InventorySyncTracker.INVENTORY ? deltaPlayer.getRemoteInventory() : (deltaType == InventorySyncTracker.ENDERCHEST ? deltaPlayer.getRemoteEnderChest() : null);
+                        boolean hasBaseline = deltaType == InventorySyncTracker.EQUIPMENT ? deltaPlayer.getRemoteEquipment() != null : deltaInventory != null;
+                        if (!hasBaseline || !BungeeMessageSender.inventorySyncTracker.advanceRemoteVersion(deltaUUID, deltaType, baseVersion, deltaVersion)) {
+                            switch (deltaType) {
+                                case InventorySyncTracker.INVENTORY:
+                                    BungeeMessageSender.requestPlayerInventory(System.currentTimeMillis(), deltaUUID);
+                                    break;
+                                case InventorySyncTracker.ENDERCHEST:
+                                    BungeeMessageSender.requestPlayerEnderChest(System.currentTimeMillis(), deltaUUID);
+                                    break;
+                                case InventorySyncTracker.EQUIPMENT:
+                                    BungeeMessageSender.requestPlayerEquipment(System.currentTimeMillis(), deltaUUID);
+                                    break;
+                            }
+                            break;
+                        }
+                        int changedSlots = DataTypeIO.readVarInt(input);
+                        for (int i = 0; i < changedSlots; i++) {
+                            int slot = DataTypeIO.readVarInt(input);
+                            ItemStack itemStack = DataTypeIO.readItemStack(input, StandardCharsets.UTF_8);
+                            if (deltaInventory != null) {
+                                deltaInventory.setItem(slot, itemStack);
+                            } else {
+                                setRemoteEquipment(deltaPlayer, slot, itemStack);
+                            }
+                        }
+                        break;
                     case 0xFF:
                         String customChannel = DataTypeIO.readString(input, StandardCharsets.UTF_8);
                         int dataLength = input.readInt();
@@ -529,4 +588,34 @@ public class BungeeMessageListener implements PluginMessageListener {
         });
     }
 
+    @SuppressWarnings("deprecation")
+    private static void setRemoteEquipment(ICPlayer player, int index, ItemStack itemStack) {
+        switch (index) {
+            case 0:
+                player.getRemoteEquipment().setHelmet(itemStack);
+                break;
+            case 1:
+                player.getRemoteEquipment().setChestplate(itemStack);
+                break;
+            case 2:
+                player.getRemoteEquipment().setLeggings(itemStack);
+                break;
+            case 3:
+                player.getRemoteEquipment().setBoots(itemStack);
+                break;
+            case 4:
+                if (InteractiveChat.version.isOld()) {
+                    player.getRemoteEquipment().setItemInHand(itemStack);
+                } else {
+                    player.getRemoteEquipment().setItemInMainHand(itemStack);
+                }
+                break;
+            case 5:
+                if (!InteractiveChat.version.isOld()) {
+                    player.getRemoteEquipment().setItemInOffHand(itemStack);
+                }
+                break;
+        }
+    }
+
 }
@@ -36,44 +36,39 @@ import com.loohp.interactivechat.objectholders.ValueTrios;
 import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechat.utils.DataTypeIO;
 import com.loohp.interactivechat.utils.HashUtils;
-import com.loohp.platformscheduler.Scheduler;
+import com.loohp.interactivechat.utils.PacketCompressionUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
-import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.regex.Pattern;
 
 public class BungeeMessageSender {
 
     public static final Pattern VALID_CUSTOM_CHANNEL = Pattern.compile("[a-z]+:[a-z0-9_]+");
     private static final Random random = new Random();
-    private static final ConcurrentSkipListMap<Long, Set<String>> sent = new ConcurrentSkipListMap<>();
+    private static final int SENT_TABLE_SIZE = 4096;
+    private static final AtomicLongArray sent = new AtomicLongArray(SENT_TABLE_SIZE);
     private static final Map<UUID, ValuePairs<UUID, String>> authorizedCommands;
     protected static short itemStackScheme = 0;
     protected static short inventoryScheme = 0;
+    protected static volatile boolean inventoryDelta = false;
+    protected static final InventorySyncTracker inventorySyncTracker = new InventorySyncTracker();
 
     static {
         Cache<UUID, ValuePairs<UUID, String>> authorizedCommandsCache = CacheBuilder.newBuilder().expireAfterWrite(5, TimeUnit.SECONDS).build();
         authorizedCommands = authorizedCommandsCache.asMap();
-        Scheduler.runTaskTimerAsynchronously(InteractiveChat.plugin, () -> {
-            int size = sent.size();
-            for (int i = size; i > 500; i--) {
-                sent.remove(sent.firstKey());
-            }
-        }, 1200, 1200);
     }
 
     public static int getItemStackScheme() {
@@ -88,33 +83,42 @@ public class BungeeMessageSender {
         return authorizedCommands.remove(key);
     }
 
+    /**
+     * Records the hash in a fixed-size direct-mapped table, an entry is only overwritten
+     * by a later packet landing in the same slot.
+     *
+     * @return false if the same packet has already been sent
+     */
+    private static boolean markSent(long hash) {
+        if (hash == 0) {
+            hash = 1;
+        }
+        int slot = (int) (hash ^ (hash >>> 32)) & (SENT_TABLE_SIZE - 1);
+        while (true) {
+            long current = sent.get(slot);
+            if (current == hash) {
+                return false;
+            }
+            if (sent.compareAndSet(slot, current, hash)) {
+                return true;
+            }
+        }
+    }
+
     public static boolean forwardData(long time, int packetId, byte[] data) throws Exception {
         DataBroker dataBroker = InteractiveChat.dataBroker;
         if (dataBroker == null) {
             return false;
         }
 
-        long index = (time << 16) + packetId;
-        String hash = HashUtils.createSha1String(new ByteArrayInputStream(data));
-
-        synchronized (sent) {
-            Set<String> cacheData = sent.get(index);
-            if (cacheData != null && cacheData.contains(hash)) {
-                return false;
-            }
-
-            if (cacheData != null) {
-                cacheData.add(hash);
-            } else {
-                Set<String> newSet = new HashSet<>();
-                newSet.add(hash);
-                sent.put(index, newSet);
-            }
+        if (!markSent(HashUtils.hash64((time << 16) + packetId, data))) {
+            return false;
         }
 
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
         int packetNumber = random.nextInt();
         try {
-            byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+            byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
             for (int i = 0; i < dataArray.length; i++) {
                 byte[] chunk = dataArray[i];
@@ -123,7 +127,7 @@ public class BungeeMessageSender {
                 out.writeInt(packetNumber); //random packet number
                 out.writeInt(i); //packet chunk index
                 out.writeInt(dataArray.length); //packet total chunks
-                out.writeShort(packetId); //packet id
+                out.writeShort(payload.getHeader()); //packet id
 
                 out.write(chunk);
 
@@ -156,6 +160,10 @@ public class BungeeMessageSender {
     }
 
     public static boolean forwardEquipment(long time, UUID player, boolean rightHanded, int selectedSlot, int level, ItemStack... equipment) throws Exception {
+        InventorySyncTracker.Update update = inventoryDelta ? inventorySyncTracker.update(player, InventorySyncTracker.EQUIPMENT, null, equipment) : null;
+        if (update != null && !update.isFull()) {
+            return forwardInventoryDelta(time, player, rightHanded, selectedSlot, level, InventorySyncTracker.EQUIPMENT, update, equipment);
+        }
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
         DataTypeIO.writeUUID(out, player);
         out.writeBoolean(rightHanded);
@@ -165,29 +173,61 @@ public class BungeeMessageSender {
         for (ItemStack itemStack : equipment) {
             DataTypeIO.writeItemStack(out, itemStackScheme, itemStack, StandardCharsets.UTF_8);
         }
+        if (update != null) {
+            out.writeInt(update.getVersion());
+        }
         return forwardData(time, 0x03, out.toByteArray());
     }
 
     public static boolean forwardInventory(long time, UUID player, boolean rightHanded, int selectedSlot, int level, String title, Inventory inventory) throws Exception {
+        return forwardInventory(time, player, rightHanded, selectedSlot, level, InventorySyncTracker.INVENTORY, title, inventory);
+    }
+
+    public static boolean forwardEnderchest(long time, UUID player, boolean rightHanded, int selectedSlot, int level, String title, Inventory enderchest) throws Exception {
+        return forwardInventory(time, player, rightHanded, selectedSlot, level, InventorySyncTracker.ENDERCHEST, title, enderchest);
+    }
+
+    private static boolean forwardInventory(long time, UUID player, boolean rightHanded, int selectedSlot, int level, int type, String title, Inventory inventory) throws Exception {
+        InventorySyncTracker.Update update = null;
+        if (inventoryDelta) {
+            ItemStack[] contents = new ItemStack[inventory.getSize()];
+            for (int i = 0; i < contents.length; i++) {
+                contents[i] = inventory.getItem(i);
+            }
+            update = inventorySyncTracker.update(player, type, title, contents);
+            if (!update.isFull()) {
+                return forwardInventoryDelta(time, player, rightHanded, selectedSlot, level, type, update, contents);
+            }
+        }
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
         DataTypeIO.writeUUID(out, player);
         out.writeBoolean(rightHanded);
         out.writeByte(selectedSlot);
         out.writeInt(level);
-        out.writeByte(0);
+        out.writeByte(type);
         DataTypeIO.writeInventory(out, inventoryScheme, title, inventory, StandardCharsets.UTF_8);
+        if (update != null) {
+            out.writeInt(update.getVersion());
+        }
         return forwardData(time, 0x04, out.toByteArray());
     }
 
-    public static boolean forwardEnderchest(long time, UUID player, boolean rightHanded, int selectedSlot, int level, String title, Inventory enderchest) throws Exception {
+    private static boolean forwardInventoryDelta(long time, UUID player, boolean rightHanded, int selectedSlot, int level, int type, InventorySyncTracker.Update update, ItemStack[] contents) throws Exception {
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
         DataTypeIO.writeUUID(out, player);
         out.writeBoolean(rightHanded);
         out.writeByte(selectedSlot);
         out.writeInt(level);
-        out.writeByte(1);
-        DataTypeIO.writeInventory(out, inventoryScheme, title, enderchest, StandardCharsets.UTF_8);
-        return forwardData(time, 0x04, out.toByteArray());
+        out.writeByte(type);
+        out.writeInt(update.getBaseVersion());
+        out.writeInt(update.getVersion());
+        int[] changedSlots = update.getChangedSlots();
+        DataTypeIO.writeVarInt(out, changedSlots.length);
+        for (int slot : changedSlots) {
+            DataTypeIO.writeVarInt(out, slot);
+            DataTypeIO.writeItemStack(out, itemStackScheme, contents[slot], StandardCharsets.UTF_8);
+        }
+        return forwardData(time, 0x18, out.toByteArray());
     }
 
     public static boolean forwardPlaceholders(long time, UUID player, List<ValuePairs<String, String>> pairs) throws Exception {
@@ -312,6 +352,13 @@ public class BungeeMessageSender {
         return forwardData(time, 0x0F, out.toByteArray());
     }
 
+    public static boolean requestPlayerEquipment(long time, UUID uuid) throws Exception {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        out.writeByte(2);
+        DataTypeIO.writeUUID(out, uuid);
+        return forwardData(time, 0x0F, out.toByteArray());
+    }
+
     public static boolean requestBungeePlayerlist(long time, CompletableFuture<List<ValueTrios<UUID, String, Integer>>> future) throws Exception {
         UUID uuid = UUID.randomUUID();
         InteractiveChat.bungeeMessageListener.addToComplete(uuid, future);
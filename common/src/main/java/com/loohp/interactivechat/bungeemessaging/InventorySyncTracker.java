@@ -0,0 +1,144 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.bungeemessaging;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.loohp.interactivechat.objectholders.ValuePairs;
+import com.loohp.interactivechat.utils.HashUtils;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the slot hashes of the inventories last forwarded for each player, so that following forwards
+ * only need to carry the slots that changed. Receivers keep the version of the baseline they hold and
+ * request a full resync when a delta does not apply to it.
+ */
+public class InventorySyncTracker {
+
+    public static final int INVENTORY = 0;
+    public static final int ENDERCHEST = 1;
+    public static final int EQUIPMENT = 2;
+
+    private final Random random = new Random();
+    private final Cache<ValuePairs<UUID, Integer>, Baseline> baselines = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).build();
+    private final Cache<ValuePairs<UUID, Integer>, Integer> remoteVersions = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).build();
+
+    public Update update(UUID player, int type, String title, ItemStack[] contents) {
+        long[] hashes = new long[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            hashes[i] = HashUtils.createItemFingerprint(contents[i]).asLong();
+        }
+        ValuePairs<UUID, Integer> key = new ValuePairs<>(player, type);
+        synchronized (baselines) {
+            Baseline previous = baselines.getIfPresent(key);
+            if (previous != null && previous.hashes.length == hashes.length && Objects.equals(previous.title, title)) {
+                int[] changed = new int[hashes.length];
+                int changedCount = 0;
+                for (int i = 0; i < hashes.length; i++) {
+                    if (previous.hashes[i] != hashes[i]) {
+                        changed[changedCount++] = i;
+                    }
+                }
+                if (changedCount * 2 <= hashes.length) {
+                    int version = previous.version + 1;
+                    baselines.put(key, new Baseline(version, title, hashes));
+                    int[] changedSlots = new int[changedCount];
+                    System.arraycopy(changed, 0, changedSlots, 0, changedCount);
+                    return new Update(previous.version, version, changedSlots);
+                }
+            }
+            int version = random.nextInt();
+            baselines.put(key, new Baseline(version, title, hashes));
+            return new Update(version, version, null);
+        }
+    }
+
+    public void invalidate(UUID player, int type) {
+        baselines.invalidate(new ValuePairs<>(player, type));
+    }
+
+    public void setRemoteVersion(UUID player, int type, int version) {
+        remoteVersions.put(new ValuePairs<>(player, type), version);
+    }
+
+    /**
+     * @return true if the held baseline matched and has been advanced to the new version,
+     * false if a full resync is required
+     */
+    public boolean advanceRemoteVersion(UUID player, int type, int baseVersion, int version) {
+        ValuePairs<UUID, Integer> key = new ValuePairs<>(player, type);
+        if (remoteVersions.asMap().replace(key, baseVersion, version)) {
+            return true;
+        }
+        remoteVersions.invalidate(key);
+        return false;
+    }
+
+    private static class Baseline {
+
+        private final int version;
+        private final String title;
+        private final long[] hashes;
+
+        private Baseline(int version, String title, long[] hashes) {
+            this.version = version;
+            this.title = title;
+            this.hashes = hashes;
+        }
+
+    }
+
+    public static class Update {
+
+        private final int baseVersion;
+        private final int version;
+        private final int[] changedSlots;
+
+        private Update(int baseVersion, int version, int[] changedSlots) {
+            this.baseVersion = baseVersion;
+            this.version = version;
+            this.changedSlots = changedSlots;
+        }
+
+        public boolean isFull() {
+            return changedSlots == null;
+        }
+
+        public int getBaseVersion() {
+            return baseVersion;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public int[] getChangedSlots() {
+            return changedSlots;
+        }
+
+    }
+
+}
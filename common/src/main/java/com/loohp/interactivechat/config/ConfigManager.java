@@ -23,6 +23,7 @@ package com.loohp.interactivechat.config;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.datafixer.ConfigDataFixer;
 import com.loohp.interactivechat.objectholders.BuiltInPlaceholder;
+import com.loohp.interactivechat.objectholders.CompactSharedDisplayStorage;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder.ClickEventAction;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder.CustomPlaceholderClickEvent;
@@ -31,11 +32,16 @@ import com.loohp.interactivechat.objectholders.CustomPlaceholder.CustomPlacehold
 import com.loohp.interactivechat.objectholders.CustomPlaceholder.ParsePlayer;
 import com.loohp.interactivechat.objectholders.ICMaterial;
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
+import com.loohp.interactivechat.objectholders.MentionEffectProfile;
+import com.loohp.interactivechat.objectholders.PlaceholderIngressMatcher;
+import com.loohp.interactivechat.objectholders.PlaceholderKeywordIndex;
 import com.loohp.interactivechat.objectholders.WebData;
 import com.loohp.interactivechat.utils.ChatColorUtils;
 import com.loohp.interactivechat.utils.ComponentStyling;
 import com.loohp.interactivechat.utils.LanguageUtils;
 import com.loohp.interactivechat.utils.MCVersion;
+import com.loohp.interactivechat.utils.PlaceholderParser;
+import com.loohp.interactivechat.utils.PlayerUtils;
 import com.loohp.platformscheduler.Scheduler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -117,6 +123,13 @@ public class ConfigManager {
         InteractiveChat.paperChatEventEditOriginalMessageField = getConfig().getBoolean("Settings.PaperChatEventEditOriginalMessageField");
 
         InteractiveChat.parsePAPIOnMainThread = getConfig().getBoolean("Settings.ParsePAPIOnMainThread");
+        Map<String, Long> placeholderCacheTimeouts = new HashMap<>();
+        if (getConfig().contains("Settings.PlaceholderCache.Timeouts")) {
+            for (String identifier : getConfig().getConfigurationSection("Settings.PlaceholderCache.Timeouts").getKeys(false)) {
+                placeholderCacheTimeouts.put(identifier.toLowerCase(), getConfig().getLong("Settings.PlaceholderCache.Timeouts." + identifier));
+            }
+        }
+        PlaceholderParser.setCacheTimeouts(getConfig().getLong("Settings.PlaceholderCache.DefaultTimeout"), placeholderCacheTimeouts);
         InteractiveChat.useAccurateSenderFinder = getConfig().getBoolean("Settings.UseAccurateSenderParser");
         InteractiveChat.tagEveryIdentifiableMessage = getConfig().getBoolean("Settings.TagEveryIdentifiableMessage");
 
@@ -339,6 +352,13 @@ public class ConfigManager {
             }
         }
 
+        InteractiveChat.customPlaceholderIndex = PlaceholderKeywordIndex.build(InteractiveChat.placeholderList.values(), each -> !each.isBuildIn() && !((CustomPlaceholder) each).getParseKeyword(), each -> each.getKeyword());
+        InteractiveChat.placeholderIngressMatcher = PlaceholderIngressMatcher.build(InteractiveChat.placeholderList.values());
+        if (InteractiveChat.placeholderCooldownManager != null) {
+            InteractiveChat.placeholderCooldownManager.reloadPlaceholders();
+        }
+        PlayerUtils.registerPermissions(InteractiveChat.placeholderList.values().stream().map(each -> each.getPermission()).collect(Collectors.toList()));
+
         if (InteractiveChat.bungeecordMode) {
             InteractiveChat.queueRemoteUpdate = true;
         }
@@ -373,6 +393,8 @@ public class ConfigManager {
         InteractiveChat.mentionBossBarDuration = (int) Math.round(ConfigManager.getConfig().getDouble("Chat.MentionBossBar.Duration") * 20);
         InteractiveChat.mentionBossBarRemoveDelay = (int) Math.round(ConfigManager.getConfig().getDouble("Chat.MentionBossBar.RemoveDelay") * 20);
 
+        InteractiveChat.mentionEffectProfile = MentionEffectProfile.compile(InteractiveChat.mentionTitle, InteractiveChat.mentionSubtitle, InteractiveChat.mentionActionbar, InteractiveChat.mentionToast, InteractiveChat.mentionBossBarText, InteractiveChat.mentionBossBarColorName, InteractiveChat.mentionBossBarOverlayName, InteractiveChat.mentionSound);
+
         InteractiveChat.updaterEnabled = getConfig().getBoolean("Options.Updater");
         InteractiveChat.cancelledMessage = getConfig().getBoolean("Options.ShowCancelledNotice");
 
@@ -422,6 +444,7 @@ public class ConfigManager {
 
         InteractiveChat.useBukkitDisplayName = getConfig().getBoolean("Chat.UseBukkitDisplayName");
         InteractiveChat.useEssentialsNicknames = getConfig().getBoolean("Chat.UseEssentialsNicknames");
+        InteractiveChat.nicknameProviderCache.invalidateAll();
 
         InteractiveChat.rgbTags = getConfig().getBoolean("Settings.FormattingTags.AllowRGBTags");
         InteractiveChat.fontTags = getConfig().getBoolean("Settings.FormattingTags.AllowFontTags");
@@ -444,6 +467,14 @@ public class ConfigManager {
         InteractiveChat.inventoryDisplay1Lower.clearAndSetTimeout(InteractiveChat.itemDisplayTimeout);
         InteractiveChat.enderDisplay.clearAndSetTimeout(InteractiveChat.itemDisplayTimeout);
         InteractiveChat.mapDisplay.clearAndSetTimeout(InteractiveChat.itemDisplayTimeout);
+        if (InteractiveChat.compactDisplayStorage != null) {
+            InteractiveChat.compactDisplayStorage.clear();
+        }
+        if (getConfig().getBoolean("ItemDisplay.Settings.CompactStorage.Enabled")) {
+            InteractiveChat.compactDisplayStorage = new CompactSharedDisplayStorage(InteractiveChat.itemDisplayTimeout, getConfig().getBoolean("ItemDisplay.Settings.CompactStorage.OffHeap"), getConfig().getLong("ItemDisplay.Settings.CompactStorage.MaxSizeMB") * 1024 * 1024);
+        } else {
+            InteractiveChat.compactDisplayStorage = null;
+        }
         InteractiveChat.upperSharedInventory.clear();
         InteractiveChat.lowerSharedInventory.clear();
     }
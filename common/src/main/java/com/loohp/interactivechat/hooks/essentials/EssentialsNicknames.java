@@ -74,6 +74,7 @@ public class EssentialsNicknames implements Listener {
             List<String> names = new ArrayList<>();
             names.add(prefix + essentialsNick);
             ESSENTIALS_NICK.put(player.getUniqueId(), names);
+            InteractiveChatAPI.refreshNicknames(essen, player.getUniqueId());
         }
     }
 
@@ -93,7 +94,9 @@ public class EssentialsNicknames implements Listener {
         try {
             List<String> names = new ArrayList<>();
             names.add(prefix + event.getValue());
-            ESSENTIALS_NICK.put(event.getController().getBase().getUniqueId(), names);
+            UUID uuid = event.getController().getBase().getUniqueId();
+            ESSENTIALS_NICK.put(uuid, names);
+            InteractiveChatAPI.refreshNicknames(essen, uuid);
         } catch (Exception ignore) {
         }
     }
@@ -108,7 +111,9 @@ public class EssentialsNicknames implements Listener {
 
     @EventHandler
     public void onEssentialsLeave(PlayerQuitEvent event) {
-        ESSENTIALS_NICK.remove(event.getPlayer().getUniqueId());
+        UUID uuid = event.getPlayer().getUniqueId();
+        ESSENTIALS_NICK.remove(uuid);
+        InteractiveChatAPI.refreshNicknames(essen, uuid);
     }
 
 }
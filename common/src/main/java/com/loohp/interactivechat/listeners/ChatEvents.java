@@ -26,10 +26,12 @@ import com.loohp.interactivechat.bungeemessaging.BungeeMessageSender;
 import com.loohp.interactivechat.bungeemessaging.DataBrokerType;
 import com.loohp.interactivechat.data.PlayerDataManager.PlayerData;
 import com.loohp.interactivechat.objectholders.CooldownResult;
-import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
+import com.loohp.interactivechat.objectholders.MentionNameTrie.MentionMatch;
+import com.loohp.interactivechat.objectholders.MentionNameTrie.MentionType;
 import com.loohp.interactivechat.objectholders.MentionPair;
+import com.loohp.interactivechat.objectholders.PlaceholderIngressMatcher;
 import com.loohp.interactivechat.objectholders.SignedMessageModificationData;
 import com.loohp.interactivechat.registry.Registry;
 import com.loohp.interactivechat.utils.ChatColorUtils;
@@ -52,15 +54,11 @@ import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ChatEvents implements Listener {
 
@@ -236,7 +234,8 @@ public class ChatEvents implements Listener {
                     flag = false;
                 }
 
-                CooldownResult cooldownResult = InteractiveChat.placeholderCooldownManager.checkMessage(event.getPlayer().getUniqueId(), command);
+                PlaceholderIngressMatcher.Result scanResult = InteractiveChat.placeholderIngressMatcher.scan(command);
+                CooldownResult cooldownResult = InteractiveChat.placeholderCooldownManager.checkMessage(event.getPlayer().getUniqueId(), scanResult);
                 if (!cooldownResult.getOutcome().isAllowed()) {
                     event.setCancelled(true);
                     Component cancelmessage;
@@ -257,25 +256,15 @@ public class ChatEvents implements Listener {
                 }
 
                 int count = 0;
-                for (ICPlaceholder icplaceholder : InteractiveChat.placeholderList.values()) {
-                    Matcher matcher = icplaceholder.getKeyword().matcher(command);
-                    if (matcher.find()) {
-                        int start = matcher.start();
-                        if ((start < 1 || command.charAt(start - 1) != '\\') || (start > 1 && command.charAt(start - 1) == '\\' && command.charAt(start - 2) == '\\')) {
-                            if (icplaceholder.equals(InteractiveChat.itemPlaceholder) && !InteractiveChat.itemAirAllow && PlayerUtils.getHeldItem(event.getPlayer()).getType().equals(Material.AIR) && PlayerUtils.hasPermission(event.getPlayer().getUniqueId(), "interactivechat.module.item", false, 200)) {
-                                event.setCancelled(true);
-                                String cancelmessage = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderAPI.setPlaceholders(event.getPlayer(), InteractiveChat.itemAirErrorMessage));
-                                event.getPlayer().sendMessage(cancelmessage);
-                                return;
-                            }
-                            Matcher matcher1 = icplaceholder.getKeyword().matcher(command);
-                            while (matcher1.find()) {
-                                int startPos = matcher1.start();
-                                if ((startPos < 1 || command.charAt(startPos - 1) != '\\') || (startPos > 1 && command.charAt(startPos - 1) == '\\' && command.charAt(startPos - 2) == '\\')) {
-                                    count++;
-                                }
-                            }
+                for (PlaceholderIngressMatcher.PlaceholderMatch match : scanResult.getMatches()) {
+                    if (match.isFirstUnescaped()) {
+                        if (match.getPlaceholder().equals(InteractiveChat.itemPlaceholder) && !InteractiveChat.itemAirAllow && PlayerUtils.getHeldItem(event.getPlayer()).getType().equals(Material.AIR) && PlayerUtils.hasPermission(event.getPlayer().getUniqueId(), "interactivechat.module.item", false)) {
+                            event.setCancelled(true);
+                            String cancelmessage = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderAPI.setPlaceholders(event.getPlayer(), InteractiveChat.itemAirErrorMessage));
+                            event.getPlayer().sendMessage(cancelmessage);
+                            return;
                         }
+                        count += match.getUnescapedCount();
                     }
                 }
                 if (InteractiveChat.maxPlaceholders >= 0 && count > InteractiveChat.maxPlaceholders) {
@@ -293,17 +282,12 @@ public class ChatEvents implements Listener {
                     break;
                 } else {
                     if (!Registry.ID_PATTERN.matcher(command).find()) {
-                        for (ICPlaceholder icplaceholder : InteractiveChat.placeholderList.values()) {
-                            Pattern placeholder = icplaceholder.getKeyword();
-                            Matcher matcher = placeholder.matcher(command);
-                            if (matcher.find()) {
-                                int start = matcher.start();
-                                if ((start < 1 || command.charAt(start - 1) != '\\') || (start > 1 && command.charAt(start - 1) == '\\' && command.charAt(start - 2) == '\\')) {
-                                    String uuidmatch = "<cmd=" + event.getPlayer().getUniqueId() + ":" + Registry.ID_ESCAPE_PATTERN.matcher(command.substring(matcher.start(), matcher.end())).replaceAll("\\>") + ":>";
-                                    command = command.substring(0, matcher.start()) + uuidmatch + command.substring(matcher.end());
-                                    event.setMessage(command);
-                                    break;
-                                }
+                        for (PlaceholderIngressMatcher.PlaceholderMatch match : scanResult.getMatches()) {
+                            if (match.isFirstUnescaped()) {
+                                String uuidmatch = "<cmd=" + event.getPlayer().getUniqueId() + ":" + Registry.ID_ESCAPE_PATTERN.matcher(command.substring(match.getStart(), match.getEnd())).replaceAll("\\>") + ":>";
+                                command = command.substring(0, match.getStart()) + uuidmatch + command.substring(match.getEnd());
+                                event.setMessage(command);
+                                break;
                             }
                         }
                         break;
@@ -317,7 +301,8 @@ public class ChatEvents implements Listener {
         String message = event.getMessage();
         Player player = event.getPlayer();
 
-        CooldownResult cooldownResult = InteractiveChat.placeholderCooldownManager.checkMessage(event.getPlayer().getUniqueId(), message);
+        PlaceholderIngressMatcher.Result scanResult = InteractiveChat.placeholderIngressMatcher.scan(message);
+        CooldownResult cooldownResult = InteractiveChat.placeholderCooldownManager.checkMessage(event.getPlayer().getUniqueId(), scanResult);
         if (!cooldownResult.getOutcome().isAllowed()) {
             event.setCancelled(true);
             Component cancelmessage;
@@ -338,25 +323,15 @@ public class ChatEvents implements Listener {
         }
 
         int count = 0;
-        for (ICPlaceholder icplaceholder : InteractiveChat.placeholderList.values()) {
-            Matcher matcher = icplaceholder.getKeyword().matcher(message);
-            if (matcher.find()) {
-                int start = matcher.start();
-                if ((start < 1 || message.charAt(start - 1) != '\\') || (start > 1 && message.charAt(start - 1) == '\\' && message.charAt(start - 2) == '\\')) {
-                    if (icplaceholder.equals(InteractiveChat.itemPlaceholder) && !InteractiveChat.itemAirAllow && PlayerUtils.getHeldItem(event.getPlayer()).getType().equals(Material.AIR) && PlayerUtils.hasPermission(event.getPlayer().getUniqueId(), "interactivechat.module.item", false, 200)) {
-                        event.setCancelled(true);
-                        String cancelmessage = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderAPI.setPlaceholders(event.getPlayer(), InteractiveChat.itemAirErrorMessage));
-                        event.getPlayer().sendMessage(cancelmessage);
-                        return;
-                    }
-                    Matcher matcher1 = icplaceholder.getKeyword().matcher(message);
-                    while (matcher1.find()) {
-                        int startPos = matcher1.start();
-                        if ((startPos < 1 || message.charAt(startPos - 1) != '\\') || (startPos > 1 && message.charAt(startPos - 1) == '\\' && message.charAt(startPos - 2) == '\\')) {
-                            count++;
-                        }
-                    }
+        for (PlaceholderIngressMatcher.PlaceholderMatch match : scanResult.getMatches()) {
+            if (match.isFirstUnescaped()) {
+                if (match.getPlaceholder().equals(InteractiveChat.itemPlaceholder) && !InteractiveChat.itemAirAllow && PlayerUtils.getHeldItem(event.getPlayer()).getType().equals(Material.AIR) && PlayerUtils.hasPermission(event.getPlayer().getUniqueId(), "interactivechat.module.item", false)) {
+                    event.setCancelled(true);
+                    String cancelmessage = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderAPI.setPlaceholders(event.getPlayer(), InteractiveChat.itemAirErrorMessage));
+                    event.getPlayer().sendMessage(cancelmessage);
+                    return;
                 }
+                count += match.getUnescapedCount();
             }
         }
         if (InteractiveChat.maxPlaceholders >= 0 && count > InteractiveChat.maxPlaceholders) {
@@ -370,16 +345,11 @@ public class ChatEvents implements Listener {
                 message = message + uuidmatch;
             } else if (count > 0) {
                 if (InteractiveChat.useAccurateSenderFinder && !message.startsWith("/") && !Registry.ID_PATTERN.matcher(message).find()) {
-                    for (ICPlaceholder icplaceholder : InteractiveChat.placeholderList.values()) {
-                        Pattern placeholder = icplaceholder.getKeyword();
-                        Matcher matcher = placeholder.matcher(message);
-                        if (matcher.find()) {
-                            int start = matcher.start();
-                            if ((start < 1 || message.charAt(start - 1) != '\\') || (start > 1 && message.charAt(start - 1) == '\\' && message.charAt(start - 2) == '\\')) {
-                                String uuidmatch = "<chat=" + event.getPlayer().getUniqueId() + ":" + Registry.ID_ESCAPE_PATTERN.matcher(message.substring(matcher.start(), matcher.end())).replaceAll("\\>") + ":>";
-                                message = message.substring(0, matcher.start()) + uuidmatch + message.substring(matcher.end());
-                                break;
-                            }
+                    for (PlaceholderIngressMatcher.PlaceholderMatch match : scanResult.getMatches()) {
+                        if (match.isFirstUnescaped()) {
+                            String uuidmatch = "<chat=" + event.getPlayer().getUniqueId() + ":" + Registry.ID_ESCAPE_PATTERN.matcher(message.substring(match.getStart(), match.getEnd())).replaceAll("\\>") + ":>";
+                            message = message.substring(0, match.getStart()) + uuidmatch + message.substring(match.getEnd());
+                            break;
                         }
                     }
                 }
@@ -422,63 +392,47 @@ public class ChatEvents implements Listener {
 
     public static String checkMentionPlayers(String senderTagType, String message, Player sender, AsyncPlayerChatEvent event) {
         boolean senderTagged = Registry.ID_PATTERN.matcher(message).find();
-        if (PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.mention.player", false, 200)) {
-            Map<String, UUID> playernames = new HashMap<>();
-            for (ICPlayer player : ICPlayerFactory.getOnlineICPlayers()) {
-                if (!player.isVanished()) {
-                    playernames.put(ChatColorUtils.stripColor(player.getName()), player.getUniqueId());
-                    if (InteractiveChat.useBukkitDisplayName && !ChatColorUtils.stripColor(player.getName()).equals(ChatColorUtils.stripColor(player.getDisplayName()))) {
-                        playernames.put(ChatColorUtils.stripColor(player.getDisplayName()), player.getUniqueId());
-                    }
-                    List<String> names = InteractiveChatAPI.getNicknames(player.getUniqueId());
-                    for (String name : names) {
-                        playernames.put(ChatColorUtils.stripColor(name), player.getUniqueId());
-                    }
+        if (PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.mention.player", false)) {
+            MentionMatch match = InteractiveChat.onlinePlayerNames.getMentionTrie().find(message, InteractiveChat.mentionPrefix, each -> each.getType().equals(MentionType.PLAYER) && (InteractiveChat.useBukkitDisplayName || !each.isDisplayName()));
+            if (match != null) {
+                String name = InteractiveChat.mentionPrefix + match.getName().getName();
+                UUID uuid = match.getName().getUniqueId();
+                // In Redis mode (no proxy plugin), use simple tag format that can be processed locally
+                if (senderTagged || InteractiveChat.dataBrokerType == DataBrokerType.REDIS) {
+                    message = Registry.MENTION_TAG_CONVERTER.convertToTag(name, message);
+                } else {
+                    String tagStyle = Registry.MENTION_TAG_CONVERTER.getTagStyle(name);
+                    String uuidmatch = "<" + senderTagType + "=" + sender.getUniqueId() + ":" + Registry.ID_ESCAPE_PATTERN.matcher(tagStyle).replaceAll("\\>") + ":>";
+                    message = message.replace(name, uuidmatch);
                 }
-            }
-            for (Entry<String, UUID> entry : playernames.entrySet()) {
-                String name = InteractiveChat.mentionPrefix + entry.getKey();
-                UUID uuid = entry.getValue();
-                int index = message.toLowerCase().indexOf(name.toLowerCase());
-                if (index >= 0) {
-                    // In Redis mode (no proxy plugin), use simple tag format that can be processed locally
-                    if (senderTagged || InteractiveChat.dataBrokerType == DataBrokerType.REDIS) {
-                        message = Registry.MENTION_TAG_CONVERTER.convertToTag(name, message);
-                    } else {
-                        String tagStyle = Registry.MENTION_TAG_CONVERTER.getTagStyle(name);
-                        String uuidmatch = "<" + senderTagType + "=" + sender.getUniqueId() + ":" + Registry.ID_ESCAPE_PATTERN.matcher(tagStyle).replaceAll("\\>") + ":>";
-                        message = message.replace(name, uuidmatch);
-                    }
-                    if (!uuid.equals(sender.getUniqueId())) {
-                        InteractiveChat.mentionPair.add(new MentionPair(sender.getUniqueId(), uuid));
-                        if (InteractiveChat.bungeecordMode) {
-                            try {
-                                BungeeMessageSender.forwardMentionPair(System.currentTimeMillis(), sender.getUniqueId(), uuid);
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
+                if (!uuid.equals(sender.getUniqueId())) {
+                    InteractiveChat.mentionPair.add(new MentionPair(sender.getUniqueId(), uuid));
+                    if (InteractiveChat.bungeecordMode) {
+                        try {
+                            BungeeMessageSender.forwardMentionPair(System.currentTimeMillis(), sender.getUniqueId(), uuid);
+                        } catch (Exception e) {
+                            e.printStackTrace();
                         }
-                        // In Redis mode, queue cross-server mention to be sent when chat packet is processed
-                        if (InteractiveChat.dataBrokerType == DataBrokerType.REDIS) {
-                            ICPlayer targetPlayer = ICPlayerFactory.getICPlayer(uuid);
-                            if (targetPlayer != null && !targetPlayer.isLocal()) {
-                                queueCrossServerMention(sender.getUniqueId(), uuid);
-                            }
+                    }
+                    // In Redis mode, queue cross-server mention to be sent when chat packet is processed
+                    if (InteractiveChat.dataBrokerType == DataBrokerType.REDIS) {
+                        ICPlayer targetPlayer = ICPlayerFactory.getICPlayer(uuid);
+                        if (targetPlayer != null && !targetPlayer.isLocal()) {
+                            queueCrossServerMention(sender.getUniqueId(), uuid);
                         }
                     }
-                    return message;
                 }
+                return message;
             }
         }
         return null;
     }
 
     public static String checkMentionHere(String senderTagType, String message, Player sender) {
-        if (PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.mention.here", false, 200)) {
+        if (PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.mention.here", false)) {
             boolean senderTagged = Registry.ID_PATTERN.matcher(message).find();
             String name = InteractiveChat.mentionPrefix + "here";
-            int index = message.toLowerCase().indexOf(name.toLowerCase());
-            if (index >= 0) {
+            if (InteractiveChat.onlinePlayerNames.getMentionTrie().find(message, InteractiveChat.mentionPrefix, each -> each.getType().equals(MentionType.HERE)) != null) {
                 // In Redis mode (no proxy plugin), use simple tag format that can be processed locally
                 if (senderTagged || InteractiveChat.dataBrokerType == DataBrokerType.REDIS) {
                     message = Registry.MENTION_TAG_CONVERTER.convertToTag(name, message);
@@ -507,11 +461,10 @@ public class ChatEvents implements Listener {
     }
 
     public static String checkMentionEveryone(String senderTagType, String message, Player sender, AsyncPlayerChatEvent event) {
-        if (PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.mention.everyone", false, 200)) {
+        if (PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.mention.everyone", false)) {
             boolean senderTagged = Registry.ID_PATTERN.matcher(message).find();
             String name = InteractiveChat.mentionPrefix + "everyone";
-            int index = message.toLowerCase().indexOf(name.toLowerCase());
-            if (index >= 0) {
+            if (InteractiveChat.onlinePlayerNames.getMentionTrie().find(message, InteractiveChat.mentionPrefix, each -> each.getType().equals(MentionType.EVERYONE)) != null) {
                 // In Redis mode (no proxy plugin), use simple tag format that can be processed locally
                 if (senderTagged || InteractiveChat.dataBrokerType == DataBrokerType.REDIS) {
                     message = Registry.MENTION_TAG_CONVERTER.convertToTag(name, message);
@@ -549,7 +502,7 @@ public class ChatEvents implements Listener {
             return;
         }
         Player player = event.getPlayer();
-        if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.chatcolor.translate", false, 200)) {
+        if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.chatcolor.translate", false)) {
             if (InteractiveChat.chatAltColorCode.isPresent()) {
                 event.setMessage(ChatColorUtils.translateAlternateColorCodes(InteractiveChat.chatAltColorCode.get(), event.getMessage()));
             }
@@ -563,7 +516,7 @@ public class ChatEvents implements Listener {
             return;
         }
         Player player = event.getPlayer();
-        if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.chatcolor.translate", false, 200)) {
+        if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.chatcolor.translate", false)) {
             if (InteractiveChat.chatAltColorCode.isPresent()) {
                 String translated = ChatColorUtils.translateAlternateColorCodes(InteractiveChat.chatAltColorCode.get(), event.getMessage());
                 event.setMessage(translated.substring(translated.indexOf("/")));
@@ -22,6 +22,8 @@ package com.loohp.interactivechat.listeners;
 
 import com.cryptomorin.xseries.XMaterial;
 import com.loohp.interactivechat.InteractiveChat;
+import com.loohp.interactivechat.api.InteractiveChatAPI;
+import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
 import com.loohp.interactivechat.objectholders.ICInventoryHolder;
 import com.loohp.interactivechat.objectholders.ICMaterial;
 import com.loohp.interactivechat.objectholders.ValuePairs;
@@ -66,7 +68,7 @@ public class InventoryEvents implements Listener {
         Player player = (Player) event.getWhoClicked();
         String hash = InteractiveChat.viewingInv1.get(player.getUniqueId());
         if (hash != null) {
-            Inventory fakeInv = InteractiveChat.inventoryDisplay1Lower.get(hash);
+            Inventory fakeInv = InteractiveChatAPI.getSharedInventory(SharedType.INVENTORY1_LOWER, hash);
             if (fakeInv == null) {
                 Scheduler.runTask(InteractiveChat.plugin, () -> player.closeInventory(), player);
             } else {
@@ -97,7 +99,7 @@ public class InventoryEvents implements Listener {
                     } else {
                         slot = rawSlot - 81;
                     }
-                    Inventory bottomInventory = InteractiveChat.inventoryDisplay1Lower.get(hash);
+                    Inventory bottomInventory = InteractiveChatAPI.getSharedInventory(SharedType.INVENTORY1_LOWER, hash);
                     if (bottomInventory != null) {
                         item = bottomInventory.getItem(slot);
                     } else {
@@ -199,7 +201,7 @@ public class InventoryEvents implements Listener {
                     player.openInventory(opened.getFirst());
                     String hash = opened.getSecond();
                     if (hash != null) {
-                        Inventory lowerInventory = InteractiveChat.inventoryDisplay1Lower.get(hash);
+                        Inventory lowerInventory = InteractiveChatAPI.getSharedInventory(SharedType.INVENTORY1_LOWER, hash);
                         if (lowerInventory != null) {
                             InventoryUtils.sendFakePlayerInventory(player, lowerInventory, true, false);
                             InteractiveChat.viewingInv1.put(player.getUniqueId(), hash);
@@ -20,6 +20,8 @@
 
 package com.loohp.interactivechat.modules;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder.ClickEventAction;
@@ -27,6 +29,8 @@ import com.loohp.interactivechat.objectholders.CustomPlaceholder.ParsePlayer;
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
+import com.loohp.interactivechat.objectholders.PlaceholderKeywordIndex;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.objectholders.WebData;
 import com.loohp.interactivechat.utils.ComponentReplacing;
 import com.loohp.interactivechat.utils.ComponentUtils;
@@ -41,29 +45,63 @@ import org.bukkit.entity.Player;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 public class CustomPlaceholderDisplay {
 
+    private static final Cache<String, Pattern> COMPILED_KEYWORDS = CacheBuilder.newBuilder().maximumSize(1024).build();
+    private static final Cache<ValuePairs<UUID, String>, String> PARSED_KEYWORDS = CacheBuilder.newBuilder().maximumSize(4096).expireAfterWrite(1, TimeUnit.SECONDS).build();
+
+    public static Pattern getParsedKeyword(ICPlayer parseplayer, Pattern keyword) {
+        String template = keyword.pattern();
+        ValuePairs<UUID, String> parsedKey = new ValuePairs<>(parseplayer.getUniqueId(), template);
+        String parsed = PARSED_KEYWORDS.getIfPresent(parsedKey);
+        if (parsed == null) {
+            parsed = PlaceholderParser.parse(parseplayer, template);
+            PARSED_KEYWORDS.put(parsedKey, parsed);
+        }
+        if (parsed.equals(template)) {
+            return keyword;
+        }
+        Pattern pattern = COMPILED_KEYWORDS.getIfPresent(parsed);
+        if (pattern == null) {
+            pattern = Pattern.compile(parsed);
+            COMPILED_KEYWORDS.put(parsed, pattern);
+        }
+        return pattern;
+    }
+
     public static Component process(Component component, Optional<ICPlayer> optplayer, Player receiver, Collection<ICPlaceholder> placeholderList, long unix) {
+        PlaceholderKeywordIndex index = InteractiveChat.customPlaceholderIndex;
+        PlaceholderKeywordIndex.Matches matches = null;
+        String plain = null;
+        if (index != null && index.isBuiltFrom(placeholderList)) {
+            plain = InteractiveChatComponentSerializer.plainText().serialize(component);
+            matches = index.find(plain);
+        }
         for (ICPlaceholder icplaceholder : placeholderList) {
             if (icplaceholder.isBuildIn()) {
                 continue;
             }
+            if (matches != null && !matches.mayContain(icplaceholder)) {
+                continue;
+            }
             CustomPlaceholder cp = (CustomPlaceholder) icplaceholder;
 
             ICPlayer parseplayer = cp.getParsePlayer().equals(ParsePlayer.SENDER) ? optplayer.orElse(null) : ICPlayerFactory.getICPlayer(receiver);
 
             if (InteractiveChat.useCustomPlaceholderPermissions && optplayer.isPresent()) {
                 ICPlayer sender = optplayer.get();
-                if (!PlayerUtils.hasPermission(sender.getUniqueId(), cp.getPermission(), true, 5)) {
+                if (!PlayerUtils.hasPermission(sender.getUniqueId(), cp.getPermission(), true)) {
                     continue;
                 }
             }
 
             Pattern placeholder = cp.getKeyword();
             if (cp.getParseKeyword() && parseplayer != null) {
-                placeholder = Pattern.compile(PlaceholderParser.parse(parseplayer, placeholder.pattern()));
+                placeholder = getParsedKeyword(parseplayer, placeholder);
             }
             long cooldown = cp.getCooldown();
             boolean hoverEnabled = cp.getHover().isEnabled();
@@ -74,7 +112,16 @@ public class CustomPlaceholderDisplay {
             boolean replaceEnabled = cp.getReplace().isEnabled();
             Component replaceText = cp.getReplace().getReplaceText();
 
-            component = processCustomPlaceholder(parseplayer, placeholder, cooldown, hoverEnabled, hoverText, clickEnabled, clickAction, clickValue, replaceEnabled, replaceText, component, optplayer, unix);
+            Component processed = processCustomPlaceholder(parseplayer, placeholder, cooldown, hoverEnabled, hoverText, clickEnabled, clickAction, clickValue, replaceEnabled, replaceText, component, optplayer, unix);
+            //Only a replacement text can change the plain text the index was matched against
+            if (matches != null && processed != component && replaceEnabled && parseplayer != null) {
+                String processedPlain = InteractiveChatComponentSerializer.plainText().serialize(processed);
+                if (!processedPlain.equals(plain)) {
+                    plain = processedPlain;
+                    matches = index.find(plain);
+                }
+            }
+            component = processed;
         }
 
         if (InteractiveChat.t && WebData.getInstance() != null) {
@@ -82,7 +129,7 @@ public class CustomPlaceholderDisplay {
                 ICPlayer parseplayer = (cp.getParsePlayer().equals(ParsePlayer.SENDER) && optplayer.isPresent()) ? optplayer.get() : ICPlayerFactory.getICPlayer(receiver);
                 Pattern placeholder = cp.getKeyword();
                 if (cp.getParseKeyword()) {
-                    placeholder = Pattern.compile(PlaceholderParser.parse(parseplayer, placeholder.pattern()));
+                    placeholder = getParsedKeyword(parseplayer, placeholder);
                 }
                 long cooldown = cp.getCooldown();
                 boolean hoverEnabled = cp.getHover().isEnabled();
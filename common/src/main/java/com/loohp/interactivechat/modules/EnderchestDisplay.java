@@ -20,6 +20,8 @@
 
 package com.loohp.interactivechat.modules;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.api.InteractiveChatAPI;
 import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
@@ -30,11 +32,12 @@ import com.loohp.interactivechat.config.ConfigManager;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder;
 import com.loohp.interactivechat.objectholders.ICInventoryHolder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
+import com.loohp.interactivechat.objectholders.InventorySnapshot;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.utils.ChatColorUtils;
 import com.loohp.interactivechat.utils.CompassUtils;
 import com.loohp.interactivechat.utils.ComponentReplacing;
 import com.loohp.interactivechat.utils.CustomStringUtils;
-import com.loohp.interactivechat.utils.HashUtils;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
 import com.loohp.interactivechat.utils.InventoryUtils;
 import com.loohp.interactivechat.utils.PlaceholderParser;
@@ -48,39 +51,49 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class EnderchestDisplay {
 
+    private static final Cache<ValuePairs<UUID, Long>, ValuePairs<InventorySnapshot, Component>> SHARED_ENDER_CHESTS = CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build();
+
     public static Component process(Component component, Optional<ICPlayer> optplayer, Player receiver, boolean preview, long unix) throws Exception {
         String plain = InteractiveChatComponentSerializer.plainText().serialize(component);
         if (InteractiveChat.enderPlaceholder.getKeyword().matcher(plain).find()) {
             String regex = InteractiveChat.enderPlaceholder.getKeyword().pattern();
             if (optplayer.isPresent()) {
                 ICPlayer player = optplayer.get();
-                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.module.enderchest", true, 5)) {
+                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.module.enderchest", true)) {
 
-                    Component replaceText = InteractiveChat.enderReplaceText;
-                    String title = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, InteractiveChat.enderTitle));
-                    String sha1 = HashUtils.createSha1(title, player.getEnderChest());
+                    ValuePairs<InventorySnapshot, Component> shared = SHARED_ENDER_CHESTS.get(new ValuePairs<>(player.getUniqueId(), unix), () -> {
+                        String title = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, InteractiveChat.enderTitle));
+                        InventorySnapshot snapshot = InventorySnapshot.enderChest(player, title);
 
-                    if (!preview && !InteractiveChat.enderDisplay.containsKey(sha1)) {
-                        layout(player, sha1, title, receiver, component, unix);
-                    }
+                        Component componentText = PlaceholderParser.parse(player, InteractiveChat.enderReplaceText);
 
-                    Component componentText = PlaceholderParser.parse(player, replaceText);
+                        List<String> hoverList = ConfigManager.getConfig().getStringList("ItemDisplay.EnderChest.HoverMessage");
+                        String hoverText = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, String.join("\n", hoverList)));
 
-                    List<String> hoverList = ConfigManager.getConfig().getStringList("ItemDisplay.EnderChest.HoverMessage");
-                    String hoverText = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, String.join("\n", hoverList)));
+                        String command = "/interactivechat viewender " + snapshot.getHash();
 
-                    String command = "/interactivechat viewender " + sha1;
+                        Component display = componentText;
+                        display = display.hoverEvent(HoverEvent.showText(LegacyComponentSerializer.legacySection().deserialize(hoverText)));
+                        display = display.clickEvent(ClickEvent.runCommand(command));
+                        return new ValuePairs<>(snapshot, display);
+                    });
+                    InventorySnapshot snapshot = shared.getFirst();
 
-                    Component enderComponent = componentText;
-                    enderComponent = enderComponent.hoverEvent(HoverEvent.showText(LegacyComponentSerializer.legacySection().deserialize(hoverText)));
-                    enderComponent = enderComponent.clickEvent(ClickEvent.runCommand(command));
+                    if (!preview && !InteractiveChatAPI.isInventoryShared(SharedType.ENDERCHEST, snapshot.getHash())) {
+                        layout(player, snapshot, receiver, component, unix);
+                    }
+
+                    Component enderComponent = shared.getSecond();
                     component = ComponentReplacing.replace(component, regex, true, enderComponent);
                 }
             } else {
@@ -111,14 +124,14 @@ public class EnderchestDisplay {
         }
     }
 
-    public static void layout(ICPlayer player, String sha1, String title, Player receiver, Component component, long unix) throws Exception {
-        int size = player.getEnderChest().getSize();
-        Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, InventoryUtils.toMultipleOf9(size), title);
+    public static void layout(ICPlayer player, InventorySnapshot snapshot, Player receiver, Component component, long unix) throws Exception {
+        String sha1 = snapshot.getHash();
+        int size = snapshot.getSize();
+        Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, InventoryUtils.toMultipleOf9(size), snapshot.getTitle());
         for (int j = 0; j < size; j++) {
-            if (player.getEnderChest().getItem(j) != null) {
-                if (!player.getEnderChest().getItem(j).getType().equals(Material.AIR)) {
-                    inv.setItem(j, player.getEnderChest().getItem(j).clone());
-                }
+            ItemStack item = snapshot.getItem(j);
+            if (item != null && !item.getType().equals(Material.AIR)) {
+                inv.setItem(j, item);
             }
         }
 
@@ -130,12 +143,12 @@ public class EnderchestDisplay {
         Bukkit.getPluginManager().callEvent(event);
         inv = event.getInventory();
 
-        InteractiveChatAPI.addInventoryToItemShareList(SharedType.ENDERCHEST, sha1, inv);
+        InteractiveChatAPI.addInventoryToItemShareList(SharedType.ENDERCHEST, sha1, snapshot.getTitle(), inv);
 
         if (InteractiveChat.bungeecordMode) {
             if (player.isLocal()) {
                 try {
-                    BungeeMessageSender.forwardEnderchest(unix, player.getUniqueId(), player.isRightHanded(), player.getSelectedSlot(), player.getExperienceLevel(), null, inv);
+                    BungeeMessageSender.forwardEnderchest(unix, player.getUniqueId(), snapshot.isRightHanded(), snapshot.getSelectedSlot(), snapshot.getExperienceLevel(), null, inv);
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
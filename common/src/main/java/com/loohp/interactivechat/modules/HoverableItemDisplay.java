@@ -21,11 +21,14 @@
 package com.loohp.interactivechat.modules;
 
 import com.cryptomorin.xseries.XMaterial;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.api.InteractiveChatAPI;
 import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
 import com.loohp.interactivechat.objectholders.ICInventoryHolder;
 import com.loohp.interactivechat.objectholders.LegacyIdKey;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.utils.CompassUtils;
 import com.loohp.interactivechat.utils.ComponentCompacting;
 import com.loohp.interactivechat.utils.ComponentFlattening;
@@ -58,10 +61,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class HoverableItemDisplay {
 
-    @SuppressWarnings("deprecation")
+    private static final Cache<ShowItem, Optional<ItemStack>> PARSED_ITEMS = CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES).maximumSize(512).build();
+    private static final Cache<ValuePairs<ShowItem, UUID>, HoverItemDisplay> HOVER_ITEM_DISPLAYS = CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).maximumSize(512).build();
+
     public static Component process(Component component, Player receiver) throws Exception {
         component = ComponentFlattening.flatten(component);
         List<Component> children = new ArrayList<>(component.children());
@@ -71,54 +78,9 @@ public class HoverableItemDisplay {
             HoverEvent<?> hoverEvent = child.hoverEvent();
             if (hoverEvent != null && hoverEvent.action().equals(HoverEvent.Action.SHOW_ITEM) && child.clickEvent() == null) {
                 ShowItem showItem = (ShowItem) hoverEvent.value();
-                Key key = showItem.item();
-                int count = showItem.count();
-                ItemStack itemstack = null;
-                LegacyIdKey legacyId = InteractiveChatComponentSerializer.interactiveChatKeyToLegacyId(key);
-                if (legacyId == null) {
-                    String simpleNbt = "{id:\"" + key.asString() + "\", Count: " + count + "b}";
-                    try {
-                        itemstack = ItemNBTUtils.getItemFromNBTJson(simpleNbt);
-                    } catch (Throwable ignored) {
-                    }
-                } else {
-                    Optional<XMaterial> optXMaterial;
-                    if (legacyId.hasByteId()) {
-                        optXMaterial = XMaterialUtils.matchXMaterial(legacyId.getByteId(), legacyId.isDamageDataValue() ? (byte) legacyId.getDamage() : 0);
-                        if (optXMaterial.isPresent()) {
-                            itemstack = optXMaterial.get().parseItem();
-                        }
-                    } else {
-                        String materialId = legacyId.getStringId();
-                        if (materialId.contains(":")) {
-                            materialId = materialId.substring(materialId.indexOf(":") + 1);
-                        }
-                        optXMaterial = XMaterial.matchXMaterial(materialId.toUpperCase());
-                        if (optXMaterial.isPresent()) {
-                            itemstack = optXMaterial.get().parseItem();
-                            itemstack.setDurability(legacyId.getDamage());
-                        }
-                    }
-                }
-                Map<Key, DataComponentValue> dataComponents = showItem.dataComponents();
-
-                String longNbt = showItem.nbt() == null ? null : showItem.nbt().string();
-                if (dataComponents.isEmpty()) {
-                    if (itemstack != null && longNbt != null) {
-                        try {
-                            itemstack = Bukkit.getUnsafe().modifyItemStack(itemstack, longNbt);
-                        } catch (Throwable ignored) {
-                        }
-                    }
-                } else {
-                    try {
-                        itemstack = ItemNBTUtils.getItemStackFromDataComponents(itemstack, dataComponents);
-                    } catch (Throwable ignored) {
-                    }
-                }
-
+                ItemStack itemstack = PARSED_ITEMS.get(showItem, () -> Optional.ofNullable(parseItem(showItem))).orElse(null);
                 if (itemstack != null) {
-                    ClickEvent clickEvent = createItemDisplay(itemstack.clone(), receiver);
+                    ClickEvent clickEvent = getItemDisplay(showItem, itemstack, receiver).getClickEvent();
                     child = child.clickEvent(clickEvent);
                     children.set(i, child);
                 }
@@ -138,7 +100,68 @@ public class HoverableItemDisplay {
         return ComponentCompacting.optimize(component.children(children));
     }
 
-    private static ClickEvent createItemDisplay(ItemStack item, Player player) throws Exception {
+    @SuppressWarnings("deprecation")
+    private static ItemStack parseItem(ShowItem showItem) {
+        Key key = showItem.item();
+        int count = showItem.count();
+        ItemStack itemstack = null;
+        LegacyIdKey legacyId = InteractiveChatComponentSerializer.interactiveChatKeyToLegacyId(key);
+        if (legacyId == null) {
+            String simpleNbt = "{id:\"" + key.asString() + "\", Count: " + count + "b}";
+            try {
+                itemstack = ItemNBTUtils.getItemFromNBTJson(simpleNbt);
+            } catch (Throwable ignored) {
+            }
+        } else {
+            Optional<XMaterial> optXMaterial;
+            if (legacyId.hasByteId()) {
+                optXMaterial = XMaterialUtils.matchXMaterial(legacyId.getByteId(), legacyId.isDamageDataValue() ? (byte) legacyId.getDamage() : 0);
+                if (optXMaterial.isPresent()) {
+                    itemstack = optXMaterial.get().parseItem();
+                }
+            } else {
+                String materialId = legacyId.getStringId();
+                if (materialId.contains(":")) {
+                    materialId = materialId.substring(materialId.indexOf(":") + 1);
+                }
+                optXMaterial = XMaterial.matchXMaterial(materialId.toUpperCase());
+                if (optXMaterial.isPresent()) {
+                    itemstack = optXMaterial.get().parseItem();
+                    itemstack.setDurability(legacyId.getDamage());
+                }
+            }
+        }
+        Map<Key, DataComponentValue> dataComponents = showItem.dataComponents();
+
+        String longNbt = showItem.nbt() == null ? null : showItem.nbt().string();
+        if (dataComponents.isEmpty()) {
+            if (itemstack != null && longNbt != null) {
+                try {
+                    itemstack = Bukkit.getUnsafe().modifyItemStack(itemstack, longNbt);
+                } catch (Throwable ignored) {
+                }
+            }
+        } else {
+            try {
+                itemstack = ItemNBTUtils.getItemStackFromDataComponents(itemstack, dataComponents);
+            } catch (Throwable ignored) {
+            }
+        }
+        return itemstack;
+    }
+
+    private static HoverItemDisplay getItemDisplay(ShowItem showItem, ItemStack item, Player player) throws Exception {
+        UUID receiver = InteractiveChat.itemStackTransformFunctions.isEmpty() ? null : player.getUniqueId();
+        ValuePairs<ShowItem, UUID> key = new ValuePairs<>(showItem, receiver);
+        HoverItemDisplay display = HOVER_ITEM_DISPLAYS.getIfPresent(key);
+        if (display == null || !display.isValid()) {
+            display = createItemDisplay(item.clone(), player);
+            HOVER_ITEM_DISPLAYS.put(key, display);
+        }
+        return display;
+    }
+
+    private static HoverItemDisplay createItemDisplay(ItemStack item, Player player) throws Exception {
         boolean isAir = item.getType().equals(Material.AIR);
         ItemStack originalItem = item.clone();
         item = InteractiveChatAPI.transformItemStack(item, player.getUniqueId());
@@ -146,14 +169,14 @@ public class HoverableItemDisplay {
             item = CompassUtils.hideLodestoneCompassPosition(item);
         }
         String title = InteractiveChat.hoverableItemTitle;
-        String sha1 = HashUtils.createSha1(title, item);
+        String sha1 = HashUtils.createFingerprint(title, item);
         boolean isMapView = false;
         if (InteractiveChat.itemMapPreview && FilledMapUtils.isFilledMap(item)) {
             isMapView = true;
-            if (!InteractiveChat.mapDisplay.containsKey(sha1)) {
+            if (!InteractiveChatAPI.isMapShared(sha1)) {
                 InteractiveChatAPI.addMapToMapSharedList(sha1, item);
             }
-        } else if (!InteractiveChat.itemDisplay.containsKey(sha1)) {
+        } else if (!InteractiveChatAPI.isInventoryShared(SharedType.ITEM, sha1)) {
             if (ItemDisplay.useInventoryView(item)) {
                 Inventory container = ((InventoryHolder) ((BlockStateMeta) item.getItemMeta()).getBlockState()).getInventory();
                 Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, container.getSize() + 9, title);
@@ -176,7 +199,7 @@ public class HoverableItemDisplay {
                         inv.setItem(j + 9, shulkerItem == null ? null : shulkerItem.clone());
                     }
                 }
-                InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, inv);
+                InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, title, inv);
             } else {
                 if (InteractiveChat.version.isOld()) {
                     Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 27, title);
@@ -193,7 +216,7 @@ public class HoverableItemDisplay {
                         inv.setItem(j, empty);
                     }
                     inv.setItem(13, isAir ? null : originalItem);
-                    InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, inv);
+                    InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, title, inv);
                 } else {
                     Inventory inv = InventoryUtils.CAN_USE_DROPPER_TYPE ? Bukkit.createInventory(ICInventoryHolder.INSTANCE, InventoryType.DROPPER, title) : Bukkit.createInventory(ICInventoryHolder.INSTANCE, 27, title);
                     ItemStack empty = InteractiveChat.itemFrame1.clone();
@@ -209,12 +232,40 @@ public class HoverableItemDisplay {
                         inv.setItem(j, empty);
                     }
                     inv.setItem(inv.getSize() / 2, isAir ? null : originalItem);
-                    InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, inv);
+                    InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, title, inv);
                 }
             }
         }
 
-        return ClickEvent.runCommand("/interactivechat " + (isMapView ? "viewmap " : "viewitem ") + sha1);
+        ClickEvent clickEvent = ClickEvent.runCommand("/interactivechat " + (isMapView ? "viewmap " : "viewitem ") + sha1);
+        return new HoverItemDisplay(title, sha1, isMapView, clickEvent);
+    }
+
+    private static class HoverItemDisplay {
+
+        private final String title;
+        private final String hash;
+        private final boolean isMapView;
+        private final ClickEvent clickEvent;
+
+        private HoverItemDisplay(String title, String hash, boolean isMapView, ClickEvent clickEvent) {
+            this.title = title;
+            this.hash = hash;
+            this.isMapView = isMapView;
+            this.clickEvent = clickEvent;
+        }
+
+        private boolean isValid() {
+            if (!title.equals(InteractiveChat.hoverableItemTitle)) {
+                return false;
+            }
+            return isMapView ? InteractiveChatAPI.isMapShared(hash) : InteractiveChatAPI.isInventoryShared(SharedType.ITEM, hash);
+        }
+
+        private ClickEvent getClickEvent() {
+            return clickEvent;
+        }
+
     }
 
 }
@@ -21,6 +21,8 @@
 package com.loohp.interactivechat.modules;
 
 import com.cryptomorin.xseries.XMaterial;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.api.InteractiveChatAPI;
 import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
@@ -32,10 +34,11 @@ import com.loohp.interactivechat.nms.NMS;
 import com.loohp.interactivechat.objectholders.CustomPlaceholder;
 import com.loohp.interactivechat.objectholders.ICInventoryHolder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
+import com.loohp.interactivechat.objectholders.InventorySnapshot;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.utils.ChatColorUtils;
 import com.loohp.interactivechat.utils.CompassUtils;
 import com.loohp.interactivechat.utils.ComponentReplacing;
-import com.loohp.interactivechat.utils.HashUtils;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
 import com.loohp.interactivechat.utils.LanguageUtils;
 import com.loohp.interactivechat.utils.MCVersion;
@@ -63,6 +66,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,33 +75,40 @@ public class InventoryDisplay {
 
     public static final List<Integer> LAYOUTS = Stream.of(0, 1).collect(Collectors.toList());
 
+    private static final Cache<ValuePairs<UUID, Long>, ValuePairs<InventorySnapshot, Component>> SHARED_INVENTORIES = CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build();
+
     public static Component process(Component component, Optional<ICPlayer> optplayer, Player receiver, boolean preview, long unix) throws Exception {
         String plain = InteractiveChatComponentSerializer.plainText().serialize(component);
         if (InteractiveChat.invPlaceholder.getKeyword().matcher(plain).find()) {
             String regex = InteractiveChat.invPlaceholder.getKeyword().pattern();
             if (optplayer.isPresent()) {
                 ICPlayer player = optplayer.get();
-                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.module.inventory", true, 5)) {
+                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.module.inventory", true)) {
 
-                    Component replaceText = InteractiveChat.invReplaceText;
-                    String title = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, InteractiveChat.invTitle));
-                    String sha1 = HashUtils.createSha1(player.isRightHanded(), player.getSelectedSlot(), player.getExperienceLevel(), title, player.getInventory());
+                    ValuePairs<InventorySnapshot, Component> shared = SHARED_INVENTORIES.get(new ValuePairs<>(player.getUniqueId(), unix), () -> {
+                        String title = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, InteractiveChat.invTitle));
+                        InventorySnapshot snapshot = InventorySnapshot.inventory(player, title);
 
-                    if (!preview && !InteractiveChat.inventoryDisplay.containsKey(sha1)) {
-                        layout0(player, sha1, title, receiver, component, unix);
-                        layout1(player, sha1, title, receiver, component, unix);
-                    }
+                        Component componentText = PlaceholderParser.parse(player, InteractiveChat.invReplaceText);
 
-                    Component componentText = PlaceholderParser.parse(player, replaceText);
+                        List<String> hoverList = ConfigManager.getConfig().getStringList("ItemDisplay.Inventory.HoverMessage");
+                        String hoverText = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, String.join("\n", hoverList)));
 
-                    List<String> hoverList = ConfigManager.getConfig().getStringList("ItemDisplay.Inventory.HoverMessage");
-                    String hoverText = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, String.join("\n", hoverList)));
+                        String command = "/interactivechat viewinv " + snapshot.getHash();
 
-                    String command = "/interactivechat viewinv " + sha1;
+                        Component display = componentText;
+                        display = display.hoverEvent(HoverEvent.showText(LegacyComponentSerializer.legacySection().deserialize(hoverText)));
+                        display = display.clickEvent(ClickEvent.runCommand(command));
+                        return new ValuePairs<>(snapshot, display);
+                    });
+                    InventorySnapshot snapshot = shared.getFirst();
+
+                    if (!preview && !InteractiveChatAPI.isInventoryShared(SharedType.INVENTORY, snapshot.getHash())) {
+                        layout0(player, snapshot, receiver, component, unix);
+                        layout1(player, snapshot, receiver, component, unix);
+                    }
 
-                    Component invComponent = componentText;
-                    invComponent = invComponent.hoverEvent(HoverEvent.showText(LegacyComponentSerializer.legacySection().deserialize(hoverText)));
-                    invComponent = invComponent.clickEvent(ClickEvent.runCommand(command));
+                    Component invComponent = shared.getSecond();
                     component = ComponentReplacing.replace(component, regex, true, invComponent);
                 }
             } else {
@@ -132,13 +144,15 @@ public class InventoryDisplay {
         }
     }
 
-    public static void layout0(ICPlayer player, String sha1, String title, Player receiver, Component component, long unix) throws Exception {
+    public static void layout0(ICPlayer player, InventorySnapshot snapshot, Player receiver, Component component, long unix) throws Exception {
+        String sha1 = snapshot.getHash();
+        String title = snapshot.getTitle();
         Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 54, title);
         int f1 = 0;
         int f2 = 0;
         int u = 45;
-        for (int j = 0; j < Math.min(player.getInventory().getSize(), 45); j++) {
-            ItemStack item = player.getInventory().getItem(j);
+        for (int j = 0; j < Math.min(snapshot.getSize(), 45); j++) {
+            ItemStack item = snapshot.getItem(j);
             if (item != null && !item.getType().equals(Material.AIR)) {
                 if ((j >= 9 && j < 18) || j >= 36) {
                     if (item.getType().equals(InteractiveChat.invFrame1.getType())) {
@@ -148,7 +162,7 @@ public class InventoryDisplay {
                     }
                 }
                 if (j < 36) {
-                    inv.setItem(u, item.clone());
+                    inv.setItem(u, item);
                 }
             }
             if (u >= 53) {
@@ -167,7 +181,7 @@ public class InventoryDisplay {
             inv.setItem(j, frame);
         }
 
-        int level = player.getExperienceLevel();
+        int level = snapshot.getExperienceLevel();
         ItemStack exp = XMaterial.EXPERIENCE_BOTTLE.parseItem();
         if (InteractiveChat.version.isNewerThan(MCVersion.V1_15)) {
             TranslatableComponent expText = Component.translatable(getLevelTranslation(level)).color(NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, State.FALSE);
@@ -182,12 +196,12 @@ public class InventoryDisplay {
         }
         inv.setItem(1, exp);
 
-        inv.setItem(3, player.getInventory().getItem(39));
-        inv.setItem(4, player.getInventory().getItem(38));
-        inv.setItem(5, player.getInventory().getItem(37));
-        inv.setItem(6, player.getInventory().getItem(36));
+        inv.setItem(3, snapshot.getItem(39));
+        inv.setItem(4, snapshot.getItem(38));
+        inv.setItem(5, snapshot.getItem(37));
+        inv.setItem(6, snapshot.getItem(36));
 
-        ItemStack offhand = player.getInventory().getSize() > 40 ? player.getInventory().getItem(40) : null;
+        ItemStack offhand = snapshot.getSize() > 40 ? snapshot.getItem(40) : null;
         if (!InteractiveChat.version.isOld() || (offhand != null && offhand.getType().equals(Material.AIR))) {
             inv.setItem(8, offhand);
         }
@@ -216,13 +230,13 @@ public class InventoryDisplay {
             if (player.isLocal()) {
                 try {
                     Inventory toForward = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 45, title);
-                    for (int j = 0; j < Math.min(player.getInventory().getSize(), 45); j++) {
-                        ItemStack item = player.getInventory().getItem(j);
+                    for (int j = 0; j < Math.min(snapshot.getSize(), 45); j++) {
+                        ItemStack item = snapshot.getItem(j);
                         if (item != null && !item.getType().equals(Material.AIR)) {
-                            toForward.setItem(j, item.clone());
+                            toForward.setItem(j, item);
                         }
                     }
-                    BungeeMessageSender.forwardInventory(unix, player.getUniqueId(), player.isRightHanded(), player.getSelectedSlot(), player.getExperienceLevel(), null, toForward);
+                    BungeeMessageSender.forwardInventory(unix, player.getUniqueId(), snapshot.isRightHanded(), snapshot.getSelectedSlot(), snapshot.getExperienceLevel(), null, toForward);
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -230,17 +244,19 @@ public class InventoryDisplay {
         }
     }
 
-    public static void layout1(ICPlayer player, String sha1, String title, Player receiver, Component component, long unix) throws Exception {
-        boolean rightHanded = player.isRightHanded();
-        int selectedSlot = player.getSelectedSlot();
-        int level = player.getExperienceLevel();
+    public static void layout1(ICPlayer player, InventorySnapshot snapshot, Player receiver, Component component, long unix) throws Exception {
+        String sha1 = snapshot.getHash();
+        String title = snapshot.getTitle();
+        boolean rightHanded = snapshot.isRightHanded();
+        int selectedSlot = snapshot.getSelectedSlot();
+        int level = snapshot.getExperienceLevel();
 
         Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 54, title);
         int f1 = 0;
         int f2 = 0;
-        for (int j = 0; j < Math.min(player.getInventory().getSize(), 45); j++) {
+        for (int j = 0; j < Math.min(snapshot.getSize(), 45); j++) {
             if (j == selectedSlot || j >= 36) {
-                ItemStack item = player.getInventory().getItem(j);
+                ItemStack item = snapshot.getItem(j);
                 if (item != null && !item.getType().equals(Material.AIR)) {
                     if (item.getType().equals(InteractiveChat.invFrame1.getType())) {
                         f1++;
@@ -259,17 +275,17 @@ public class InventoryDisplay {
         for (int j = 0; j < 54; j++) {
             inv.setItem(j, frame);
         }
-        inv.setItem(12, player.getInventory().getItem(39));
-        inv.setItem(21, player.getInventory().getItem(38));
-        inv.setItem(30, player.getInventory().getItem(37));
-        inv.setItem(39, player.getInventory().getItem(36));
+        inv.setItem(12, snapshot.getItem(39));
+        inv.setItem(21, snapshot.getItem(38));
+        inv.setItem(30, snapshot.getItem(37));
+        inv.setItem(39, snapshot.getItem(36));
 
-        ItemStack offhand = player.getInventory().getSize() > 40 ? player.getInventory().getItem(40) : null;
+        ItemStack offhand = snapshot.getSize() > 40 ? snapshot.getItem(40) : null;
         if (InteractiveChat.version.isOld() && (offhand == null || offhand.getType().equals(Material.AIR))) {
-            inv.setItem(24, player.getInventory().getItem(selectedSlot));
+            inv.setItem(24, snapshot.getItem(selectedSlot));
         } else {
-            inv.setItem(23, rightHanded ? offhand : player.getInventory().getItem(selectedSlot));
-            inv.setItem(25, rightHanded ? player.getInventory().getItem(selectedSlot) : offhand);
+            inv.setItem(23, rightHanded ? offhand : snapshot.getItem(selectedSlot));
+            inv.setItem(25, rightHanded ? snapshot.getItem(selectedSlot) : offhand);
         }
 
         ItemStack exp = XMaterial.EXPERIENCE_BOTTLE.parseItem();
@@ -287,10 +303,10 @@ public class InventoryDisplay {
         inv.setItem(37, exp);
 
         Inventory inv2 = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 45, title);
-        for (int j = 0; j < Math.min(player.getInventory().getSize(), 45); j++) {
-            ItemStack item = player.getInventory().getItem(j);
+        for (int j = 0; j < Math.min(snapshot.getSize(), 45); j++) {
+            ItemStack item = snapshot.getItem(j);
             if (item != null && !item.getType().equals(Material.AIR)) {
-                inv2.setItem(j, item.clone());
+                inv2.setItem(j, item);
             }
         }
 
@@ -321,12 +337,12 @@ public class InventoryDisplay {
         });
 
         InteractiveChatAPI.addInventoryToItemShareList(SharedType.INVENTORY1_UPPER, sha1, inv);
-        InteractiveChatAPI.addInventoryToItemShareList(SharedType.INVENTORY1_LOWER, sha1, inv2);
+        InteractiveChatAPI.addInventoryToItemShareList(SharedType.INVENTORY1_LOWER, sha1, title, inv2);
 
         if (InteractiveChat.bungeecordMode) {
             if (player.isLocal()) {
                 try {
-                    BungeeMessageSender.forwardInventory(unix, player.getUniqueId(), player.isRightHanded(), player.getSelectedSlot(), player.getExperienceLevel(), null, inv2);
+                    BungeeMessageSender.forwardInventory(unix, player.getUniqueId(), rightHanded, selectedSlot, level, null, inv2);
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -20,6 +20,8 @@
 
 package com.loohp.interactivechat.modules;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.api.InteractiveChatAPI;
 import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
@@ -30,6 +32,7 @@ import com.loohp.interactivechat.objectholders.CustomPlaceholder;
 import com.loohp.interactivechat.objectholders.ICInventoryHolder;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.utils.ChatColorUtils;
 import com.loohp.interactivechat.utils.CompassUtils;
 import com.loohp.interactivechat.utils.ComponentCompacting;
@@ -67,16 +70,22 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class ItemDisplay {
 
+    private static final Cache<ValuePairs<UUID, Long>, SharedItemDisplay> SHARED_ITEM_DISPLAYS = CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).maximumSize(256).build();
+    private static final Cache<ValuePairs<UUID, Long>, Boolean> FORWARDED_EQUIPMENT = CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build();
+
     @SuppressWarnings("deprecation")
     public static Component process(Component component, Optional<ICPlayer> optplayer, Player receiver, boolean preview, long unix) throws Exception {
         String plain = InteractiveChatComponentSerializer.plainText().serialize(component);
         if (InteractiveChat.itemPlaceholder.getKeyword().matcher(plain).find()) {
             String regex = InteractiveChat.itemPlaceholder.getKeyword().pattern();
-            if (InteractiveChat.bungeecordMode && optplayer.isPresent() && optplayer.get().isLocal()) {
+            if (InteractiveChat.bungeecordMode && optplayer.isPresent() && optplayer.get().isLocal() && FORWARDED_EQUIPMENT.asMap().putIfAbsent(new ValuePairs<>(optplayer.get().getUniqueId(), unix), true) == null) {
                 ICPlayer player = optplayer.get();
                 ItemStack[] equipment;
                 if (InteractiveChat.version.isOld()) {
@@ -93,7 +102,7 @@ public class ItemDisplay {
 
             if (optplayer.isPresent()) {
                 ICPlayer player = optplayer.get();
-                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.module.item", true, 5)) {
+                if (PlayerUtils.hasPermission(player.getUniqueId(), "interactivechat.module.item", true)) {
                     Component alternativeHover = null;
                     if (!InteractiveChat.itemHover && !ComponentUtils.isEmpty(InteractiveChat.itemAlternativeHoverMessage)) {
                         alternativeHover = InteractiveChat.itemAlternativeHoverMessage;
@@ -161,7 +170,16 @@ public class ItemDisplay {
         Bukkit.getPluginManager().callEvent(event);
         item = event.getItemStack();
 
-        return createItemDisplay(player, item, InteractiveChat.itemTitle, showHover, alternativeHover, preview);
+        // every receiver of the same message usually ends up with the same item, share the display built for the first one
+        ValuePairs<UUID, Long> key = new ValuePairs<>(player.getUniqueId(), timeSent);
+        String rawTitle = InteractiveChat.itemTitle;
+        SharedItemDisplay shared = SHARED_ITEM_DISPLAYS.getIfPresent(key);
+        if (shared != null && shared.matches(item, rawTitle, showHover, alternativeHover, preview)) {
+            return shared.getDisplay();
+        }
+        Component display = createItemDisplay(player, item, rawTitle, showHover, alternativeHover, preview);
+        SHARED_ITEM_DISPLAYS.put(key, new SharedItemDisplay(item == null ? null : item.clone(), rawTitle, showHover, alternativeHover, preview, display));
+        return display;
     }
 
     public static Component createItemDisplay(OfflineICPlayer player, ItemStack item) throws Exception {
@@ -230,7 +248,7 @@ public class ItemDisplay {
 
         HoverEvent<ShowItem> hoverEvent = HoverEvent.showItem(showItem);
         String title = ChatColorUtils.translateAlternateColorCodes('&', PlaceholderParser.parse(player, rawTitle));
-        String sha1 = HashUtils.createSha1(title, item);
+        String sha1 = HashUtils.createFingerprint(title, item);
 
         String command = null;
         boolean isMapView = false;
@@ -238,10 +256,10 @@ public class ItemDisplay {
         if (!preview) {
             if (InteractiveChat.itemMapPreview && FilledMapUtils.isFilledMap(item)) {
                 isMapView = true;
-                if (!InteractiveChat.mapDisplay.containsKey(sha1)) {
+                if (!InteractiveChatAPI.isMapShared(sha1)) {
                     InteractiveChatAPI.addMapToMapSharedList(sha1, item);
                 }
-            } else if (!InteractiveChat.itemDisplay.containsKey(sha1)) {
+            } else if (!InteractiveChatAPI.isInventoryShared(SharedType.ITEM, sha1)) {
                 if (useInventoryView(item)) {
                     Inventory container = ((InventoryHolder) ((BlockStateMeta) item.getItemMeta()).getBlockState()).getInventory();
                     Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, container.getSize() + 9, title);
@@ -264,7 +282,7 @@ public class ItemDisplay {
                             inv.setItem(j + 9, shulkerItem == null ? null : shulkerItem.clone());
                         }
                     }
-                    InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, inv);
+                    InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, title, inv);
                 } else {
                     if (InteractiveChat.version.isOld()) {
                         Inventory inv = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 27, title);
@@ -281,7 +299,7 @@ public class ItemDisplay {
                             inv.setItem(j, empty);
                         }
                         inv.setItem(13, isAir ? null : originalItem);
-                        InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, inv);
+                        InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, title, inv);
                     } else {
                         Inventory inv = InventoryUtils.CAN_USE_DROPPER_TYPE ? Bukkit.createInventory(ICInventoryHolder.INSTANCE, InventoryType.DROPPER, title) : Bukkit.createInventory(ICInventoryHolder.INSTANCE, 27, title);
                         ItemStack empty = InteractiveChat.itemFrame1.clone();
@@ -297,7 +315,7 @@ public class ItemDisplay {
                             inv.setItem(j, empty);
                         }
                         inv.setItem(inv.getSize() / 2, isAir ? null : originalItem);
-                        InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, inv);
+                        InteractiveChatAPI.addInventoryToItemShareList(SharedType.ITEM, sha1, title, inv);
                     }
                 }
             }
@@ -321,4 +339,32 @@ public class ItemDisplay {
         return ComponentCompacting.optimize(itemDisplayComponent);
     }
 
+    private static class SharedItemDisplay {
+
+        private final ItemStack item;
+        private final String rawTitle;
+        private final boolean showHover;
+        private final Component alternativeHover;
+        private final boolean preview;
+        private final Component display;
+
+        private SharedItemDisplay(ItemStack item, String rawTitle, boolean showHover, Component alternativeHover, boolean preview, Component display) {
+            this.item = item;
+            this.rawTitle = rawTitle;
+            this.showHover = showHover;
+            this.alternativeHover = alternativeHover;
+            this.preview = preview;
+            this.display = display;
+        }
+
+        private boolean matches(ItemStack item, String rawTitle, boolean showHover, Component alternativeHover, boolean preview) {
+            return this.showHover == showHover && this.preview == preview && this.rawTitle.equals(rawTitle) && Objects.equals(this.alternativeHover, alternativeHover) && Objects.equals(this.item, item);
+        }
+
+        private Component getDisplay() {
+            return display;
+        }
+
+    }
+
 }
@@ -28,6 +28,7 @@ import com.loohp.interactivechat.nms.NMS;
 import com.loohp.interactivechat.objectholders.Either;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
+import com.loohp.interactivechat.objectholders.MentionEffectProfile;
 import com.loohp.interactivechat.objectholders.MentionPair;
 import com.loohp.interactivechat.registry.Registry;
 import com.loohp.interactivechat.utils.ChatColorUtils;
@@ -36,12 +37,8 @@ import com.loohp.interactivechat.utils.ComponentUtils;
 import com.loohp.interactivechat.utils.CustomStringUtils;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
 import com.loohp.interactivechat.utils.MCVersion;
-import com.loohp.interactivechat.utils.PlaceholderParser;
-import com.loohp.interactivechat.utils.SoundUtils;
 import com.loohp.interactivechat.utils.bossbar.BossBarUpdater;
 import net.kyori.adventure.bossbar.BossBar;
-import net.kyori.adventure.bossbar.BossBar.Color;
-import net.kyori.adventure.bossbar.BossBar.Overlay;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
@@ -56,7 +53,6 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -159,51 +155,15 @@ public class MentionDisplay implements Listener {
         if (optPair.isPresent()) {
             MentionPair pair = optPair.get();
             if (pair.getSender().equals(sender.getUniqueId())) {
-                Component title = PlaceholderParser.parse(sender, InteractiveChat.mentionTitle);
-                Component subtitle = PlaceholderParser.parse(sender, InteractiveChat.mentionSubtitle);
-                Component actionbar = PlaceholderParser.parse(sender, InteractiveChat.mentionActionbar);
-                Component toast = PlaceholderParser.parse(sender, InteractiveChat.mentionToast);
-                Component bossBarText = PlaceholderParser.parse(sender, InteractiveChat.mentionBossBarText);
-                String bossBarColorName = InteractiveChat.mentionBossBarColorName;
-                String bossBarOverlayName = InteractiveChat.mentionBossBarOverlayName;
-
-                Optional<BossBar> optBossBar;
-                if (ComponentUtils.isEmpty(bossBarText)) {
-                    optBossBar = Optional.empty();
-                } else {
-                    optBossBar = Optional.of(BossBar.bossBar(bossBarText, 1, Color.valueOf(bossBarColorName.toUpperCase()), Overlay.valueOf(bossBarOverlayName.toUpperCase())));
-                }
-
-                String settings = InteractiveChat.mentionSound;
-                Either<Sound, String> sound;
-                float volume = 3.0F;
-                float pitch = 1.0F;
-
-                String[] settingsArgs = settings.split(":");
-                if (settingsArgs.length >= 3) {
-                    settings = String.join("", Arrays.copyOfRange(settingsArgs, 0, settingsArgs.length - 2)).toUpperCase();
-                    try {
-                        volume = Float.parseFloat(settingsArgs[settingsArgs.length - 2]);
-                    } catch (Exception ignore) {
-                    }
-                    try {
-                        pitch = Float.parseFloat(settingsArgs[settingsArgs.length - 1]);
-                    } catch (Exception ignore) {
-                    }
-                } else {
-                    settings = settings.toUpperCase();
-                }
-
-                Sound bukkitSound = SoundUtils.parseSound(settings);
-                if (bukkitSound == null) {
-                    settings = settings.toLowerCase();
-                    if (!settings.contains(":")) {
-                        settings = "minecraft:" + settings;
-                    }
-                    sound = Either.right(settings);
-                } else {
-                    sound = Either.left(bukkitSound);
-                }
+                MentionEffectProfile profile = InteractiveChat.mentionEffectProfile;
+                Component title = profile.getTitle(sender);
+                Component subtitle = profile.getSubtitle(sender);
+                Component actionbar = profile.getActionbar(sender);
+                Component toast = profile.getToast(sender);
+                Optional<BossBar> optBossBar = profile.getBossBar(sender);
+                Either<Sound, String> sound = profile.getSound();
+                float volume = profile.getVolume();
+                float pitch = profile.getPitch();
 
                 boolean silent = false;
                 Map<UUID, Long> lastMentionMapping = InteractiveChat.lastNonSilentMentionTime.get(receiver.getUniqueId());
@@ -229,11 +189,7 @@ public class MentionDisplay implements Listener {
                             if (sound.isLeft()) {
                                 receiver.playSound(receiver.getLocation(), sound.getLeft(), volume, pitch);
                             } else {
-                                String soundLocation = sound.getRight();
-                                if (!soundLocation.contains(":")) {
-                                    soundLocation = "minecraft:" + soundLocation;
-                                }
-                                receiver.playSound(receiver.getLocation(), soundLocation.toLowerCase(), volume, pitch);
+                                receiver.playSound(receiver.getLocation(), sound.getRight(), volume, pitch);
                             }
                         }
                         if (!ComponentUtils.isEmpty(mentionEvent.getToast()) && InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_12)) {
@@ -291,51 +247,15 @@ public class MentionDisplay implements Listener {
      * so the normal MentionPair + chat processing flow doesn't work.
      */
     public static void triggerDirectMentionNotification(Player receiver, ICPlayer sender, long unix) {
-        Component title = PlaceholderParser.parse(sender, InteractiveChat.mentionTitle);
-        Component subtitle = PlaceholderParser.parse(sender, InteractiveChat.mentionSubtitle);
-        Component actionbar = PlaceholderParser.parse(sender, InteractiveChat.mentionActionbar);
-        Component toast = PlaceholderParser.parse(sender, InteractiveChat.mentionToast);
-        Component bossBarText = PlaceholderParser.parse(sender, InteractiveChat.mentionBossBarText);
-        String bossBarColorName = InteractiveChat.mentionBossBarColorName;
-        String bossBarOverlayName = InteractiveChat.mentionBossBarOverlayName;
-
-        Optional<BossBar> optBossBar;
-        if (ComponentUtils.isEmpty(bossBarText)) {
-            optBossBar = Optional.empty();
-        } else {
-            optBossBar = Optional.of(BossBar.bossBar(bossBarText, 1, Color.valueOf(bossBarColorName.toUpperCase()), Overlay.valueOf(bossBarOverlayName.toUpperCase())));
-        }
-
-        String settings = InteractiveChat.mentionSound;
-        Either<Sound, String> sound;
-        float volume = 3.0F;
-        float pitch = 1.0F;
-
-        String[] settingsArgs = settings.split(":");
-        if (settingsArgs.length >= 3) {
-            settings = String.join("", Arrays.copyOfRange(settingsArgs, 0, settingsArgs.length - 2)).toUpperCase();
-            try {
-                volume = Float.parseFloat(settingsArgs[settingsArgs.length - 2]);
-            } catch (Exception ignore) {
-            }
-            try {
-                pitch = Float.parseFloat(settingsArgs[settingsArgs.length - 1]);
-            } catch (Exception ignore) {
-            }
-        } else {
-            settings = settings.toUpperCase();
-        }
-
-        Sound bukkitSound = SoundUtils.parseSound(settings);
-        if (bukkitSound == null) {
-            settings = settings.toLowerCase();
-            if (!settings.contains(":")) {
-                settings = "minecraft:" + settings;
-            }
-            sound = Either.right(settings);
-        } else {
-            sound = Either.left(bukkitSound);
-        }
+        MentionEffectProfile profile = InteractiveChat.mentionEffectProfile;
+        Component title = profile.getTitle(sender);
+        Component subtitle = profile.getSubtitle(sender);
+        Component actionbar = profile.getActionbar(sender);
+        Component toast = profile.getToast(sender);
+        Optional<BossBar> optBossBar = profile.getBossBar(sender);
+        Either<Sound, String> sound = profile.getSound();
+        float volume = profile.getVolume();
+        float pitch = profile.getPitch();
 
         boolean silent = false;
         Map<UUID, Long> lastMentionMapping = InteractiveChat.lastNonSilentMentionTime.get(receiver.getUniqueId());
@@ -353,16 +273,10 @@ public class MentionDisplay implements Listener {
             NMS.getInstance().sendTitle(receiver, title, subtitle, actionbar, 10, Math.max(time, 1), 20);
 
             if (sound != null) {
-                float finalVolume = volume;
-                float finalPitch = pitch;
                 if (sound.isLeft()) {
-                    receiver.playSound(receiver.getLocation(), sound.getLeft(), finalVolume, finalPitch);
+                    receiver.playSound(receiver.getLocation(), sound.getLeft(), volume, pitch);
                 } else {
-                    String soundLocation = sound.getRight();
-                    if (!soundLocation.contains(":")) {
-                        soundLocation = "minecraft:" + soundLocation;
-                    }
-                    receiver.playSound(receiver.getLocation(), soundLocation.toLowerCase(), finalVolume, finalPitch);
+                    receiver.playSound(receiver.getLocation(), sound.getRight(), volume, pitch);
                 }
             }
 
@@ -21,13 +21,9 @@
 package com.loohp.interactivechat.modules;
 
 import com.loohp.interactivechat.objectholders.ProcessSenderResult;
-import com.loohp.interactivechat.registry.Registry;
-import com.loohp.interactivechat.utils.ComponentReplacing;
-import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
 import net.kyori.adventure.text.Component;
 
 import java.util.UUID;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ProcessAccurateSender {
@@ -37,41 +33,14 @@ public class ProcessAccurateSender {
 
     public static final Pattern COLOR_IGNORE_PATTERN = Pattern.compile("(?:(?:§.)*<(?:§.)*c(?:§.)*h(?:§.)*a(?:§.)*t(?:§.)*=((?:(?:§.)*[0-9a-f]){8}(?:§.)*-(?:(?:§.)*[0-9a-f]){4}(?:§.)*-(?:(?:§.)*[0-9a-f]){4}(?:§.)*-(?:(?:§.)*[0-9a-f]){4}(?:§.)*-(?:(?:§.)*[0-9a-f]){12})(?:§.)*>)");
 
+    private static final SenderTagExtractor EXTRACTOR = new SenderTagExtractor("chat");
+
     public static ProcessSenderResult process(Component component) {
-        String text = InteractiveChatComponentSerializer.plainText().serialize(component);
-        UUID uuid = find(text);
-        Matcher matcher0 = PATTERN_0.matcher(text);
-        if (matcher0.find()) {
-            uuid = UUID.fromString(matcher0.group(1));
-        }
-        component = ComponentReplacing.replace(component, PATTERN_0.pattern(), false, (result, matchedComponents) -> {
-            Component replacement = result.componentGroup(2);
-            if (replacement == null) {
-                return Component.empty();
-            } else {
-                return ComponentReplacing.replace(replacement, Registry.ID_UNESCAPE_PATTERN.pattern(), Component.text(">"));
-            }
-        });
-        if (uuid == null) {
-            Matcher matcher1 = PATTERN_1.matcher(text);
-            if (matcher1.find()) {
-                uuid = UUID.fromString(matcher1.group(1));
-            }
-        }
-        component = ComponentReplacing.replace(component, PATTERN_1.pattern(), Component.empty());
-        return new ProcessSenderResult(component, uuid);
+        return EXTRACTOR.process(component);
     }
 
     public static UUID find(String text) {
-        Matcher matcher = PATTERN_0.matcher(text);
-        if (matcher.find()) {
-            return UUID.fromString(matcher.group(1));
-        }
-        matcher = PATTERN_1.matcher(text);
-        if (matcher.find()) {
-            return UUID.fromString(matcher.group(1));
-        }
-        return null;
+        return EXTRACTOR.find(text);
     }
 
 }
@@ -158,7 +158,7 @@ public class ProcessExternalMessage {
         for (ICPlaceholder placeholder : InteractiveChatAPI.getICPlaceholderList()) {
             if (!placeholder.isBuildIn()) {
                 CustomPlaceholder customP = (CustomPlaceholder) placeholder;
-                if (!InteractiveChat.useCustomPlaceholderPermissions || (InteractiveChat.useCustomPlaceholderPermissions && PlayerUtils.hasPermission(sender.getUniqueId(), customP.getPermission(), true, 250))) {
+                if (!InteractiveChat.useCustomPlaceholderPermissions || (InteractiveChat.useCustomPlaceholderPermissions && PlayerUtils.hasPermission(sender.getUniqueId(), customP.getPermission(), true))) {
                     if (customP.getKeyword().matcher(message).find()) {
                         if (customP.getReplace().isEnabled()) {
                             Component replace = Component.empty().color(NamedTextColor.WHITE).children(Collections.singletonList(PlaceholderParser.parse(sender, customP.getReplace().getReplaceText())));
@@ -184,7 +184,7 @@ public class ProcessExternalMessage {
             }
         }
 
-        if (InteractiveChat.useItem && PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.module.item", true, 250)) {
+        if (InteractiveChat.useItem && PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.module.item", true)) {
             Pattern placeholder = InteractiveChat.itemPlaceholder.getKeyword();
             if (placeholder.matcher(message).find()) {
                 ItemStack item = sender.getEquipment().getItemInHand();
@@ -212,7 +212,7 @@ public class ProcessExternalMessage {
             }
         }
 
-        if (InteractiveChat.useInventory && PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.module.inventory", true, 250)) {
+        if (InteractiveChat.useInventory && PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.module.inventory", true)) {
             Pattern placeholder = InteractiveChat.invPlaceholder.getKeyword();
             if (placeholder.matcher(message).find()) {
                 Component replaceText = PlaceholderParser.parse(sender, InteractiveChat.invReplaceText);
@@ -220,7 +220,7 @@ public class ProcessExternalMessage {
             }
         }
 
-        if (InteractiveChat.useEnder && PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.module.enderchest", true, 250)) {
+        if (InteractiveChat.useEnder && PlayerUtils.hasPermission(sender.getUniqueId(), "interactivechat.module.enderchest", true)) {
             Pattern placeholder = InteractiveChat.enderPlaceholder.getKeyword();
             if (placeholder.matcher(message).find()) {
                 Component replaceText = PlaceholderParser.parse(sender, InteractiveChat.enderReplaceText);
@@ -339,7 +339,7 @@ public class ProcessExternalMessage {
         }
 
         if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_16) && InteractiveChat.fontTags) {
-            if (!sender.isPresent() || (sender.isPresent() && PlayerUtils.hasPermission(sender.get().getUniqueId(), "interactivechat.customfont.translate", true, 5))) {
+            if (!sender.isPresent() || (sender.isPresent() && PlayerUtils.hasPermission(sender.get().getUniqueId(), "interactivechat.customfont.translate", true))) {
                 component = ComponentFont.parseFont(component);
             }
         }
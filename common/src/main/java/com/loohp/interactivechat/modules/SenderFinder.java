@@ -21,19 +21,14 @@
 package com.loohp.interactivechat.modules;
 
 import com.loohp.interactivechat.InteractiveChat;
-import com.loohp.interactivechat.api.InteractiveChatAPI;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
-import com.loohp.interactivechat.utils.ChatColorUtils;
-import com.loohp.interactivechat.utils.CustomStringUtils;
+import com.loohp.interactivechat.objectholders.RecentMessageIndex;
+import com.loohp.interactivechat.objectholders.RecentMessageIndex.IndexedMessage;
 import com.loohp.platformscheduler.Scheduler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-import org.bukkit.Bukkit;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,58 +42,32 @@ public class SenderFinder {
         }
 
         String chat = PlainTextComponentSerializer.plainText().serialize(component);
+        RecentMessageIndex.Query query = InteractiveChat.messages.query(chat);
 
-        for (Entry<String, UUID> entry : InteractiveChat.messages.entrySet()) {
-            String msg = entry.getKey();
-            if (chat.contains(msg)) {
-                UUID uuid = entry.getValue();
-                Scheduler.runTaskLaterAsynchronously(InteractiveChat.plugin, () -> InteractiveChat.messages.remove(msg), 5);
-                ICPlayer wplayer = ICPlayerFactory.getICPlayer(uuid);
-                if (wplayer != null) {
-                    return Optional.of(wplayer);
-                }
-            }
-        }
-
-        String mostsimular = null;
-        double currentsim = 0.5;
-        for (Entry<String, UUID> entry : InteractiveChat.messages.entrySet()) {
-            String msg = entry.getKey();
-            double sim = CustomStringUtils.similarity(chat, msg);
-            if (sim > currentsim) {
-                mostsimular = msg;
-                currentsim = sim;
+        for (IndexedMessage indexed : query.findContained()) {
+            String msg = indexed.getMessage();
+            Scheduler.runTaskLaterAsynchronously(InteractiveChat.plugin, () -> InteractiveChat.messages.remove(msg), 5);
+            ICPlayer wplayer = ICPlayerFactory.getICPlayer(indexed.getUUID());
+            if (wplayer != null) {
+                return Optional.of(wplayer);
             }
         }
 
+        IndexedMessage mostsimular = query.findMostSimilar(0.5);
         if (mostsimular != null) {
-            UUID uuid = InteractiveChat.messages.get(mostsimular);
-            String finalmostsimular = mostsimular;
+            String finalmostsimular = mostsimular.getMessage();
             Scheduler.runTaskLaterAsynchronously(InteractiveChat.plugin, () -> InteractiveChat.messages.remove(finalmostsimular), 5);
-            ICPlayer wplayer = ICPlayerFactory.getICPlayer(uuid);
+            ICPlayer wplayer = ICPlayerFactory.getICPlayer(mostsimular.getUUID());
             if (wplayer != null) {
                 return Optional.of(wplayer);
             }
         }
 
-        Map<String, UUID> names = new HashMap<>();
-        ICPlayerFactory.getOnlineICPlayers().forEach((each) -> {
-            names.put(ChatColorUtils.stripColor(each.getName()), each.getUniqueId());
-            if (!ChatColorUtils.stripColor(each.getName()).equals(ChatColorUtils.stripColor(each.getDisplayName()))) {
-                names.put(ChatColorUtils.stripColor(each.getDisplayName()), each.getUniqueId());
-            }
-        });
-        Bukkit.getOnlinePlayers().forEach(each -> {
-            List<String> list = InteractiveChatAPI.getNicknames(each.getUniqueId());
-            for (String name : list) {
-                names.put(ChatColorUtils.stripColor(name), each.getUniqueId());
-            }
-        });
-
+        String lowerChat = chat.toLowerCase();
         UUID currentplayer = null;
-        int currentpos = 99999;
-        for (Entry<String, UUID> entry : names.entrySet()) {
-            int pos = chat.toLowerCase().indexOf(entry.getKey().toLowerCase());
+        int currentpos = Integer.MAX_VALUE;
+        for (Entry<String, UUID> entry : InteractiveChat.onlinePlayerNames.getNames().entrySet()) {
+            int pos = lowerChat.indexOf(entry.getKey());
             if (pos >= 0 && pos < currentpos) {
                 currentpos = pos;
                 currentplayer = entry.getValue();
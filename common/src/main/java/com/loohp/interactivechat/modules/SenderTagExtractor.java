@@ -0,0 +1,97 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.modules;
+
+import com.loohp.interactivechat.objectholders.ProcessSenderResult;
+import com.loohp.interactivechat.registry.Registry;
+import com.loohp.interactivechat.utils.ComponentReplacing;
+import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
+import net.kyori.adventure.text.Component;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds and strips both the <code>&lt;tag=uuid:text:&gt;</code> and the <code>&lt;tag=uuid&gt;</code>
+ * variants of a sender tag in a single pass, skipping all work if the tag does not occur at all.
+ */
+public class SenderTagExtractor {
+
+    private final String prefix;
+    private final Pattern pattern;
+    private final Pattern barePattern;
+
+    public SenderTagExtractor(String tag) {
+        this.prefix = "<" + tag + "=";
+        this.pattern = Pattern.compile("(?:" + Pattern.quote(prefix) + "([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12})(?::(.*?):)?>)");
+        this.barePattern = Pattern.compile(Pattern.quote(prefix) + "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}>");
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public UUID find(String text) {
+        if (text.indexOf(prefix) < 0) {
+            return null;
+        }
+        UUID uuid = null;
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            if (matcher.group(2) != null) {
+                return UUID.fromString(matcher.group(1));
+            }
+            if (uuid == null) {
+                uuid = UUID.fromString(matcher.group(1));
+            }
+        }
+        return uuid;
+    }
+
+    public ProcessSenderResult process(Component component) {
+        String text = InteractiveChatComponentSerializer.plainText().serialize(component);
+        UUID uuid = find(text);
+        if (uuid == null) {
+            return new ProcessSenderResult(component, null);
+        }
+        component = ComponentReplacing.replace(component, pattern.pattern(), false, (result, matchedComponents) -> {
+            String group = result.group(2);
+            if (group == null) {
+                return Component.empty();
+            }
+            Component replacement = result.componentGroup(2);
+            if (replacement == null) {
+                return Component.empty();
+            }
+            if (group.contains(prefix)) {
+                replacement = ComponentReplacing.replace(replacement, barePattern.pattern(), Component.empty());
+            }
+            if (group.contains("\\>")) {
+                return ComponentReplacing.replace(replacement, Registry.ID_UNESCAPE_PATTERN.pattern(), Component.text(">"));
+            } else {
+                return replacement;
+            }
+        });
+        return new ProcessSenderResult(component, uuid);
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.loohp.interactivechat.api.InteractiveChatAPI.SharedType;
+import com.loohp.interactivechat.utils.DataTypeIO;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An optional storage tier for shared displays that keeps each share as a serialized blob,
+ * optionally outside of the heap, instead of a live {@link Inventory} or {@link ItemStack}.
+ * Blobs are only materialized when a player actually views the share, and the total size of all
+ * blobs is capped by evicting the oldest ones.
+ */
+public class CompactSharedDisplayStorage {
+
+    private static final String MAP_CATEGORY = "MAP";
+    private static final int ENCODING_SCHEME = 2;
+
+    private final Cache<ValuePairs<String, String>, StoredDisplay> displays;
+    private final boolean offHeap;
+    private final long timeout;
+
+    public CompactSharedDisplayStorage(long timeout, boolean offHeap, long maximumBytes) {
+        this.displays = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeout, TimeUnit.MILLISECONDS)
+                .maximumWeight(maximumBytes)
+                .weigher((ValuePairs<String, String> key, StoredDisplay value) -> value.size())
+                .build();
+        this.offHeap = offHeap;
+        this.timeout = timeout;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public long size() {
+        return displays.size();
+    }
+
+    public boolean containsInventory(SharedType type, String hash) {
+        return displays.getIfPresent(new ValuePairs<>(type.name(), hash)) != null;
+    }
+
+    public boolean containsMap(String hash) {
+        return displays.getIfPresent(new ValuePairs<>(MAP_CATEGORY, hash)) != null;
+    }
+
+    public void storeInventory(SharedType type, String hash, String title, Inventory inventory) throws IOException {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTypeIO.writeInventory(out, ENCODING_SCHEME, title, inventory, StandardCharsets.UTF_8);
+        displays.put(new ValuePairs<>(type.name(), hash), new StoredDisplay(out.toByteArray(), offHeap, System.currentTimeMillis() + timeout));
+    }
+
+    public void storeMap(String hash, ItemStack item) throws IOException {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTypeIO.writeItemStack(out, ENCODING_SCHEME, item, StandardCharsets.UTF_8);
+        displays.put(new ValuePairs<>(MAP_CATEGORY, hash), new StoredDisplay(out.toByteArray(), offHeap, System.currentTimeMillis() + timeout));
+    }
+
+    /**
+     * Removes the stored inventory and deserializes it, the caller is responsible for keeping the
+     * materialized inventory until the time the share was originally due to expire.
+     *
+     * @return The materialized inventory, or null if it is not stored here or has already expired
+     */
+    public MaterializedDisplay<Inventory> materializeInventory(SharedType type, String hash) throws IOException {
+        StoredDisplay stored = displays.asMap().remove(new ValuePairs<>(type.name(), hash));
+        if (stored == null || stored.isExpired()) {
+            return null;
+        }
+        Inventory inventory = DataTypeIO.readInventory(ByteStreams.newDataInput(stored.getBytes()), StandardCharsets.UTF_8, ICInventoryHolder.INSTANCE);
+        return new MaterializedDisplay<>(inventory, stored.getExpireAt());
+    }
+
+    /**
+     * Removes the stored map and deserializes it, the caller is responsible for keeping the
+     * materialized item until the time the share was originally due to expire.
+     *
+     * @return The materialized item, or null if it is not stored here or has already expired
+     */
+    public MaterializedDisplay<ItemStack> materializeMap(String hash) throws IOException {
+        StoredDisplay stored = displays.asMap().remove(new ValuePairs<>(MAP_CATEGORY, hash));
+        if (stored == null || stored.isExpired()) {
+            return null;
+        }
+        ItemStack item = DataTypeIO.readItemStack(ByteStreams.newDataInput(stored.getBytes()), StandardCharsets.UTF_8);
+        return new MaterializedDisplay<>(item, stored.getExpireAt());
+    }
+
+    /**
+     * @return The hashes of all inventories of the given type that are currently stored here
+     */
+    public List<String> getInventoryHashes(SharedType type) {
+        return getHashes(type.name());
+    }
+
+    /**
+     * @return The hashes of all maps that are currently stored here
+     */
+    public List<String> getMapHashes() {
+        return getHashes(MAP_CATEGORY);
+    }
+
+    private List<String> getHashes(String category) {
+        List<String> hashes = new ArrayList<>();
+        for (ValuePairs<String, String> key : displays.asMap().keySet()) {
+            if (key.getFirst().equals(category)) {
+                hashes.add(key.getSecond());
+            }
+        }
+        return hashes;
+    }
+
+    public void clear() {
+        displays.invalidateAll();
+    }
+
+    private static class StoredDisplay {
+
+        private final byte[] heap;
+        private final ByteBuffer direct;
+        private final int size;
+        private final long expireAt;
+
+        private StoredDisplay(byte[] bytes, boolean offHeap, long expireAt) {
+            if (offHeap) {
+                this.heap = null;
+                this.direct = ByteBuffer.allocateDirect(bytes.length);
+                this.direct.put(bytes);
+                this.direct.flip();
+            } else {
+                this.heap = bytes;
+                this.direct = null;
+            }
+            this.size = bytes.length;
+            this.expireAt = expireAt;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private byte[] getBytes() {
+            if (heap != null) {
+                return heap;
+            }
+            byte[] bytes = new byte[size];
+            direct.duplicate().get(bytes);
+            return bytes;
+        }
+
+        private long getExpireAt() {
+            return expireAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expireAt;
+        }
+
+    }
+
+    public static class MaterializedDisplay<T> {
+
+        private final T value;
+        private final long expireAt;
+
+        private MaterializedDisplay(T value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return The epoch millisecond at which the share expires
+         */
+        public long getExpireAt() {
+            return expireAt;
+        }
+
+    }
+
+}
@@ -20,34 +20,64 @@
 
 package com.loohp.interactivechat.objectholders;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 
+/**
+ * A concurrent map whose entries expire a fixed time after they were last written.
+ * <p>
+ * Each entry is a single node holding its value and deadline. Expired entries are treated as
+ * absent as soon as they are read, and are reclaimed in the background by a timer wheel that is
+ * advanced at most once per wheel tick by whichever thread touches the map, so only the entries
+ * due in the elapsed ticks are visited. An optional maximum size evicts entries in approximately
+ * least recently used order once exceeded. Removal listeners are notified for expired and evicted
+ * entries.
+ */
 public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
     private static final float LOAD_FACTOR = 0.75f;
-
-    private final ConcurrentHashMap<K, V> mapping;
-    private final ConcurrentHashMap<K, Long> insertionTime;
-    private long timeout;
-    private BiPredicate<K, V> removeCondition;
-    private List<BiConsumer<K, V>> expireRemovalListeners;
+    /*
+     * A node is placed in the slot of the tick after the one its deadline falls in, so it is due
+     * by the time that slot is processed. The wheel covers WHEEL_SIZE * WHEEL_TICK (64 seconds),
+     * a node whose deadline lies further ahead is found unexpired when its slot comes round and is
+     * put back into the same slot, so it is revisited once per revolution until it is due.
+     */
+    private static final int WHEEL_SIZE = 64;
+    private static final long WHEEL_TICK = 1000;
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ConcurrentHashMap<K, Node<K, V>> mapping;
+    private final Queue<Node<K, V>>[] wheel;
+    private final ReentrantLock expiryLock;
+    private final ReentrantLock evictionLock;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder expirations;
+    private volatile long timeout;
+    private volatile long maximumSize;
+    private volatile BiPredicate<K, V> removeCondition;
+    private final List<BiConsumer<K, V>> expireRemovalListeners;
+    private volatile long nextExpiryCheck;
+    private long processedTick;
 
     public ConcurrentCacheHashMap(long timeout) {
-        this.timeout = timeout;
-        this.mapping = new ConcurrentHashMap<>();
-        this.insertionTime = new ConcurrentHashMap<>();
-        this.removeCondition = (k, y) -> true;
-        this.expireRemovalListeners = new ArrayList<>();
+        this(timeout, 16);
     }
 
     public ConcurrentCacheHashMap(long timeout, int initialCapacity) {
@@ -63,12 +93,24 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
         this(timeout, initialCapacity, loadFactor, 1);
     }
 
+    @SuppressWarnings("unchecked")
     public ConcurrentCacheHashMap(long timeout, int initialCapacity, float loadFactor, int concurrencyLevel) {
         this.timeout = timeout;
+        this.maximumSize = -1;
         this.mapping = new ConcurrentHashMap<>(initialCapacity, loadFactor, concurrencyLevel);
-        this.insertionTime = new ConcurrentHashMap<>(initialCapacity, loadFactor, concurrencyLevel);
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.expiryLock = new ReentrantLock();
+        this.evictionLock = new ReentrantLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.expirations = new LongAdder();
         this.removeCondition = (k, y) -> true;
-        this.expireRemovalListeners = new ArrayList<>();
+        this.expireRemovalListeners = new CopyOnWriteArrayList<>();
+        this.processedTick = -1;
     }
 
     public void registerRemovalListener(BiConsumer<K, V> expireRemovalListener) {
@@ -100,82 +142,278 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
         setTimeout(timeout);
     }
 
+    /**
+     * @return The maximum number of entries, or a negative number if unbounded
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Set the maximum number of entries, entries are evicted in approximately least recently used
+     * order once it is exceeded. A negative number disables the limit.
+     */
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+        evictIfNeeded();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
     private long now() {
         return System.currentTimeMillis();
     }
 
     public void cleanUp() {
-        mapping.entrySet().forEach(each -> getAndCheckExpire(each.getKey()));
+        expireEntries(now(), true);
+    }
+
+    private Queue<Node<K, V>> slotOf(long tick) {
+        return wheel[(int) (tick & (WHEEL_SIZE - 1))];
     }
 
-    private V getAndCheckExpire(Object key) {
+    private void schedule(Node<K, V> node) {
+        slotOf(node.deadline / WHEEL_TICK + 1).add(node);
+    }
+
+    private void expireEntries(long now, boolean force) {
+        if ((!force && now < nextExpiryCheck) || !expiryLock.tryLock()) {
+            return;
+        }
+        try {
+            long currentTick = now / WHEEL_TICK;
+            long fromTick = processedTick < 0 ? currentTick - WHEEL_SIZE + 1 : Math.max(processedTick + 1, currentTick - WHEEL_SIZE + 1);
+            List<Node<K, V>> pending = new ArrayList<>();
+            for (long tick = fromTick; tick <= currentTick; tick++) {
+                Queue<Node<K, V>> slot = slotOf(tick);
+                Node<K, V> node;
+                while ((node = slot.poll()) != null) {
+                    if (mapping.get(node.key) != node) {
+                        continue;
+                    }
+                    if (node.isExpired(now) && expire(node)) {
+                        continue;
+                    }
+                    pending.add(node);
+                }
+                pending.forEach(each -> schedule(each));
+                pending.clear();
+            }
+            processedTick = currentTick;
+            nextExpiryCheck = (currentTick + 1) * WHEEL_TICK;
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    private boolean expire(Node<K, V> node) {
+        if (!removeCondition.test(node.key, node.value)) {
+            return false;
+        }
+        if (mapping.remove(node.key, node)) {
+            expirations.increment();
+            notifyRemoval(node);
+        }
+        return true;
+    }
+
+    private void notifyRemoval(Node<K, V> node) {
+        expireRemovalListeners.forEach(each -> each.accept(node.key, node.value));
+    }
+
+    private void evictIfNeeded() {
+        long maximumSize = this.maximumSize;
+        if (maximumSize < 0 || mapping.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (mapping.size() > maximumSize) {
+                Node<K, V> node = sampleLeastRecentlyUsed();
+                if (node == null) {
+                    break;
+                }
+                if (mapping.remove(node.key, node)) {
+                    evictions.increment();
+                    notifyRemoval(node);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Picks the least recently used of a few live nodes sampled from the wheel, starting at a random
+     * slot, so that evicting an entry does not require ordering all of them.
+     */
+    private Node<K, V> sampleLeastRecentlyUsed() {
+        int start = ThreadLocalRandom.current().nextInt(WHEEL_SIZE);
+        Node<K, V> candidate = null;
+        int sampled = 0;
+        for (int i = 0; i < WHEEL_SIZE && sampled < EVICTION_SAMPLE_SIZE; i++) {
+            for (Node<K, V> node : slotOf(start + i)) {
+                if (sampled >= EVICTION_SAMPLE_SIZE) {
+                    break;
+                }
+                if (mapping.get(node.key) == node) {
+                    if (candidate == null || node.lastAccess < candidate.lastAccess) {
+                        candidate = node;
+                    }
+                    sampled++;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns the live node mapped to the key, expiring it if it is past its deadline.
+     */
+    private Node<K, V> getLiveNode(Object key, long now) {
         if (key == null) {
             return null;
         }
-        V value = mapping.get(key);
-        Long expireTime = insertionTime.get(key);
-        if (value == null || expireTime == null || (now() > expireTime && removeCondition.test((K) key, value))) {
-            expireRemovalListeners.forEach(each -> each.accept((K) key, value));
-            mapping.remove(key);
-            insertionTime.remove(key);
+        Node<K, V> node = mapping.get(key);
+        if (node != null && node.isExpired(now) && expire(node)) {
             return null;
         }
-        return value;
+        return node;
+    }
+
+    private Node<K, V> newNode(K key, V value, long deadline) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        return new Node<>(key, value, deadline, System.nanoTime());
+    }
+
+    private void afterWrite(Node<K, V> node, long now) {
+        schedule(node);
+        expireEntries(now, false);
+        if (node.isExpired(now)) {
+            expire(node);
+        }
+        evictIfNeeded();
+    }
+
+    List<Entry<K, V>> liveEntries() {
+        long now = now();
+        expireEntries(now, false);
+        List<Entry<K, V>> entries = new ArrayList<>(mapping.size());
+        for (Node<K, V> node : mapping.values()) {
+            if (!node.isExpired(now) || !removeCondition.test(node.key, node.value)) {
+                entries.add(new SimpleImmutableEntry<>(node.key, node.value));
+            }
+        }
+        return entries;
     }
 
     @Override
     public int size() {
-        return mapping.size();
+        long now = now();
+        expireEntries(now, false);
+        int size = mapping.size();
+        // entries due within the current tick wait in the next slot until it is processed
+        for (Node<K, V> node : slotOf(now / WHEEL_TICK + 1)) {
+            if (node.isExpired(now) && mapping.get(node.key) == node && removeCondition.test(node.key, node.value)) {
+                size--;
+            }
+        }
+        return Math.max(0, size);
     }
 
     @Override
     public boolean isEmpty() {
-        return mapping.isEmpty();
+        return size() == 0;
     }
 
     @Override
     public boolean containsKey(Object key) {
-        return getAndCheckExpire(key) != null;
+        return getLiveNode(key, now()) != null;
     }
 
     @Override
     public boolean containsValue(Object value) {
-        Entry<K, V> entry = mapping.entrySet().stream().filter(each -> each.getValue().equals(value)).findFirst().orElse(null);
-        return entry != null && getAndCheckExpire(entry.getKey()) != null;
+        if (value == null) {
+            return false;
+        }
+        long now = now();
+        for (Node<K, V> node : mapping.values()) {
+            if (node.value.equals(value) && getLiveNode(node.key, now) == node) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public V get(Object key) {
-        return getAndCheckExpire(key);
+        long now = now();
+        Node<K, V> node = getLiveNode(key, now);
+        expireEntries(now, false);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (maximumSize >= 0) {
+            node.lastAccess = System.nanoTime();
+        }
+        return node.value;
     }
 
     @Override
     public V put(K key, V value) {
-        V previous = get(key);
-        mapping.put(key, value);
-        insertionTime.put(key, now() + timeout);
-        return previous;
+        long now = now();
+        Node<K, V> node = newNode(key, value, now + timeout);
+        Node<K, V> previous = mapping.put(key, node);
+        V previousValue = null;
+        if (previous != null) {
+            if (previous.isExpired(now) && removeCondition.test(previous.key, previous.value)) {
+                expirations.increment();
+                notifyRemoval(previous);
+            } else {
+                previousValue = previous.value;
+            }
+        }
+        afterWrite(node, now);
+        return previousValue;
     }
 
     @Override
     public V remove(Object key) {
-        V previous = get(key);
-        if (previous != null) {
-            mapping.remove(key);
-            insertionTime.remove(key);
+        Node<K, V> node = getLiveNode(key, now());
+        if (node != null && mapping.remove(key, node)) {
+            return node.value;
         }
         return null;
     }
 
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
-        m.entrySet().stream().forEach(each -> put(each.getKey(), each.getValue()));
+        m.forEach((k, v) -> put(k, v));
     }
 
     @Override
     public void clear() {
         mapping.clear();
-        insertionTime.clear();
+        for (Queue<Node<K, V>> slot : wheel) {
+            slot.clear();
+        }
     }
 
     @Override
@@ -195,44 +433,117 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
     @Override
     public V putIfAbsent(K key, V value) {
-        V previous = get(key);
-        if (previous == null) {
-            mapping.put(key, value);
-            insertionTime.put(key, now() + timeout);
+        return putIfAbsent(key, value, now() + timeout);
+    }
+
+    /**
+     * Same as {@link #putIfAbsent(Object, Object)}, but the entry expires at the given time instead of after the timeout
+     *
+     * @param expireAt the epoch millisecond at which the entry expires
+     */
+    public V putIfAbsent(K key, V value, long expireAt) {
+        long now = now();
+        Node<K, V> node = newNode(key, value, expireAt);
+        while (true) {
+            Node<K, V> previous = getLiveNode(key, now);
+            if (previous != null) {
+                return previous.value;
+            }
+            if (mapping.putIfAbsent(key, node) == null) {
+                afterWrite(node, now);
+                return null;
+            }
         }
-        return previous;
     }
 
     @Override
     public boolean remove(Object key, Object value) {
-        V previous = get(key);
-        if (previous != null && previous.equals(value)) {
-            mapping.remove(key);
-            insertionTime.remove(key);
-            return true;
-        }
-        return false;
+        Node<K, V> node = getLiveNode(key, now());
+        return node != null && node.value.equals(value) && mapping.remove(key, node);
     }
 
     @Override
     public boolean replace(K key, V oldValue, V newValue) {
-        V previous = get(key);
-        if (previous != null && previous.equals(oldValue)) {
-            mapping.put(key, newValue);
-            insertionTime.put(key, now() + timeout);
-            return true;
+        long now = now();
+        Node<K, V> previous = getLiveNode(key, now);
+        if (previous != null && previous.value.equals(oldValue)) {
+            Node<K, V> node = newNode(key, newValue, now + timeout);
+            if (mapping.replace(key, previous, node)) {
+                afterWrite(node, now);
+                return true;
+            }
         }
         return false;
     }
 
     @Override
     public V replace(K key, V value) {
-        V previous = get(key);
-        if (previous != null) {
-            mapping.put(key, value);
-            insertionTime.put(key, now() + timeout);
+        long now = now();
+        Node<K, V> node = newNode(key, value, now + timeout);
+        while (true) {
+            Node<K, V> previous = getLiveNode(key, now);
+            if (previous == null) {
+                return null;
+            }
+            if (mapping.replace(key, previous, node)) {
+                afterWrite(node, now);
+                return previous.value;
+            }
+        }
+    }
+
+    private static class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long deadline;
+        private volatile long lastAccess;
+
+        private Node(K key, V value, long deadline, long lastAccess) {
+            this.key = key;
+            this.value = value;
+            this.deadline = deadline;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isExpired(long now) {
+            return now > deadline;
+        }
+
+    }
+
+    private abstract static class SnapshotIterator<K, V, T> implements Iterator<T> {
+
+        private final ConcurrentCacheHashMap<K, V> backingMap;
+        private final Iterator<Entry<K, V>> itr;
+        private Entry<K, V> current;
+
+        private SnapshotIterator(ConcurrentCacheHashMap<K, V> backingMap) {
+            this.backingMap = backingMap;
+            this.itr = backingMap.liveEntries().iterator();
+        }
+
+        protected abstract T map(Entry<K, V> entry);
+
+        @Override
+        public boolean hasNext() {
+            return itr.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return map(current = itr.next());
         }
-        return previous;
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            backingMap.remove(current.getKey(), current.getValue());
+            current = null;
+        }
+
     }
 
     public static class ConcurrentCacheHashMapKeySet<K, V> implements Set<K> {
@@ -260,39 +571,24 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public Iterator<K> iterator() {
-            backingMap.cleanUp();
-            return new Iterator<K>() {
-
-                private final Iterator<K> itr = backingMap.mapping.keySet().iterator();
-                private K current;
-
+            return new SnapshotIterator<K, V, K>(backingMap) {
                 @Override
-                public boolean hasNext() {
-                    return itr.hasNext();
-                }
-
-                @Override
-                public K next() {
-                    return current = itr.next();
-                }
-
-                @Override
-                public void remove() {
-                    backingMap.remove(current);
+                protected K map(Entry<K, V> entry) {
+                    return entry.getKey();
                 }
             };
         }
 
         @Override
         public Object[] toArray() {
-            backingMap.cleanUp();
-            return backingMap.mapping.keySet().toArray();
+            return backingMap.liveEntries().stream().map(each -> each.getKey()).toArray();
         }
 
         @Override
         public <T> T[] toArray(T[] a) {
-            backingMap.cleanUp();
-            return backingMap.mapping.keySet().toArray(a);
+            List<K> keys = new ArrayList<>();
+            backingMap.liveEntries().forEach(each -> keys.add(each.getKey()));
+            return keys.toArray(a);
         }
 
         @Override
@@ -307,8 +603,7 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public boolean containsAll(Collection<?> c) {
-            backingMap.cleanUp();
-            return backingMap.mapping.keySet().containsAll(c);
+            return c.stream().allMatch(each -> backingMap.containsKey(each));
         }
 
         @Override
@@ -318,12 +613,24 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public boolean retainAll(Collection<?> c) {
-            return backingMap.mapping.entrySet().stream().filter(each -> !c.contains(each.getKey())).map(each -> backingMap.remove(each.getKey(), each.getValue())).anyMatch(each -> each != null);
+            boolean changed = false;
+            for (Entry<K, V> entry : backingMap.liveEntries()) {
+                if (!c.contains(entry.getKey()) && backingMap.remove(entry.getKey(), entry.getValue())) {
+                    changed = true;
+                }
+            }
+            return changed;
         }
 
         @Override
         public boolean removeAll(Collection<?> c) {
-            return c.stream().map(each -> backingMap.remove(each)).anyMatch(each -> each != null);
+            boolean changed = false;
+            for (Object each : c) {
+                if (backingMap.remove(each) != null) {
+                    changed = true;
+                }
+            }
+            return changed;
         }
 
         @Override
@@ -358,39 +665,24 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public Iterator<V> iterator() {
-            backingMap.cleanUp();
-            return new Iterator<V>() {
-
-                private final Iterator<Entry<K, V>> itr = backingMap.mapping.entrySet().iterator();
-                private Entry<K, V> current;
-
+            return new SnapshotIterator<K, V, V>(backingMap) {
                 @Override
-                public boolean hasNext() {
-                    return itr.hasNext();
-                }
-
-                @Override
-                public V next() {
-                    return (current = itr.next()).getValue();
-                }
-
-                @Override
-                public void remove() {
-                    backingMap.remove(current.getKey());
+                protected V map(Entry<K, V> entry) {
+                    return entry.getValue();
                 }
             };
         }
 
         @Override
         public Object[] toArray() {
-            backingMap.cleanUp();
-            return backingMap.mapping.values().toArray();
+            return backingMap.liveEntries().stream().map(each -> each.getValue()).toArray();
         }
 
         @Override
         public <T> T[] toArray(T[] a) {
-            backingMap.cleanUp();
-            return backingMap.mapping.values().toArray(a);
+            List<V> values = new ArrayList<>();
+            backingMap.liveEntries().forEach(each -> values.add(each.getValue()));
+            return values.toArray(a);
         }
 
         @Override
@@ -400,17 +692,17 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public boolean remove(Object o) {
-            Optional<Entry<K, V>> opt = backingMap.mapping.entrySet().stream().filter(each -> each.getValue().equals(o)).findFirst();
-            if (opt.isPresent()) {
-                return backingMap.remove(opt.get().getKey(), opt.get().getValue());
+            for (Entry<K, V> entry : backingMap.liveEntries()) {
+                if (entry.getValue().equals(o)) {
+                    return backingMap.remove(entry.getKey(), entry.getValue());
+                }
             }
             return false;
         }
 
         @Override
         public boolean containsAll(Collection<?> c) {
-            backingMap.cleanUp();
-            return backingMap.mapping.values().containsAll(c);
+            return c.stream().allMatch(each -> backingMap.containsValue(each));
         }
 
         @Override
@@ -420,12 +712,24 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public boolean removeAll(Collection<?> c) {
-            return c.stream().map(each -> remove(each)).anyMatch(each -> each);
+            boolean changed = false;
+            for (Entry<K, V> entry : backingMap.liveEntries()) {
+                if (c.contains(entry.getValue()) && backingMap.remove(entry.getKey(), entry.getValue())) {
+                    changed = true;
+                }
+            }
+            return changed;
         }
 
         @Override
         public boolean retainAll(Collection<?> c) {
-            return backingMap.mapping.entrySet().stream().filter(each -> !c.contains(each.getValue()) && backingMap.containsKey(each.getKey())).map(each -> backingMap.remove(each.getKey(), each.getValue())).anyMatch(each -> each);
+            boolean changed = false;
+            for (Entry<K, V> entry : backingMap.liveEntries()) {
+                if (!c.contains(entry.getValue()) && backingMap.remove(entry.getKey(), entry.getValue())) {
+                    changed = true;
+                }
+            }
+            return changed;
         }
 
         @Override
@@ -456,46 +760,31 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
         @Override
         public boolean contains(Object o) {
             if (o instanceof Entry) {
-                return backingMap.containsKey(((Entry<?, ?>) o).getKey());
+                Entry<?, ?> entry = (Entry<?, ?>) o;
+                V value = backingMap.get(entry.getKey());
+                return value != null && value.equals(entry.getValue());
             }
             return false;
         }
 
         @Override
         public Iterator<Entry<K, V>> iterator() {
-            backingMap.cleanUp();
-            return new Iterator<Entry<K, V>>() {
-
-                private final Iterator<Entry<K, V>> itr = backingMap.mapping.entrySet().iterator();
-                private Entry<K, V> current;
-
+            return new SnapshotIterator<K, V, Entry<K, V>>(backingMap) {
                 @Override
-                public boolean hasNext() {
-                    return itr.hasNext();
-                }
-
-                @Override
-                public Entry<K, V> next() {
-                    return current = itr.next();
-                }
-
-                @Override
-                public void remove() {
-                    backingMap.remove(current.getKey());
+                protected Entry<K, V> map(Entry<K, V> entry) {
+                    return entry;
                 }
             };
         }
 
         @Override
         public Object[] toArray() {
-            backingMap.cleanUp();
-            return backingMap.mapping.entrySet().toArray();
+            return backingMap.liveEntries().toArray();
         }
 
         @Override
         public <T> T[] toArray(T[] a) {
-            backingMap.cleanUp();
-            return backingMap.mapping.entrySet().toArray(a);
+            return backingMap.liveEntries().toArray(a);
         }
 
         @Override
@@ -513,13 +802,7 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public boolean containsAll(Collection<?> c) {
-            backingMap.cleanUp();
-            return c.stream().map(each -> {
-                if (each instanceof Entry) {
-                    return backingMap.containsKey(((Entry<?, ?>) each).getKey());
-                }
-                return false;
-            }).allMatch(each -> each);
+            return c.stream().allMatch(each -> contains(each));
         }
 
         @Override
@@ -529,18 +812,29 @@ public class ConcurrentCacheHashMap<K, V> implements ConcurrentMap<K, V> {
 
         @Override
         public boolean retainAll(Collection<?> c) {
-            backingMap.cleanUp();
-            return backingMap.mapping.entrySet().stream().filter(each -> !c.contains(each) && backingMap.containsKey(each.getKey())).map(each -> backingMap.remove(each.getKey(), each.getValue())).anyMatch(each -> each);
+            boolean changed = false;
+            for (Entry<K, V> entry : backingMap.liveEntries()) {
+                if (!c.contains(entry) && backingMap.remove(entry.getKey(), entry.getValue())) {
+                    changed = true;
+                }
+            }
+            return changed;
         }
 
         @Override
         public boolean removeAll(Collection<?> c) {
-            return c.stream().map(each -> remove(each)).anyMatch(each -> each);
+            boolean changed = false;
+            for (Object each : c) {
+                if (remove(each)) {
+                    changed = true;
+                }
+            }
+            return changed;
         }
 
         @Override
         public void clear() {
-            backingMap.cleanUp();
+            backingMap.clear();
         }
 
     }
@@ -29,6 +29,7 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MainHand;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -182,6 +183,10 @@ public class ICPlayer extends OfflineICPlayer implements IICPlayer {
         remoteInventory = inventory;
     }
 
+    public Inventory getRemoteInventory() {
+        return remoteInventory;
+    }
+
     @Override
     public ItemStack getMainHandItem() {
         return getInventory().getItem(getSelectedSlot());
@@ -202,13 +207,23 @@ public class ICPlayer extends OfflineICPlayer implements IICPlayer {
         remoteEnderchest = enderchest;
     }
 
+    public Inventory getRemoteEnderChest() {
+        return remoteEnderchest;
+    }
+
+    public EntityEquipment getRemoteEquipment() {
+        return remoteEquipment;
+    }
+
     @Override
     public Set<String> getNicknames() {
-        Set<String> nicknames = new HashSet<>(InteractiveChat.nicknameManager.getNicknames(uuid));
-        if (!isLocal()) {
-            nicknames.addAll(remoteNicknames);
+        Set<String> nicknames = InteractiveChat.nicknameManager.getNicknames(uuid);
+        if (isLocal() || remoteNicknames.isEmpty()) {
+            return nicknames;
         }
-        return nicknames;
+        nicknames = new HashSet<>(nicknames);
+        nicknames.addAll(remoteNicknames);
+        return Collections.unmodifiableSet(nicknames);
     }
 
     @Override
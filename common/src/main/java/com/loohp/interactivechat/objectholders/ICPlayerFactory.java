@@ -20,6 +20,9 @@
 
 package com.loohp.interactivechat.objectholders;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.api.events.ICPlayerJoinEvent;
 import com.loohp.interactivechat.api.events.ICPlayerQuitEvent;
@@ -27,7 +30,7 @@ import com.loohp.interactivechat.api.events.OfflineICPlayerCreationEvent;
 import com.loohp.interactivechat.api.events.OfflineICPlayerUpdateEvent;
 import com.loohp.interactivechat.nms.NMS;
 import com.loohp.interactivechat.utils.InventoryUtils;
-import com.loohp.platformscheduler.Scheduler;
+import com.loohp.interactivechat.utils.OfflinePlayerDataReader;
 import net.craftersland.data.bridge.PD;
 import net.craftersland.data.bridge.objects.DatabaseEnderchestData;
 import net.craftersland.data.bridge.objects.DatabaseExperienceData;
@@ -38,7 +41,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
-import java.lang.ref.WeakReference;
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -48,7 +51,14 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class ICPlayerFactory {
 
@@ -56,13 +66,12 @@ public class ICPlayerFactory {
     private static final Set<UUID> REMOTE_UUID = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private static final Map<UUID, ICPlayer> ICPLAYERS = new ConcurrentHashMap<>();
     private static final Map<UUID, ICPlayer> LOGGING_IN = new ConcurrentHashMap<>();
-    private static final Map<UUID, WeakReference<OfflineICPlayer>> REFERENCED_OFFLINE_PLAYERS = new ConcurrentHashMap<>();
+    private static final Cache<UUID, OfflineICPlayer> REFERENCED_OFFLINE_PLAYERS = CacheBuilder.newBuilder().weakValues().build();
+    private static final Cache<UUID, OfflineICPlayer> LOADED_OFFLINE_PLAYERS = CacheBuilder.newBuilder().softValues().maximumSize(256).expireAfterWrite(1, TimeUnit.MINUTES).build();
+    private static final Map<UUID, CompletableFuture<OfflineICPlayer>> LOADING_OFFLINE_PLAYERS = new ConcurrentHashMap<>();
+    private static final ExecutorService OFFLINE_PLAYER_LOADER = Executors.newFixedThreadPool(2, new ThreadFactoryBuilder().setNameFormat("InteractiveChat Offline Player Loading Thread #%d").setDaemon(true).build());
     private static final Unsafe UNSAFE = new Unsafe();
 
-    static {
-        Scheduler.runTaskTimerAsynchronously(InteractiveChat.plugin, () -> REFERENCED_OFFLINE_PLAYERS.values().removeIf(each -> each.get() == null), 12000, 12000);
-    }
-
     public static RemotePlayerCreateResult createOrUpdateRemoteICPlayer(String server, String name, UUID uuid, boolean rightHanded, int selectedSlot, int experienceLevel, Inventory inventory, Inventory enderchest, boolean vanished) {
         synchronized (LOCK) {
             ICPlayer icplayer = getICPlayer(uuid);
@@ -187,6 +196,9 @@ public class ICPlayerFactory {
         return getOfflineICPlayer(offlinePlayer.getUniqueId());
     }
 
+    /**
+     * Load the offline player on the calling thread, joining any load of the same player that is already in progress
+     */
     public static OfflineICPlayer getOfflineICPlayer(UUID uuid) {
         if (uuid == null) {
             return null;
@@ -195,6 +207,65 @@ public class ICPlayerFactory {
         if (icplayer != null) {
             return icplayer;
         }
+        CompletableFuture<OfflineICPlayer> future = new CompletableFuture<>();
+        CompletableFuture<OfflineICPlayer> existing = LOADING_OFFLINE_PLAYERS.putIfAbsent(uuid, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException | CancellationException e) {
+                return null;
+            }
+        }
+        return completeLoad(uuid, future);
+    }
+
+    /**
+     * Get the offline player without blocking, recently loaded players are returned from cache and
+     * concurrent requests for the same player share a single load on the offline player loading threads
+     */
+    public static CompletableFuture<OfflineICPlayer> getOfflineICPlayerAsync(UUID uuid) {
+        if (uuid == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ICPlayer icplayer = getICPlayer(uuid);
+        if (icplayer != null) {
+            return CompletableFuture.completedFuture(icplayer);
+        }
+        OfflineICPlayer loaded = LOADED_OFFLINE_PLAYERS.getIfPresent(uuid);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+        CompletableFuture<OfflineICPlayer> future = new CompletableFuture<>();
+        CompletableFuture<OfflineICPlayer> existing = LOADING_OFFLINE_PLAYERS.putIfAbsent(uuid, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            OFFLINE_PLAYER_LOADER.execute(() -> completeLoad(uuid, future));
+        } catch (RejectedExecutionException e) {
+            LOADING_OFFLINE_PLAYERS.remove(uuid, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static OfflineICPlayer completeLoad(UUID uuid, CompletableFuture<OfflineICPlayer> future) {
+        try {
+            OfflineICPlayer offlineICPlayer = loadOfflineICPlayer(uuid);
+            if (offlineICPlayer != null) {
+                LOADED_OFFLINE_PLAYERS.put(uuid, offlineICPlayer);
+            }
+            future.complete(offlineICPlayer);
+            return offlineICPlayer;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            LOADING_OFFLINE_PLAYERS.remove(uuid, future);
+        }
+    }
+
+    private static OfflineICPlayer loadOfflineICPlayer(UUID uuid) {
         boolean mysqlPDBInventorySync = false;
         boolean mysqlPDBArmorSync = false;
         boolean mysqlPDBEnderChestSync = false;
@@ -227,7 +298,18 @@ public class ICPlayerFactory {
             Inventory inventory = Bukkit.createInventory(ICInventoryHolder.INSTANCE, 45);
             Inventory enderchest = Bukkit.createInventory(ICInventoryHolder.INSTANCE, InventoryUtils.getDefaultEnderChestSize());
 
-            InternalOfflinePlayerInfo info = NMS.getInstance().loadOfflinePlayer(uuid, inventory, enderchest);
+            InternalOfflinePlayerInfo info = null;
+            File playerDataFile = OfflinePlayerDataReader.getPlayerDataFile(uuid);
+            if (playerDataFile != null && OfflinePlayerDataReader.isSupported()) {
+                try {
+                    info = OfflinePlayerDataReader.read(playerDataFile, inventory, enderchest);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            if (info == null && (playerDataFile == null || playerDataFile.exists())) {
+                info = NMS.getInstance().loadOfflinePlayer(uuid, inventory, enderchest);
+            }
             if (info != null) {
                 selectedSlot = info.getSelectedSlot();
                 rightHanded = info.isRightHanded();
@@ -270,7 +352,7 @@ public class ICPlayerFactory {
                 offlineICPlayer = new OfflineICPlayer(uuid, playerName, selectedSlot, rightHanded, xpLevel, inventory, enderchest);
                 OfflineICPlayerCreationEvent event = new OfflineICPlayerCreationEvent(offlineICPlayer);
                 Bukkit.getPluginManager().callEvent(event);
-                REFERENCED_OFFLINE_PLAYERS.put(uuid, new WeakReference<>(offlineICPlayer));
+                REFERENCED_OFFLINE_PLAYERS.put(uuid, offlineICPlayer);
             } else {
                 offlineICPlayer.setName(playerName);
                 offlineICPlayer.setSelectedSlot(selectedSlot);
@@ -294,11 +376,11 @@ public class ICPlayerFactory {
     }
 
     private static OfflineICPlayer getReferenced(UUID uuid) {
-        WeakReference<OfflineICPlayer> ref = REFERENCED_OFFLINE_PLAYERS.get(uuid);
-        if (ref == null) {
-            return null;
-        }
-        return ref.get();
+        return REFERENCED_OFFLINE_PLAYERS.getIfPresent(uuid);
+    }
+
+    public static void shutdownOfflinePlayerLoader() {
+        OFFLINE_PLAYER_LOADER.shutdown();
     }
 
     @Deprecated
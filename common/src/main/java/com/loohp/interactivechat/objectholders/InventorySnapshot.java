@@ -0,0 +1,112 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.interactivechat.objectholders;
+
+import com.loohp.interactivechat.utils.HashUtils;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * An immutable copy of a player's inventory or ender chest, taken once when an
+ * [inv] or [ender] message is sent and shared by every receiver of that message.
+ */
+public class InventorySnapshot {
+
+    public static InventorySnapshot inventory(ICPlayer player, String title) throws Exception {
+        boolean rightHanded = player.isRightHanded();
+        int selectedSlot = player.getSelectedSlot();
+        int level = player.getExperienceLevel();
+        Inventory inventory = player.getInventory();
+        String hash = HashUtils.createFingerprint(rightHanded, selectedSlot, level, title, inventory);
+        return new InventorySnapshot(player.getUniqueId(), title, hash, rightHanded, selectedSlot, level, copyContents(inventory));
+    }
+
+    public static InventorySnapshot enderChest(ICPlayer player, String title) throws Exception {
+        Inventory inventory = player.getEnderChest();
+        String hash = HashUtils.createFingerprint(title, inventory);
+        return new InventorySnapshot(player.getUniqueId(), title, hash, player.isRightHanded(), player.getSelectedSlot(), player.getExperienceLevel(), copyContents(inventory));
+    }
+
+    private static ItemStack[] copyContents(Inventory inventory) {
+        ItemStack[] contents = new ItemStack[inventory.getSize()];
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack item = inventory.getItem(i);
+            contents[i] = item == null ? null : item.clone();
+        }
+        return contents;
+    }
+
+    private final UUID owner;
+    private final String title;
+    private final String hash;
+    private final boolean rightHanded;
+    private final int selectedSlot;
+    private final int level;
+    private final ItemStack[] contents;
+
+    private InventorySnapshot(UUID owner, String title, String hash, boolean rightHanded, int selectedSlot, int level, ItemStack[] contents) {
+        this.owner = owner;
+        this.title = title;
+        this.hash = hash;
+        this.rightHanded = rightHanded;
+        this.selectedSlot = selectedSlot;
+        this.level = level;
+        this.contents = contents;
+    }
+
+    public UUID getOwner() {
+        return owner;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public boolean isRightHanded() {
+        return rightHanded;
+    }
+
+    public int getSelectedSlot() {
+        return selectedSlot;
+    }
+
+    public int getExperienceLevel() {
+        return level;
+    }
+
+    public int getSize() {
+        return contents.length;
+    }
+
+    /**
+     * Returns a copy of the item in the given slot, so the snapshot itself is never modified.
+     */
+    public ItemStack getItem(int slot) {
+        ItemStack item = contents[slot];
+        return item == null ? null : item.clone();
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.interactivechat.objectholders;
+
+import com.loohp.interactivechat.utils.ComponentUtils;
+import com.loohp.interactivechat.utils.PlaceholderParser;
+import com.loohp.interactivechat.utils.SoundUtils;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.bossbar.BossBar.Color;
+import net.kyori.adventure.bossbar.BossBar.Overlay;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Sound;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public class MentionEffectProfile {
+
+    public static MentionEffectProfile compile(Component title, Component subtitle, Component actionbar, Component toast, Component bossBarText, String bossBarColorName, String bossBarOverlayName, String soundSettings) {
+        Color bossBarColor;
+        try {
+            bossBarColor = Color.valueOf(bossBarColorName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Invalid boss bar color \"" + bossBarColorName + "\" in the config! (Chat.MentionBossBar.Color)");
+            bossBarColor = Color.PINK;
+        }
+        Overlay bossBarOverlay;
+        try {
+            bossBarOverlay = Overlay.valueOf(bossBarOverlayName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Invalid boss bar overlay \"" + bossBarOverlayName + "\" in the config! (Chat.MentionBossBar.Overlay)");
+            bossBarOverlay = Overlay.PROGRESS;
+        }
+
+        String settings = soundSettings;
+        Either<Sound, String> sound;
+        float volume = 3.0F;
+        float pitch = 1.0F;
+
+        String[] settingsArgs = settings.split(":");
+        if (settingsArgs.length >= 3) {
+            settings = String.join("", Arrays.copyOfRange(settingsArgs, 0, settingsArgs.length - 2)).toUpperCase();
+            try {
+                volume = Float.parseFloat(settingsArgs[settingsArgs.length - 2]);
+            } catch (Exception ignore) {
+            }
+            try {
+                pitch = Float.parseFloat(settingsArgs[settingsArgs.length - 1]);
+            } catch (Exception ignore) {
+            }
+        } else {
+            settings = settings.toUpperCase();
+        }
+
+        Sound bukkitSound = SoundUtils.parseSound(settings);
+        if (bukkitSound == null) {
+            settings = settings.toLowerCase();
+            if (!settings.contains(":")) {
+                settings = "minecraft:" + settings;
+            }
+            sound = Either.right(settings);
+        } else {
+            sound = Either.left(bukkitSound);
+        }
+
+        return new MentionEffectProfile(new Template(title), new Template(subtitle), new Template(actionbar), new Template(toast), new Template(bossBarText), bossBarColor, bossBarOverlay, sound, volume, pitch);
+    }
+
+    private final Template title;
+    private final Template subtitle;
+    private final Template actionbar;
+    private final Template toast;
+    private final Template bossBarText;
+    private final Color bossBarColor;
+    private final Overlay bossBarOverlay;
+    private final Either<Sound, String> sound;
+    private final float volume;
+    private final float pitch;
+
+    private MentionEffectProfile(Template title, Template subtitle, Template actionbar, Template toast, Template bossBarText, Color bossBarColor, Overlay bossBarOverlay, Either<Sound, String> sound, float volume, float pitch) {
+        this.title = title;
+        this.subtitle = subtitle;
+        this.actionbar = actionbar;
+        this.toast = toast;
+        this.bossBarText = bossBarText;
+        this.bossBarColor = bossBarColor;
+        this.bossBarOverlay = bossBarOverlay;
+        this.sound = sound;
+        this.volume = volume;
+        this.pitch = pitch;
+    }
+
+    public Component getTitle(OfflineICPlayer sender) {
+        return title.resolve(sender);
+    }
+
+    public Component getSubtitle(OfflineICPlayer sender) {
+        return subtitle.resolve(sender);
+    }
+
+    public Component getActionbar(OfflineICPlayer sender) {
+        return actionbar.resolve(sender);
+    }
+
+    public Component getToast(OfflineICPlayer sender) {
+        return toast.resolve(sender);
+    }
+
+    public Optional<BossBar> getBossBar(OfflineICPlayer sender) {
+        if (bossBarText.isAlwaysEmpty()) {
+            return Optional.empty();
+        }
+        Component text = bossBarText.resolve(sender);
+        if (ComponentUtils.isEmpty(text)) {
+            return Optional.empty();
+        }
+        return Optional.of(BossBar.bossBar(text, 1, bossBarColor, bossBarOverlay));
+    }
+
+    public Either<Sound, String> getSound() {
+        return sound;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    public float getPitch() {
+        return pitch;
+    }
+
+    private static class Template {
+
+        private final Component component;
+        private final boolean hasPlaceholders;
+        private final boolean alwaysEmpty;
+
+        private Template(Component component) {
+            this.component = component;
+            this.hasPlaceholders = PlaceholderParser.containsPlaceholders(component);
+            this.alwaysEmpty = !hasPlaceholders && ComponentUtils.isEmpty(component);
+        }
+
+        private Component resolve(OfflineICPlayer sender) {
+            return hasPlaceholders ? PlaceholderParser.parse(sender, component) : component;
+        }
+
+        private boolean isAlwaysEmpty() {
+            return alwaysEmpty;
+        }
+
+    }
+
+}
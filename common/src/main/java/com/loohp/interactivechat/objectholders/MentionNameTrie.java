@@ -0,0 +1,165 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * An immutable trie of lowercase mention names, used to find the first <code>prefix + name</code>
+ * in a message with one scan instead of one case-insensitive search per name.
+ */
+public class MentionNameTrie {
+
+    public static final MentionNameTrie EMPTY = new MentionNameTrie(Collections.emptyList());
+
+    private final Node root;
+
+    public MentionNameTrie(List<MentionName> names) {
+        this.root = new Node();
+        for (MentionName name : names) {
+            String lower = name.getName().toLowerCase();
+            if (lower.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < lower.length(); i++) {
+                node = node.children.computeIfAbsent(lower.charAt(i), k -> new Node());
+            }
+            node.names.add(name);
+        }
+    }
+
+    /**
+     * Finds the earliest occurrence of <code>prefix</code> followed by an accepted name, ignoring
+     * case. The longest name is preferred when several start at the same position.
+     *
+     * @return The match, or null if no accepted name is mentioned
+     */
+    public MentionMatch find(String message, String prefix, Predicate<MentionName> filter) {
+        String lowerMessage = message.toLowerCase();
+        String lowerPrefix = prefix.toLowerCase();
+        int index = lowerMessage.indexOf(lowerPrefix);
+        while (index >= 0) {
+            Node node = root;
+            MentionName found = null;
+            int foundEnd = -1;
+            for (int i = index + lowerPrefix.length(); i < lowerMessage.length(); i++) {
+                node = node.children.get(lowerMessage.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                for (MentionName name : node.names) {
+                    if (filter.test(name)) {
+                        found = name;
+                        foundEnd = i + 1;
+                        break;
+                    }
+                }
+            }
+            if (found != null) {
+                return new MentionMatch(found, index, foundEnd);
+            }
+            index = lowerMessage.indexOf(lowerPrefix, index + 1);
+        }
+        return null;
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<MentionName> names = new ArrayList<>(1);
+
+    }
+
+    public enum MentionType {
+
+        PLAYER, HERE, EVERYONE
+
+    }
+
+    public static class MentionName {
+
+        private final String name;
+        private final UUID uuid;
+        private final MentionType type;
+        private final boolean displayName;
+
+        public MentionName(String name, UUID uuid, MentionType type, boolean displayName) {
+            this.name = name;
+            this.uuid = uuid;
+            this.type = type;
+            this.displayName = displayName;
+        }
+
+        /**
+         * @return The color stripped name with its original case
+         */
+        public String getName() {
+            return name;
+        }
+
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        public MentionType getType() {
+            return type;
+        }
+
+        public boolean isDisplayName() {
+            return displayName;
+        }
+
+    }
+
+    public static class MentionMatch {
+
+        private final MentionName name;
+        private final int start;
+        private final int end;
+
+        private MentionMatch(MentionName name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+
+        public MentionName getName() {
+            return name;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+    }
+
+}
@@ -22,22 +22,27 @@ package com.loohp.interactivechat.objectholders;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * Polls nicknames of the supplied players and publishes them as an immutable snapshot.
+ * Readers never lock or copy, listeners are only called for players whose nicknames changed,
+ * and {@link #getVersion()} only increases when a new snapshot with changes is published.
+ */
 public class NicknameManager implements AutoCloseable {
 
-    private Map<UUID, Set<String>> nicknames;
+    private volatile Map<UUID, Set<String>> nicknames;
+    private volatile long version;
     private Function<UUID, Collection<String>> nicknameFunction;
     private Supplier<Set<UUID>> uuidSupplier;
     private long updatePeriod;
@@ -45,18 +50,17 @@ public class NicknameManager implements AutoCloseable {
 
     private TimerTask timerTask;
     private AtomicBoolean isValid;
-    private ReentrantLock lock;
 
     @SafeVarargs
     public NicknameManager(Function<UUID, Collection<String>> nicknameFunction, Supplier<Set<UUID>> uuidSupplier, long updatePeriod, BiConsumer<UUID, Set<String>>... changeListeners) {
-        this.nicknames = new ConcurrentHashMap<>();
+        this.nicknames = Collections.emptyMap();
+        this.version = 0;
         this.nicknameFunction = nicknameFunction;
         this.uuidSupplier = uuidSupplier;
         this.updatePeriod = updatePeriod;
         this.changeListeners = changeListeners;
 
         this.isValid = new AtomicBoolean(true);
-        this.lock = new ReentrantLock();
         run();
     }
 
@@ -64,26 +68,34 @@ public class NicknameManager implements AutoCloseable {
         timerTask = new TimerTask() {
             @Override
             public void run() {
-                Set<UUID> uuids = uuidSupplier.get();
-                nicknames.entrySet().removeIf(entry -> !uuids.contains(entry.getKey()));
-                for (UUID uuid : uuids) {
-                    Collection<String> newNicknames = new HashSet<>(nicknameFunction.apply(uuid));
-                    Set<String> oldNicknames = nicknames.get(uuid);
-                    if (oldNicknames == null) {
-                        Set<String> addedNicknames = new HashSet<>(newNicknames);
-                        nicknames.put(uuid, addedNicknames);
-                        fireListeners(uuid, addedNicknames);
-                    } else {
-                        lock.lock();
-                        oldNicknames.clear();
-                        oldNicknames.addAll(newNicknames);
-                        lock.unlock();
-                        fireListeners(uuid, oldNicknames);
-                    }
-                }
+                update();
             }
         };
-        new Timer().schedule(timerTask, updatePeriod, updatePeriod);
+        new Timer("InteractiveChat-NicknameManager", true).schedule(timerTask, updatePeriod, updatePeriod);
+    }
+
+    private void update() {
+        Map<UUID, Set<String>> oldSnapshot = nicknames;
+        Map<UUID, Set<String>> newSnapshot = new HashMap<>();
+        Map<UUID, Set<String>> changed = new HashMap<>();
+        for (UUID uuid : uuidSupplier.get()) {
+            Set<String> newNicknames = Collections.unmodifiableSet(new HashSet<>(nicknameFunction.apply(uuid)));
+            Set<String> oldNicknames = oldSnapshot.get(uuid);
+            if (newNicknames.equals(oldNicknames)) {
+                newSnapshot.put(uuid, oldNicknames);
+            } else {
+                newSnapshot.put(uuid, newNicknames);
+                changed.put(uuid, newNicknames);
+            }
+        }
+        if (changed.isEmpty() && newSnapshot.size() == oldSnapshot.size()) {
+            return;
+        }
+        nicknames = Collections.unmodifiableMap(newSnapshot);
+        version++;
+        for (Map.Entry<UUID, Set<String>> entry : changed.entrySet()) {
+            fireListeners(entry.getKey(), entry.getValue());
+        }
     }
 
     private void fireListeners(UUID uuid, Set<String> names) {
@@ -92,15 +104,23 @@ public class NicknameManager implements AutoCloseable {
         }
     }
 
+    /**
+     * @return An unmodifiable set of nicknames of the player from the latest snapshot
+     */
     public Set<String> getNicknames(UUID uuid) {
         Set<String> names = nicknames.get(uuid);
-        if (names == null) {
-            return Collections.emptySet();
-        }
-        lock.lock();
-        names = new HashSet<>(names);
-        lock.unlock();
-        return names;
+        return names == null ? Collections.emptySet() : names;
+    }
+
+    /**
+     * @return An unmodifiable map of all players and their nicknames from the latest snapshot
+     */
+    public Map<UUID, Set<String>> getSnapshot() {
+        return nicknames;
+    }
+
+    public long getVersion() {
+        return version;
     }
 
     @Override
@@ -0,0 +1,217 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.loohp.interactivechat.InteractiveChat;
+import com.loohp.platformscheduler.Scheduler;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches the merged nicknames of all registered nickname providers per player.
+ * Each provider's result is refreshed asynchronously once it is older than that provider's staleness,
+ * and providers can request a refresh when they know a nickname has changed.
+ */
+public class NicknameProviderCache {
+
+    public static final long DEFAULT_STALENESS = 5000;
+
+    private final Map<Plugin, Function<UUID, List<String>>> providers;
+    private final Map<Plugin, Long> staleness;
+    private final Cache<UUID, MergedNicknames> cache;
+    private final Set<ValuePairs<UUID, Plugin>> pendingRefresh;
+
+    public NicknameProviderCache(Map<Plugin, Function<UUID, List<String>>> providers) {
+        this.providers = providers;
+        this.staleness = new ConcurrentHashMap<>();
+        this.cache = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).build();
+        this.pendingRefresh = ConcurrentHashMap.newKeySet();
+    }
+
+    public void setStaleness(Plugin plugin, long staleness) {
+        this.staleness.put(plugin, staleness);
+    }
+
+    public void removeStaleness(Plugin plugin) {
+        this.staleness.remove(plugin);
+    }
+
+    /**
+     * @return An unmodifiable list of the merged nicknames of the player
+     */
+    public List<String> getNicknames(UUID uuid) {
+        MergedNicknames merged = cache.getIfPresent(uuid);
+        if (merged == null) {
+            merged = load(uuid);
+            MergedNicknames existing = cache.asMap().putIfAbsent(uuid, merged);
+            return existing == null ? merged.getNicknames() : existing.getNicknames();
+        }
+        long now = System.currentTimeMillis();
+        if (merged.getRefreshAt() <= now) {
+            for (Entry<Plugin, ProviderNicknames> entry : merged.getProviders().entrySet()) {
+                if (entry.getValue().getFetchedAt() + getStaleness(entry.getKey()) <= now) {
+                    refresh(entry.getKey(), uuid);
+                }
+            }
+        }
+        return merged.getNicknames();
+    }
+
+    /**
+     * Fetch the nicknames from every provider right away, bypassing the staleness of the cached results.
+     * The fresh result replaces the cached one.
+     *
+     * @return An unmodifiable list of the merged nicknames of the player
+     */
+    public List<String> fetchNicknames(UUID uuid) {
+        MergedNicknames merged = load(uuid);
+        cache.put(uuid, merged);
+        return merged.getNicknames();
+    }
+
+    /**
+     * Refresh the nicknames provided by the plugin for the player asynchronously
+     */
+    public void refresh(Plugin plugin, UUID uuid) {
+        if (cache.getIfPresent(uuid) == null) {
+            return;
+        }
+        ValuePairs<UUID, Plugin> key = new ValuePairs<>(uuid, plugin);
+        if (pendingRefresh.add(key)) {
+            Scheduler.runTaskAsynchronously(InteractiveChat.plugin, () -> {
+                pendingRefresh.remove(key);
+                Function<UUID, List<String>> provider = providers.get(plugin);
+                if (provider == null) {
+                    return;
+                }
+                ProviderNicknames nicknames = fetch(plugin, provider, uuid);
+                cache.asMap().computeIfPresent(uuid, (k, merged) -> merged.with(plugin, nicknames));
+            });
+        }
+    }
+
+    public void invalidate(UUID uuid) {
+        cache.invalidate(uuid);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private long getStaleness(Plugin plugin) {
+        Long value = staleness.get(plugin);
+        return value == null ? DEFAULT_STALENESS : value;
+    }
+
+    private MergedNicknames load(UUID uuid) {
+        Map<Plugin, ProviderNicknames> results = new LinkedHashMap<>();
+        for (Entry<Plugin, Function<UUID, List<String>>> entry : providers.entrySet()) {
+            results.put(entry.getKey(), fetch(entry.getKey(), entry.getValue(), uuid));
+        }
+        return new MergedNicknames(results);
+    }
+
+    private ProviderNicknames fetch(Plugin plugin, Function<UUID, List<String>> provider, UUID uuid) {
+        List<String> names = null;
+        try {
+            names = provider.apply(uuid);
+        } catch (Throwable e) {
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] " + plugin.getName() + " " + plugin.getDescription().getVersion() + " threw an error while providing registered nicknames.");
+            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "Unless this is Essentials, please contact that plugin's developer for support");
+            e.printStackTrace();
+        }
+        return new ProviderNicknames(names == null ? Collections.emptyList() : new ArrayList<>(names), System.currentTimeMillis());
+    }
+
+    private class MergedNicknames {
+
+        private final Map<Plugin, ProviderNicknames> providers;
+        private final List<String> nicknames;
+        private final long refreshAt;
+
+        private MergedNicknames(Map<Plugin, ProviderNicknames> providers) {
+            this.providers = providers;
+            List<String> nicknames = new ArrayList<>();
+            long refreshAt = Long.MAX_VALUE;
+            for (Entry<Plugin, ProviderNicknames> entry : providers.entrySet()) {
+                nicknames.addAll(entry.getValue().getNicknames());
+                refreshAt = Math.min(refreshAt, entry.getValue().getFetchedAt() + getStaleness(entry.getKey()));
+            }
+            this.nicknames = Collections.unmodifiableList(nicknames);
+            this.refreshAt = refreshAt;
+        }
+
+        private MergedNicknames with(Plugin plugin, ProviderNicknames nicknames) {
+            Map<Plugin, ProviderNicknames> providers = new LinkedHashMap<>(this.providers);
+            providers.put(plugin, nicknames);
+            return new MergedNicknames(providers);
+        }
+
+        private Map<Plugin, ProviderNicknames> getProviders() {
+            return providers;
+        }
+
+        private List<String> getNicknames() {
+            return nicknames;
+        }
+
+        private long getRefreshAt() {
+            return refreshAt;
+        }
+
+    }
+
+    private static class ProviderNicknames {
+
+        private final List<String> nicknames;
+        private final long fetchedAt;
+
+        private ProviderNicknames(List<String> nicknames, long fetchedAt) {
+            this.nicknames = nicknames;
+            this.fetchedAt = fetchedAt;
+        }
+
+        private List<String> getNicknames() {
+            return nicknames;
+        }
+
+        private long getFetchedAt() {
+            return fetchedAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import com.loohp.interactivechat.InteractiveChat;
+import com.loohp.interactivechat.api.InteractiveChatAPI;
+import com.loohp.interactivechat.api.events.ICPlayerJoinEvent;
+import com.loohp.interactivechat.api.events.ICPlayerQuitEvent;
+import com.loohp.interactivechat.utils.ChatColorUtils;
+import com.loohp.platformscheduler.Scheduler;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A shared view of the names, display names and plugin provided nicknames of all online
+ * {@link ICPlayer}s. Entries are maintained per player on join and quit and re-checked
+ * periodically, and the published lookups are only rebuilt when something changed.
+ * Nicknames are only fetched again when the {@link NicknameManager#getVersion()} moved.
+ */
+public class OnlinePlayerNameIndex implements Listener {
+
+    public static final long REFRESH_INTERVAL = 20;
+
+    private final Map<UUID, PlayerNames> playerNames;
+    private volatile Map<String, UUID> names;
+    private volatile MentionNameTrie mentionTrie;
+    private long nicknameVersion;
+
+    public OnlinePlayerNameIndex() {
+        this.playerNames = new ConcurrentHashMap<>();
+        this.nicknameVersion = -1;
+        rebuild();
+    }
+
+    public void start() {
+        Scheduler.runTaskTimerAsynchronously(InteractiveChat.plugin, () -> refreshAll(), 0, REFRESH_INTERVAL);
+    }
+
+    /**
+     * @return An unmodifiable map of stripped lowercase names to the uuid of the player they belong to
+     */
+    public Map<String, UUID> getNames() {
+        return names;
+    }
+
+    /**
+     * @return A trie of the mentionable names of all non-vanished players, as well as "here" and "everyone"
+     */
+    public MentionNameTrie getMentionTrie() {
+        return mentionTrie;
+    }
+
+    public void refresh(ICPlayer player) {
+        PlayerNames names = new PlayerNames(player);
+        if (!names.equals(playerNames.put(player.getUniqueId(), names))) {
+            rebuild();
+        }
+    }
+
+    public void remove(UUID uuid) {
+        if (playerNames.remove(uuid) != null) {
+            rebuild();
+        }
+    }
+
+    public synchronized void refreshAll() {
+        NicknameManager nicknameManager = InteractiveChat.nicknameManager;
+        long version = nicknameManager == null ? -1 : nicknameManager.getVersion();
+        boolean nicknamesChanged = version < 0 || version != nicknameVersion;
+        nicknameVersion = version;
+
+        boolean changed = false;
+        Set<UUID> online = ICPlayerFactory.getOnlineUUIDs();
+        if (playerNames.keySet().retainAll(online)) {
+            changed = true;
+        }
+        for (ICPlayer player : ICPlayerFactory.getOnlineICPlayers()) {
+            UUID uuid = player.getUniqueId();
+            PlayerNames previous = playerNames.get(uuid);
+            List<String> nicknames = nicknamesChanged || previous == null ? PlayerNames.fetchNicknames(uuid) : previous.getNicknames();
+            PlayerNames names = new PlayerNames(player, nicknames);
+            if (!names.equals(playerNames.put(uuid, names))) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        Map<String, UUID> names = new HashMap<>();
+        List<MentionNameTrie.MentionName> mentionNames = new ArrayList<>();
+        mentionNames.add(new MentionNameTrie.MentionName("everyone", null, MentionNameTrie.MentionType.EVERYONE, false));
+        mentionNames.add(new MentionNameTrie.MentionName("here", null, MentionNameTrie.MentionType.HERE, false));
+        for (PlayerNames player : playerNames.values()) {
+            UUID uuid = player.getUniqueId();
+            names.put(player.getName().toLowerCase(), uuid);
+            if (!player.getName().equals(player.getDisplayName())) {
+                names.put(player.getDisplayName().toLowerCase(), uuid);
+            }
+            if (player.isLocal()) {
+                for (String nickname : player.getNicknames()) {
+                    names.put(nickname.toLowerCase(), uuid);
+                }
+            }
+            if (!player.isVanished()) {
+                mentionNames.add(new MentionNameTrie.MentionName(player.getName(), uuid, MentionNameTrie.MentionType.PLAYER, false));
+                if (!player.getName().equals(player.getDisplayName())) {
+                    mentionNames.add(new MentionNameTrie.MentionName(player.getDisplayName(), uuid, MentionNameTrie.MentionType.PLAYER, true));
+                }
+                for (String nickname : player.getNicknames()) {
+                    mentionNames.add(new MentionNameTrie.MentionName(nickname, uuid, MentionNameTrie.MentionType.PLAYER, false));
+                }
+            }
+        }
+        names.remove("");
+        this.names = Collections.unmodifiableMap(names);
+        this.mentionTrie = new MentionNameTrie(mentionNames);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(ICPlayerJoinEvent event) {
+        ICPlayer player = event.getPlayer();
+        Scheduler.runTaskAsynchronously(InteractiveChat.plugin, () -> refresh(player));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(ICPlayerQuitEvent event) {
+        remove(event.getPlayer().getUniqueId());
+    }
+
+    private static class PlayerNames {
+
+        private final UUID uuid;
+        private final String name;
+        private final String displayName;
+        private final List<String> nicknames;
+        private final boolean local;
+        private final boolean vanished;
+
+        private static List<String> fetchNicknames(UUID uuid) {
+            return InteractiveChatAPI.getNicknames(uuid).stream().map(each -> ChatColorUtils.stripColor(each)).collect(Collectors.toList());
+        }
+
+        private PlayerNames(ICPlayer player) {
+            this(player, fetchNicknames(player.getUniqueId()));
+        }
+
+        private PlayerNames(ICPlayer player, List<String> nicknames) {
+            this.uuid = player.getUniqueId();
+            this.name = ChatColorUtils.stripColor(player.getName());
+            this.displayName = ChatColorUtils.stripColor(player.getDisplayName());
+            this.nicknames = nicknames;
+            this.local = player.isLocal();
+            this.vanished = player.isVanished();
+        }
+
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public List<String> getNicknames() {
+            return nicknames;
+        }
+
+        public boolean isLocal() {
+            return local;
+        }
+
+        public boolean isVanished() {
+            return vanished;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PlayerNames that = (PlayerNames) o;
+            return local == that.local && vanished == that.vanished && uuid.equals(that.uuid) && name.equals(that.name) && displayName.equals(that.displayName) && nicknames.equals(that.nicknames);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uuid, name, displayName, nicknames, local, vanished);
+        }
+
+    }
+
+}
@@ -20,6 +20,11 @@
 
 package com.loohp.interactivechat.objectholders;
 
+/**
+ * @deprecated Permission checks are served from permission snapshots and this holder is no longer used,
+ * see {@link com.loohp.interactivechat.utils.PlayerUtils#hasPermission(java.util.UUID, String, boolean)}
+ */
+@Deprecated
 public class PermissionCache {
 
     private final long time;
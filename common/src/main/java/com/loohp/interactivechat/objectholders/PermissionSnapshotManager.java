@@ -0,0 +1,261 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import com.loohp.interactivechat.InteractiveChat;
+import com.loohp.platformscheduler.Scheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an immutable snapshot of the permissions InteractiveChat checks for each player, so that
+ * permission checks from chat threads are a map lookup and never wait on the permission plugin.
+ * Snapshots are recomputed asynchronously whenever they are invalidated, and periodically so that
+ * permission changes not announced by the permission plugin are picked up as well.
+ */
+public class PermissionSnapshotManager {
+
+    public static final long OFFLINE_SNAPSHOT_TIMEOUT = 180000;
+    public static final long ONLINE_SNAPSHOT_TIMEOUT = 180000;
+
+    private final Map<UUID, PermissionSnapshot> snapshots;
+    private final Set<UUID> pendingRefresh;
+    private final AtomicLong sequence;
+    private volatile PermissionIndex index;
+
+    public PermissionSnapshotManager(Collection<String> permissions) {
+        this.snapshots = new ConcurrentHashMap<>();
+        this.pendingRefresh = ConcurrentHashMap.newKeySet();
+        this.sequence = new AtomicLong();
+        this.index = PermissionIndex.EMPTY.with(permissions);
+    }
+
+    public boolean hasPermission(UUID uuid, String permission, boolean def) {
+        PermissionSnapshot snapshot = snapshots.get(uuid);
+        if (snapshot != null) {
+            if (snapshot.isDefaults()) {
+                if (Bukkit.getPlayer(uuid) == null) {
+                    return def;
+                }
+            } else {
+                int bit = snapshot.getIndex().getBit(permission);
+                if (bit >= 0) {
+                    return snapshot.get(bit);
+                }
+            }
+        }
+        if (index.getBit(permission) < 0) {
+            registerPermissions(Collections.singleton(permission));
+        }
+        scheduleRefresh(uuid);
+        Player player = Bukkit.getPlayer(uuid);
+        return player == null ? def : player.hasPermission(permission);
+    }
+
+    public void registerPermissions(Collection<String> permissions) {
+        synchronized (this) {
+            index = index.with(permissions);
+        }
+    }
+
+    public void scheduleRefresh(UUID uuid) {
+        if (pendingRefresh.add(uuid)) {
+            Scheduler.runTaskAsynchronously(InteractiveChat.plugin, () -> {
+                pendingRefresh.remove(uuid);
+                refresh(uuid);
+            });
+        }
+    }
+
+    public void refresh(UUID uuid) {
+        long version = sequence.incrementAndGet();
+        PermissionIndex index = this.index;
+        Player player = Bukkit.getPlayer(uuid);
+        boolean online = player != null;
+        long[] bits;
+        if (online) {
+            bits = new long[(index.size() + 63) >>> 6];
+            for (int i = 0; i < index.size(); i++) {
+                if (player.hasPermission(index.getPermission(i))) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+        } else if (InteractiveChat.perms == null) {
+            bits = null;
+        } else {
+            bits = new long[(index.size() + 63) >>> 6];
+            String world = Bukkit.getWorlds().get(0).getName();
+            OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
+            for (int i = 0; i < index.size(); i++) {
+                if (InteractiveChat.perms.playerHas(world, offlinePlayer, index.getPermission(i))) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        if (online && !player.isOnline()) {
+            return;
+        }
+        PermissionSnapshot snapshot = new PermissionSnapshot(index, bits, version, online, System.currentTimeMillis());
+        snapshots.merge(uuid, snapshot, (oldSnapshot, newSnapshot) -> newSnapshot.getVersion() > oldSnapshot.getVersion() ? newSnapshot : oldSnapshot);
+    }
+
+    public void refreshAll() {
+        for (UUID uuid : snapshots.keySet()) {
+            if (Bukkit.getPlayer(uuid) == null) {
+                snapshots.remove(uuid);
+            } else {
+                scheduleRefresh(uuid);
+            }
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            scheduleRefresh(player.getUniqueId());
+        }
+    }
+
+    public void invalidate(UUID uuid) {
+        if (Bukkit.getPlayer(uuid) == null) {
+            snapshots.remove(uuid);
+        } else {
+            scheduleRefresh(uuid);
+        }
+    }
+
+    public void remove(UUID uuid) {
+        snapshots.remove(uuid);
+    }
+
+    public void cleanUp() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, PermissionSnapshot> entry : snapshots.entrySet()) {
+            UUID uuid = entry.getKey();
+            PermissionSnapshot snapshot = entry.getValue();
+            if (snapshot.isOnline()) {
+                if (Bukkit.getPlayer(uuid) == null) {
+                    snapshots.remove(uuid, snapshot);
+                } else if (snapshot.getTime() + ONLINE_SNAPSHOT_TIMEOUT < now) {
+                    scheduleRefresh(uuid);
+                }
+            } else if (snapshot.getTime() + OFFLINE_SNAPSHOT_TIMEOUT < now) {
+                snapshots.remove(uuid, snapshot);
+            }
+        }
+    }
+
+    private static class PermissionIndex {
+
+        private static final PermissionIndex EMPTY = new PermissionIndex(new String[0], Collections.emptyMap());
+
+        private final String[] permissions;
+        private final Map<String, Integer> bits;
+
+        private PermissionIndex(String[] permissions, Map<String, Integer> bits) {
+            this.permissions = permissions;
+            this.bits = bits;
+        }
+
+        private PermissionIndex with(Collection<String> permissions) {
+            String[] newPermissions = Arrays.copyOf(this.permissions, this.permissions.length + permissions.size());
+            Map<String, Integer> newBits = new HashMap<>(bits);
+            int size = this.permissions.length;
+            for (String permission : permissions) {
+                if (permission != null && !newBits.containsKey(permission)) {
+                    newPermissions[size] = permission;
+                    newBits.put(permission, size++);
+                }
+            }
+            if (size == this.permissions.length) {
+                return this;
+            }
+            return new PermissionIndex(Arrays.copyOf(newPermissions, size), newBits);
+        }
+
+        private int size() {
+            return permissions.length;
+        }
+
+        private String getPermission(int bit) {
+            return permissions[bit];
+        }
+
+        private int getBit(String permission) {
+            Integer bit = bits.get(permission);
+            return bit == null ? -1 : bit;
+        }
+
+    }
+
+    private static class PermissionSnapshot {
+
+        private final PermissionIndex index;
+        private final long[] bits;
+        private final long version;
+        private final boolean online;
+        private final long time;
+
+        private PermissionSnapshot(PermissionIndex index, long[] bits, long version, boolean online, long time) {
+            this.index = index;
+            this.bits = bits;
+            this.version = version;
+            this.online = online;
+            this.time = time;
+        }
+
+        private PermissionIndex getIndex() {
+            return index;
+        }
+
+        /**
+         * Snapshot of an offline player taken without a permission plugin to query, every check returns its default.
+         */
+        private boolean isDefaults() {
+            return bits == null;
+        }
+
+        private boolean get(int bit) {
+            return (bits[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        private long getVersion() {
+            return version;
+        }
+
+        private boolean isOnline() {
+            return online;
+        }
+
+        private long getTime() {
+            return time;
+        }
+
+    }
+
+}
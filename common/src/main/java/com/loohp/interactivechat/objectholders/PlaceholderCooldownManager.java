@@ -26,11 +26,10 @@ import com.loohp.interactivechat.bungeemessaging.BungeeMessageSender;
 import com.loohp.interactivechat.objectholders.CooldownResult.CooldownOutcome;
 import com.loohp.interactivechat.utils.PlayerUtils;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -60,36 +59,40 @@ public class PlaceholderCooldownManager {
     }
 
     public CooldownResult checkMessage(UUID uuid, String message) {
+        return checkMessage(uuid, InteractiveChat.placeholderIngressMatcher.scan(message));
+    }
+
+    public CooldownResult checkMessage(UUID uuid, PlaceholderIngressMatcher.Result scanResult) {
         long now = System.currentTimeMillis();
-        if (PlayerUtils.hasPermission(uuid, "interactivechat.cooldown.bypass", false, 200)) {
+        if (scanResult.isEmpty()) {
+            return new CooldownResult(CooldownOutcome.ALLOW, now, -1, null);
+        }
+        if (PlayerUtils.hasPermission(uuid, "interactivechat.cooldown.bypass", false)) {
             return new CooldownResult(CooldownOutcome.ALLOW_BYPASS, now, -1, null);
         }
-        List<Runnable> tasksIfSucessful = new LinkedList<>();
+        List<Runnable> tasksIfSucessful = new ArrayList<>();
         boolean first = true;
-        for (Entry<UUID, Map<UUID, Long>> entry : placeholderTimestamps.entrySet()) {
-            UUID internalId = entry.getKey();
-            ICPlaceholder placeholder = InteractiveChat.placeholderList.get(internalId);
-            if (placeholder != null) {
-                if (placeholder.getKeyword().matcher(message).find()) {
-                    if (first) {
-                        first = false;
-                        if (InteractiveChat.universalCooldown > 0) {
-                            Long lastUniversal = universalTimestamps.get(uuid);
-                            if (lastUniversal != null && now - lastUniversal < InteractiveChat.universalCooldown) {
-                                return new CooldownResult(CooldownOutcome.DENY_UNIVERSAL, now, lastUniversal + InteractiveChat.universalCooldown, null);
-                            }
+        for (PlaceholderIngressMatcher.PlaceholderMatch match : scanResult.getMatches()) {
+            ICPlaceholder placeholder = match.getPlaceholder();
+            Map<UUID, Long> mapping = placeholderTimestamps.get(placeholder.getInternalId());
+            if (mapping != null) {
+                if (first) {
+                    first = false;
+                    if (InteractiveChat.universalCooldown > 0) {
+                        Long lastUniversal = universalTimestamps.get(uuid);
+                        if (lastUniversal != null && now - lastUniversal < InteractiveChat.universalCooldown) {
+                            return new CooldownResult(CooldownOutcome.DENY_UNIVERSAL, now, lastUniversal + InteractiveChat.universalCooldown, null);
                         }
-                        tasksIfSucessful.add(() -> setPlayerUniversalLastTimestamp(uuid, now));
                     }
-                    Map<UUID, Long> mapping = entry.getValue();
-                    if (placeholder.getCooldown() > 0) {
-                        Long lastUsed = mapping.get(uuid);
-                        if (lastUsed != null && now - lastUsed < placeholder.getCooldown()) {
-                            return new CooldownResult(CooldownOutcome.DENY_PLACEHOLDER, now, lastUsed + placeholder.getCooldown(), placeholder);
-                        }
+                    tasksIfSucessful.add(() -> setPlayerUniversalLastTimestamp(uuid, now));
+                }
+                if (placeholder.getCooldown() > 0) {
+                    Long lastUsed = mapping.get(uuid);
+                    if (lastUsed != null && now - lastUsed < placeholder.getCooldown()) {
+                        return new CooldownResult(CooldownOutcome.DENY_PLACEHOLDER, now, lastUsed + placeholder.getCooldown(), placeholder);
                     }
-                    tasksIfSucessful.add(() -> setPlayerPlaceholderLastTimestamp(uuid, placeholder, now));
                 }
+                tasksIfSucessful.add(() -> setPlayerPlaceholderLastTimestamp(uuid, placeholder, now));
             }
         }
         tasksIfSucessful.forEach(each -> each.run());
@@ -147,7 +150,7 @@ public class PlaceholderCooldownManager {
     }
 
     public boolean isPlaceholderOnCooldownAt(UUID uuid, ICPlaceholder placeholder, long time) {
-        if (PlayerUtils.hasPermission(uuid, "interactivechat.cooldown.bypass", false, 200)) {
+        if (PlayerUtils.hasPermission(uuid, "interactivechat.cooldown.bypass", false)) {
             return false;
         }
         long universalLastTimestamp = getPlayerUniversalLastTimestamp(uuid);
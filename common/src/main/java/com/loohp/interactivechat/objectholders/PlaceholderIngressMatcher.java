@@ -0,0 +1,163 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Finds every placeholder present in an incoming chat message or command with a single scan of a
+ * {@link PlaceholderKeywordIndex}, and resolves the escape aware details only for those present.
+ * Built on reload from a snapshot of the placeholder list so that async chat threads never read
+ * the live placeholder map.
+ */
+public class PlaceholderIngressMatcher {
+
+    public static PlaceholderIngressMatcher build(Collection<? extends ICPlaceholder> placeholders) {
+        List<ICPlaceholder> snapshot = Collections.unmodifiableList(new ArrayList<>(placeholders));
+        return new PlaceholderIngressMatcher(snapshot, PlaceholderKeywordIndex.build(snapshot, each -> true, each -> each.getKeyword()));
+    }
+
+    public static boolean isEscaped(String message, int start) {
+        return !((start < 1 || message.charAt(start - 1) != '\\') || (start > 1 && message.charAt(start - 1) == '\\' && message.charAt(start - 2) == '\\'));
+    }
+
+    private final List<ICPlaceholder> placeholders;
+    private final PlaceholderKeywordIndex index;
+    private final boolean fullyIndexed;
+
+    private PlaceholderIngressMatcher(List<ICPlaceholder> placeholders, PlaceholderKeywordIndex index) {
+        this.placeholders = placeholders;
+        this.index = index;
+        this.fullyIndexed = placeholders.stream().allMatch(each -> index.isIndexed(each));
+    }
+
+    public List<ICPlaceholder> getPlaceholders() {
+        return placeholders;
+    }
+
+    public Result scan(String message) {
+        PlaceholderKeywordIndex.Matches matches = index.find(message);
+        List<PlaceholderMatch> result = new ArrayList<>();
+        if (!matches.isEmpty() || !fullyIndexed) {
+            for (ICPlaceholder placeholder : placeholders) {
+                if (!matches.mayContain(placeholder)) {
+                    continue;
+                }
+                Matcher matcher = placeholder.getKeyword().matcher(message);
+                if (!matcher.find()) {
+                    continue;
+                }
+                int start = matcher.start();
+                int end = matcher.end();
+                boolean firstUnescaped = !isEscaped(message, start);
+                int unescapedCount = 0;
+                if (firstUnescaped) {
+                    do {
+                        if (!isEscaped(message, matcher.start())) {
+                            unescapedCount++;
+                        }
+                    } while (matcher.find());
+                }
+                result.add(new PlaceholderMatch(placeholder, start, end, firstUnescaped, unescapedCount));
+            }
+        }
+        return new Result(message, result);
+    }
+
+    public static class Result {
+
+        private final String message;
+        private final List<PlaceholderMatch> matches;
+
+        private Result(String message, List<PlaceholderMatch> matches) {
+            this.message = message;
+            this.matches = Collections.unmodifiableList(matches);
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return Every placeholder whose keyword occurs in the message, in placeholder list order
+         */
+        public List<PlaceholderMatch> getMatches() {
+            return matches;
+        }
+
+        public boolean isEmpty() {
+            return matches.isEmpty();
+        }
+
+    }
+
+    public static class PlaceholderMatch {
+
+        private final ICPlaceholder placeholder;
+        private final int start;
+        private final int end;
+        private final boolean firstUnescaped;
+        private final int unescapedCount;
+
+        private PlaceholderMatch(ICPlaceholder placeholder, int start, int end, boolean firstUnescaped, int unescapedCount) {
+            this.placeholder = placeholder;
+            this.start = start;
+            this.end = end;
+            this.firstUnescaped = firstUnescaped;
+            this.unescapedCount = unescapedCount;
+        }
+
+        public ICPlaceholder getPlaceholder() {
+            return placeholder;
+        }
+
+        /**
+         * @return The start of the first occurrence of the keyword
+         */
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * @return Whether the first occurrence of the keyword is not escaped with a backslash
+         */
+        public boolean isFirstUnescaped() {
+            return firstUnescaped;
+        }
+
+        /**
+         * @return The number of unescaped occurrences, only counted if the first occurrence is unescaped
+         */
+        public int getUnescapedCount() {
+            return unescapedCount;
+        }
+
+    }
+
+}
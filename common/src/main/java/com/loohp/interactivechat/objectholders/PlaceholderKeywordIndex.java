@@ -0,0 +1,187 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.interactivechat.objectholders;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Combines the keywords of a set of placeholders into a single alternation so
+ * that every placeholder occurring in a message can be found in one scan.
+ * <p>
+ * Keywords using back-references or {@code \G} cannot be safely merged since
+ * group numbers shift inside the combined pattern, those are matched on their
+ * own instead.
+ */
+public class PlaceholderKeywordIndex {
+
+    private static final Pattern UNMERGEABLE_PATTERN = Pattern.compile("\\\\(?:[1-9]|k<|G)");
+
+    public static PlaceholderKeywordIndex build(Collection<? extends ICPlaceholder> placeholders, Predicate<ICPlaceholder> filter, Function<ICPlaceholder, Pattern> keywordFunction) {
+        List<ICPlaceholder> source = new ArrayList<>(placeholders);
+        List<ICPlaceholder> indexed = new ArrayList<>();
+        List<Pattern> keywords = new ArrayList<>();
+        for (ICPlaceholder placeholder : source) {
+            if (filter.test(placeholder)) {
+                indexed.add(placeholder);
+                keywords.add(keywordFunction.apply(placeholder));
+            }
+        }
+
+        Pattern combined = null;
+        int[] groups = new int[indexed.size()];
+        boolean[] merged = new boolean[indexed.size()];
+        StringBuilder sb = new StringBuilder();
+        int group = 1;
+        for (int i = 0; i < keywords.size(); i++) {
+            Pattern keyword = keywords.get(i);
+            if (UNMERGEABLE_PATTERN.matcher(keyword.pattern()).find()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append("|");
+            }
+            sb.append("(").append(keyword.pattern()).append(")");
+            merged[i] = true;
+            groups[i] = group;
+            group += 1 + keyword.matcher("").groupCount();
+        }
+        if (sb.length() > 0) {
+            try {
+                combined = Pattern.compile(sb.toString());
+            } catch (PatternSyntaxException e) {
+                combined = null;
+                merged = new boolean[indexed.size()];
+            }
+        }
+
+        return new PlaceholderKeywordIndex(source, indexed, keywords.toArray(new Pattern[0]), combined, groups, merged);
+    }
+
+    private final List<ICPlaceholder> source;
+    private final Map<ICPlaceholder, Integer> positions;
+    private final Pattern[] keywords;
+    private final Pattern combined;
+    private final int[] groups;
+    private final boolean[] merged;
+
+    private PlaceholderKeywordIndex(List<ICPlaceholder> source, List<ICPlaceholder> indexed, Pattern[] keywords, Pattern combined, int[] groups, boolean[] merged) {
+        this.source = source;
+        this.positions = new IdentityHashMap<>();
+        for (int i = 0; i < indexed.size(); i++) {
+            positions.put(indexed.get(i), i);
+        }
+        this.keywords = keywords;
+        this.combined = combined;
+        this.groups = groups;
+        this.merged = merged;
+    }
+
+    /**
+     * Whether this index was built from exactly these placeholder instances, in the same order.
+     */
+    public boolean isBuiltFrom(Collection<? extends ICPlaceholder> placeholders) {
+        if (placeholders.size() != source.size()) {
+            return false;
+        }
+        Iterator<? extends ICPlaceholder> itr = placeholders.iterator();
+        for (ICPlaceholder placeholder : source) {
+            if (itr.next() != placeholder) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isIndexed(ICPlaceholder placeholder) {
+        return positions.containsKey(placeholder);
+    }
+
+    public Matches find(String text) {
+        BitSet present = new BitSet(keywords.length);
+        for (int i = 0; i < keywords.length; i++) {
+            if (!merged[i] && keywords[i].matcher(text).find()) {
+                present.set(i);
+            }
+        }
+        if (combined != null) {
+            Matcher matcher = combined.matcher(text);
+            int from = 0;
+            while (from <= text.length() && matcher.find(from)) {
+                int start = matcher.start();
+                int matched = -1;
+                for (int i = 0; i < keywords.length; i++) {
+                    if (merged[i] && matcher.start(groups[i]) >= 0) {
+                        matched = i;
+                        break;
+                    }
+                }
+                present.set(matched);
+                // alternation only reports the first alternative matching at this position, check the ones after it
+                for (int i = matched + 1; i < keywords.length; i++) {
+                    if (merged[i] && !present.get(i)) {
+                        Matcher single = keywords[i].matcher(text).region(start, text.length()).useTransparentBounds(true).useAnchoringBounds(false);
+                        if (single.lookingAt()) {
+                            present.set(i);
+                        }
+                    }
+                }
+                if (present.cardinality() == keywords.length) {
+                    break;
+                }
+                from = start + 1;
+            }
+        }
+        return new Matches(present);
+    }
+
+    public class Matches {
+
+        private final BitSet present;
+
+        private Matches(BitSet present) {
+            this.present = present;
+        }
+
+        /**
+         * Placeholders not covered by the index are always reported as possibly present.
+         */
+        public boolean mayContain(ICPlaceholder placeholder) {
+            Integer position = positions.get(placeholder);
+            return position == null || present.get(position);
+        }
+
+        public boolean isEmpty() {
+            return present.isEmpty();
+        }
+
+    }
+
+}
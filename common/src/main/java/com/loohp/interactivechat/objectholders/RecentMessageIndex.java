@@ -0,0 +1,253 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import com.loohp.interactivechat.utils.CustomStringUtils;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A map of recently sent chat messages to their sender, indexed by the lowercase character bigrams
+ * of each message so that lookups against an outgoing chat line only have to look at messages that
+ * could possibly be contained in, or be similar to, that line.
+ */
+public class RecentMessageIndex extends AbstractMap<String, UUID> {
+
+    public static final int SIMILARITY_CANDIDATES = 5;
+
+    private final Map<String, IndexedMessage> messages;
+    private final Map<Integer, Set<String>> postings;
+    private final Set<String> shortMessages;
+
+    public RecentMessageIndex() {
+        this.messages = new ConcurrentHashMap<>();
+        this.postings = new ConcurrentHashMap<>();
+        this.shortMessages = ConcurrentHashMap.newKeySet();
+    }
+
+    private static int[] bigrams(String str) {
+        String lower = str.toLowerCase();
+        Set<Integer> grams = new HashSet<>();
+        for (int i = 0; i + 1 < lower.length(); i++) {
+            grams.add((lower.charAt(i) << 16) | lower.charAt(i + 1));
+        }
+        return grams.stream().mapToInt(i -> i).toArray();
+    }
+
+    @Override
+    public UUID put(String message, UUID uuid) {
+        IndexedMessage indexed = new IndexedMessage(message, uuid);
+        IndexedMessage previous = messages.put(message, indexed);
+        if (previous == null) {
+            if (indexed.getBigrams().length == 0) {
+                shortMessages.add(message);
+            }
+            for (int gram : indexed.getBigrams()) {
+                postings.compute(gram, (k, set) -> {
+                    Set<String> updated = set == null ? new HashSet<>() : new HashSet<>(set);
+                    updated.add(message);
+                    return Collections.unmodifiableSet(updated);
+                });
+            }
+            return null;
+        }
+        return previous.getUUID();
+    }
+
+    @Override
+    public UUID remove(Object key) {
+        IndexedMessage indexed = messages.remove(key);
+        if (indexed == null) {
+            return null;
+        }
+        String message = indexed.getMessage();
+        shortMessages.remove(message);
+        for (int gram : indexed.getBigrams()) {
+            postings.computeIfPresent(gram, (k, set) -> {
+                if (messages.containsKey(message)) {
+                    return set;
+                }
+                Set<String> updated = new HashSet<>(set);
+                updated.remove(message);
+                return updated.isEmpty() ? null : Collections.unmodifiableSet(updated);
+            });
+        }
+        return indexed.getUUID();
+    }
+
+    @Override
+    public UUID get(Object key) {
+        IndexedMessage indexed = messages.get(key);
+        return indexed == null ? null : indexed.getUUID();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return messages.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return messages.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        messages.clear();
+        postings.clear();
+        shortMessages.clear();
+    }
+
+    @Override
+    public Set<Entry<String, UUID>> entrySet() {
+        return Collections.unmodifiableSet(messages.values().stream().map(each -> new SimpleImmutableEntry<>(each.getMessage(), each.getUUID())).collect(Collectors.toSet()));
+    }
+
+    public Query query(String chat) {
+        return new Query(chat);
+    }
+
+    public class Query {
+
+        private final String chat;
+        private final int chatBigrams;
+        private final Map<String, Integer> sharedBigrams;
+
+        private Query(String chat) {
+            this.chat = chat;
+            int[] grams = bigrams(chat);
+            this.chatBigrams = grams.length;
+            this.sharedBigrams = new HashMap<>();
+            for (int gram : grams) {
+                Set<String> set = postings.get(gram);
+                if (set != null) {
+                    for (String message : set) {
+                        sharedBigrams.merge(message, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the recent messages that are contained within the chat line, every candidate
+         * returned has been verified with {@link String#contains(CharSequence)}.
+         */
+        public List<IndexedMessage> findContained() {
+            List<IndexedMessage> result = new ArrayList<>();
+            for (String message : shortMessages) {
+                IndexedMessage indexed = messages.get(message);
+                if (indexed != null && chat.contains(message)) {
+                    result.add(indexed);
+                }
+            }
+            for (Entry<String, Integer> entry : sharedBigrams.entrySet()) {
+                IndexedMessage indexed = messages.get(entry.getKey());
+                if (indexed != null && entry.getValue() == indexed.getBigrams().length && chat.contains(indexed.getMessage())) {
+                    result.add(indexed);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the recent message most similar to the chat line with a similarity greater than
+         * <code>minSimilarity</code>, only the few messages sharing the most bigrams with the chat
+         * line are compared with a bounded edit distance.
+         */
+        public IndexedMessage findMostSimilar(double minSimilarity) {
+            List<IndexedMessage> candidates = new ArrayList<>();
+            for (String message : shortMessages) {
+                IndexedMessage indexed = messages.get(message);
+                if (indexed != null) {
+                    candidates.add(indexed);
+                }
+            }
+            sharedBigrams.entrySet().stream()
+                    .sorted((a, b) -> Double.compare(dice(b.getKey(), b.getValue()), dice(a.getKey(), a.getValue())))
+                    .limit(SIMILARITY_CANDIDATES)
+                    .map(entry -> messages.get(entry.getKey()))
+                    .filter(each -> each != null)
+                    .forEach(candidates::add);
+
+            IndexedMessage mostSimilar = null;
+            double currentSimilarity = minSimilarity;
+            for (IndexedMessage indexed : candidates) {
+                double similarity = CustomStringUtils.similarity(chat, indexed.getMessage(), currentSimilarity);
+                if (similarity > currentSimilarity) {
+                    mostSimilar = indexed;
+                    currentSimilarity = similarity;
+                }
+            }
+            return mostSimilar;
+        }
+
+        private double dice(String message, int shared) {
+            IndexedMessage indexed = messages.get(message);
+            if (indexed == null) {
+                return 0.0;
+            }
+            return 2.0 * shared / (chatBigrams + indexed.getBigrams().length);
+        }
+
+    }
+
+    public static class IndexedMessage {
+
+        private final String message;
+        private final UUID uuid;
+        private final int[] bigrams;
+
+        private IndexedMessage(String message, UUID uuid) {
+            this.message = message;
+            this.uuid = uuid;
+            this.bigrams = bigrams(message);
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public UUID getUUID() {
+            return uuid;
+        }
+
+        private int[] getBigrams() {
+            return bigrams;
+        }
+
+    }
+
+}
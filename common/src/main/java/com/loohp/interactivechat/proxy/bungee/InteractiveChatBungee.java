@@ -47,6 +47,7 @@ import com.loohp.interactivechat.registry.Registry;
 import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechat.utils.DataTypeIO;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
+import com.loohp.interactivechat.utils.PacketCompressionUtils;
 import com.viaversion.viaversion.api.Via;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -153,6 +154,13 @@ public class InteractiveChatBungee extends Plugin implements Listener {
         return Collections.unmodifiableMap(serverInteractiveChatInfo);
     }
 
+    /**
+     * Enables payload compression only while every backend with InteractiveChat understands it.
+     */
+    protected static void updatePayloadCompression() {
+        PacketCompressionUtils.setEnabled(serverInteractiveChatInfo.values().stream().filter(each -> each.hasInteractiveChat()).allMatch(each -> each.getProtocolVersion() >= Registry.PAYLOAD_COMPRESSION_PROTOCOL_VERSION));
+    }
+
     public static CompletableFuture<Boolean> hasPermission(CommandSender sender, String permission) {
         CompletableFuture<Boolean> future = new CompletableFuture<>();
         if (!(sender instanceof ProxiedPlayer)) {
@@ -431,7 +439,9 @@ public class InteractiveChatBungee extends Plugin implements Listener {
             int packetNumber = in.readInt();
             int packetChunkIndex = in.readInt();
             int packetChunkSize = in.readInt();
-            int packetId = in.readShort();
+            int packetHeader = in.readUnsignedShort();
+            int packetId = packetHeader & ~PacketCompressionUtils.COMPRESSED_FLAG;
+            boolean compressed = (packetHeader & PacketCompressionUtils.COMPRESSED_FLAG) != 0;
 
             if (!Registry.PROXY_PASSTHROUGH_RELAY_PACKETS.contains(packetId)) {
                 byte[] data = new byte[packet.length - 14];
@@ -464,7 +474,7 @@ public class InteractiveChatBungee extends Plugin implements Listener {
                 byte[][] finalChunks = chunks;
                 pluginMessageHandlingExecutor.submit(() -> {
                     try {
-                        ByteArrayDataInput input = ByteStreams.newDataInput(finalData);
+                        ByteArrayDataInput input = ByteStreams.newDataInput(compressed ? PacketCompressionUtils.decompress(finalData) : finalData);
                         switch (packetId) {
                             case 0x07:
                                 int cooldownType = input.readByte();
@@ -488,7 +498,7 @@ public class InteractiveChatBungee extends Plugin implements Listener {
                                     out.writeInt(packetNumber); //random packet number
                                     out.writeInt(i); //packet chunk index
                                     out.writeInt(finalChunks.length); //packet total chunks
-                                    out.writeShort(packetId); //packet id
+                                    out.writeShort(packetHeader); //packet id
                                     out.write(chunk);
                                     for (ServerInfo eachServer : servers) {
                                         eachServer.sendData("interchat:main", out.toByteArray());
@@ -28,8 +28,10 @@ import com.loohp.interactivechat.objectholders.CustomPlaceholder.CustomPlacehold
 import com.loohp.interactivechat.objectholders.CustomPlaceholder.CustomPlaceholderReplaceText;
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.proxy.objectholders.BackendInteractiveChatData;
+import com.loohp.interactivechat.registry.Registry;
 import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechat.utils.DataTypeIO;
+import com.loohp.interactivechat.utils.PacketCompressionUtils;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
@@ -75,7 +77,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x00;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -84,7 +87,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -138,19 +141,30 @@ public class PluginMessageSendingBungee {
         output.writeInt(InteractiveChatBungee.delay);
 
         boolean hasDifferentMCVersions = InteractiveChatBungee.serverInteractiveChatInfo.values().stream().map(each -> each.getExactMinecraftVersion()).distinct().count() > 1;
+        boolean supportsBinaryItems = InteractiveChatBungee.serverInteractiveChatInfo.values().stream().filter(each -> each.hasInteractiveChat()).allMatch(each -> each.getProtocolVersion() >= Registry.BINARY_ITEM_ENCODING_PROTOCOL_VERSION);
         if (hasDifferentMCVersions) {
             output.writeShort(1);
             output.writeShort(1);
+        } else if (supportsBinaryItems) {
+            output.writeShort(2);
+            output.writeShort(2);
         } else {
             output.writeShort(0);
             output.writeShort(0);
         }
 
+        InteractiveChatBungee.updatePayloadCompression();
+        output.writeBoolean(PacketCompressionUtils.isEnabled());
+
+        boolean supportsInventoryDelta = InteractiveChatBungee.serverInteractiveChatInfo.values().stream().filter(each -> each.hasInteractiveChat()).allMatch(each -> each.getProtocolVersion() >= Registry.INVENTORY_DELTA_PROTOCOL_VERSION);
+        output.writeBoolean(supportsInventoryDelta);
+
         int packetNumber = InteractiveChatBungee.random.nextInt();
         int packetId = 0x01;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -159,7 +173,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -182,7 +196,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x06;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -191,7 +206,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -215,7 +230,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x07;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -224,7 +240,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -245,7 +261,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x07;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -254,7 +271,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -275,7 +292,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x08;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -284,7 +302,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -337,7 +355,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x09;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -346,7 +365,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -366,7 +385,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x0A;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -375,7 +395,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -395,7 +415,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x0B;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -404,7 +425,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -424,7 +445,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x0D;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -433,7 +455,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -463,7 +485,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x10;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -472,7 +495,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -493,7 +516,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x13;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -502,7 +526,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -523,7 +547,8 @@ public class PluginMessageSendingBungee {
         int packetId = 0x15;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -532,7 +557,7 @@ public class PluginMessageSendingBungee {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
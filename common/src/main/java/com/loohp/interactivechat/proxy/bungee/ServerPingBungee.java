@@ -257,6 +257,7 @@ public class ServerPingBungee {
                     }
                 }
             }
+            InteractiveChatBungee.updatePayloadCompression();
             ACTIVE_PING.remove(server, future);
         });
         return future;
@@ -50,6 +50,7 @@ import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechat.utils.CustomStringUtils;
 import com.loohp.interactivechat.utils.DataTypeIO;
 import com.loohp.interactivechat.utils.NativeAdventureConverter;
+import com.loohp.interactivechat.utils.PacketCompressionUtils;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.ResultedEvent;
@@ -185,6 +186,13 @@ public class InteractiveChatVelocity {
         return Collections.unmodifiableMap(serverInteractiveChatInfo);
     }
 
+    /**
+     * Enables payload compression only while every backend with InteractiveChat understands it.
+     */
+    protected static void updatePayloadCompression() {
+        PacketCompressionUtils.setEnabled(serverInteractiveChatInfo.values().stream().filter(each -> each.hasInteractiveChat()).allMatch(each -> each.getProtocolVersion() >= Registry.PAYLOAD_COMPRESSION_PROTOCOL_VERSION));
+    }
+
     public static CompletableFuture<Boolean> hasPermission(CommandSource sender, String permission) {
         CompletableFuture<Boolean> future = new CompletableFuture<>();
         if (!(sender instanceof Player)) {
@@ -476,7 +484,9 @@ public class InteractiveChatVelocity {
             int packetNumber = in.readInt();
             int packetChunkIndex = in.readInt();
             int packetChunkSize = in.readInt();
-            int packetId = in.readShort();
+            int packetHeader = in.readUnsignedShort();
+            int packetId = packetHeader & ~PacketCompressionUtils.COMPRESSED_FLAG;
+            boolean compressed = (packetHeader & PacketCompressionUtils.COMPRESSED_FLAG) != 0;
 
             if (!Registry.PROXY_PASSTHROUGH_RELAY_PACKETS.contains(packetId)) {
                 byte[] data = new byte[packet.length - 14];
@@ -509,7 +519,7 @@ public class InteractiveChatVelocity {
                 byte[][] finalChunks = chunks;
                 pluginMessageHandlingExecutor.submit(() -> {
                     try {
-                        ByteArrayDataInput input = ByteStreams.newDataInput(finalData);
+                        ByteArrayDataInput input = ByteStreams.newDataInput(compressed ? PacketCompressionUtils.decompress(finalData) : finalData);
                         switch (packetId) {
                             case 0x07:
                                 int cooldownType = input.readByte();
@@ -533,7 +543,7 @@ public class InteractiveChatVelocity {
                                     out.writeInt(packetNumber); //random packet number
                                     out.writeInt(i); //packet chunk index
                                     out.writeInt(finalChunks.length); //packet total chunks
-                                    out.writeShort(packetId); //packet id
+                                    out.writeShort(packetHeader); //packet id
                                     out.write(chunk);
                                     for (RegisteredServer eachServer : servers) {
                                         eachServer.sendPluginMessage(ICChannelIdentifier.INSTANCE, out.toByteArray());
@@ -28,8 +28,10 @@ import com.loohp.interactivechat.objectholders.CustomPlaceholder.CustomPlacehold
 import com.loohp.interactivechat.objectholders.CustomPlaceholder.CustomPlaceholderReplaceText;
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.proxy.objectholders.BackendInteractiveChatData;
+import com.loohp.interactivechat.registry.Registry;
 import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechat.utils.DataTypeIO;
+import com.loohp.interactivechat.utils.PacketCompressionUtils;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
@@ -79,7 +81,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x00;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -88,7 +91,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -142,19 +145,30 @@ public class PluginMessageSendingVelocity {
         output.writeInt(InteractiveChatVelocity.delay);
 
         boolean hasDifferentMCVersions = InteractiveChatVelocity.serverInteractiveChatInfo.values().stream().map(each -> each.getExactMinecraftVersion()).distinct().count() > 1;
+        boolean supportsBinaryItems = InteractiveChatVelocity.serverInteractiveChatInfo.values().stream().filter(each -> each.hasInteractiveChat()).allMatch(each -> each.getProtocolVersion() >= Registry.BINARY_ITEM_ENCODING_PROTOCOL_VERSION);
         if (hasDifferentMCVersions) {
             output.writeShort(1);
             output.writeShort(1);
+        } else if (supportsBinaryItems) {
+            output.writeShort(2);
+            output.writeShort(2);
         } else {
             output.writeShort(0);
             output.writeShort(0);
         }
 
+        InteractiveChatVelocity.updatePayloadCompression();
+        output.writeBoolean(PacketCompressionUtils.isEnabled());
+
+        boolean supportsInventoryDelta = InteractiveChatVelocity.serverInteractiveChatInfo.values().stream().filter(each -> each.hasInteractiveChat()).allMatch(each -> each.getProtocolVersion() >= Registry.INVENTORY_DELTA_PROTOCOL_VERSION);
+        output.writeBoolean(supportsInventoryDelta);
+
         int packetNumber = InteractiveChatVelocity.random.nextInt();
         int packetId = 0x01;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -163,7 +177,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -186,7 +200,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x06;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -195,7 +210,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -219,7 +234,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x07;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -228,7 +244,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -249,7 +265,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x07;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -258,7 +275,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -279,7 +296,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x08;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -288,7 +306,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -341,7 +359,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x09;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -350,7 +369,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -370,7 +389,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x0A;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -379,7 +399,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -399,7 +419,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x0B;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -408,7 +429,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -428,7 +449,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x0D;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -437,7 +459,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -467,7 +489,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x10;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -476,7 +499,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -497,7 +520,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x13;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -506,7 +530,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -527,7 +551,8 @@ public class PluginMessageSendingVelocity {
         int packetId = 0x15;
         byte[] data = output.toByteArray();
 
-        byte[][] dataArray = CustomArrayUtils.divideArray(data, 32700);
+        PacketCompressionUtils.EncodedPayload payload = PacketCompressionUtils.encode(packetId, data);
+        byte[][] dataArray = CustomArrayUtils.divideArray(payload.getData(), 32700);
 
         for (int i = 0; i < dataArray.length; i++) {
             byte[] chunk = dataArray[i];
@@ -536,7 +561,7 @@ public class PluginMessageSendingVelocity {
             out.writeInt(packetNumber); //random packet number
             out.writeInt(i); //packet chunk index
             out.writeInt(dataArray.length); //packet total chunks
-            out.writeShort(packetId); //packet id
+            out.writeShort(payload.getHeader()); //packet id
 
             out.write(chunk);
 
@@ -251,6 +251,7 @@ public class ServerPingVelocity {
                     }
                 }
             }
+            InteractiveChatVelocity.updatePayloadCompression();
             ACTIVE_PING.remove(server, future);
         });
         return future;
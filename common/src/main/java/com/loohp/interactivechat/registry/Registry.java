@@ -34,7 +34,10 @@ import java.util.regex.Pattern;
 public class Registry {
 
     public static final String PLUGIN_MESSAGING_PROTOCOL_IDENTIFIER = "InteractiveChatBungeePing";
-    public static final int PLUGIN_MESSAGING_PROTOCOL_VERSION = 22;
+    public static final int PLUGIN_MESSAGING_PROTOCOL_VERSION = 25;
+    public static final int BINARY_ITEM_ENCODING_PROTOCOL_VERSION = 23;
+    public static final int PAYLOAD_COMPRESSION_PROTOCOL_VERSION = 24;
+    public static final int INVENTORY_DELTA_PROTOCOL_VERSION = 25;
 
     public static final int INTERACTIVE_CHAT_DISCORD_SRV_ADDON_COMPATIBLE_VERSION = 49;
 
@@ -62,6 +65,7 @@ public class Registry {
             0x11,
             0x12,
             0x14,
+            0x18,
             0xFF
     )));
 
@@ -164,6 +164,80 @@ public class CustomStringUtils {
         return costs[s2.length()];
     }
 
+    public static double similarity(String s1, String s2, double minSimilarity) {
+        String longer = s1;
+        String shorter = s2;
+        if (s1.length() < s2.length()) {
+            longer = s2;
+            shorter = s1;
+        }
+        int longerLength = longer.length();
+        if (longerLength == 0) {
+            return 1.0;
+        }
+        int maxDistance = (int) Math.floor(longerLength * (1.0 - minSimilarity));
+        if (maxDistance < 0) {
+            return -1.0;
+        }
+        int distance = editDistance(longer, shorter, maxDistance);
+        if (distance > maxDistance) {
+            return -1.0;
+        }
+        return (longerLength - distance) / (double) longerLength;
+    }
+
+    /**
+     * Same as {@link #editDistance(String, String)}, but only evaluates the diagonal band of width
+     * <code>maxDistance</code>, returning <code>maxDistance + 1</code> as soon as the distance is
+     * known to exceed it.
+     */
+    public static int editDistance(String s1, String s2, int maxDistance) {
+        if (maxDistance < 0) {
+            return maxDistance + 1;
+        }
+        s1 = s1.toLowerCase();
+        s2 = s2.toLowerCase();
+
+        int length1 = s1.length();
+        int length2 = s2.length();
+        int exceeded = maxDistance + 1;
+        if (Math.abs(length1 - length2) > maxDistance) {
+            return exceeded;
+        }
+
+        int[] previous = new int[length2 + 1];
+        int[] current = new int[length2 + 1];
+        for (int j = 0; j <= length2; j++) {
+            previous[j] = j <= maxDistance ? j : exceeded;
+        }
+        for (int i = 1; i <= length1; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(length2, i + maxDistance);
+            current[0] = i <= maxDistance ? i : exceeded;
+            if (from > 1) {
+                current[from - 1] = exceeded;
+            }
+            int rowMin = from == 1 ? current[0] : exceeded;
+            char c = s1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int value = previous[j - 1] + (c == s2.charAt(j - 1) ? 0 : 1);
+                value = Math.min(value, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, exceeded);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < length2) {
+                current[to + 1] = exceeded;
+            }
+            if (rowMin > maxDistance) {
+                return exceeded;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[length2], exceeded);
+    }
+
     public static String escapeReplaceAllMetaCharacters(String inputString) {
         for (String metaCharacter : REPLACE_ALL_META_CHARACTERS) {
             if (inputString.contains(metaCharacter)) {
@@ -27,6 +27,10 @@ import com.google.common.io.ByteStreams;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.objectholders.ICMaterial;
 import net.kyori.adventure.text.Component;
+import net.querz.nbt.io.NBTDeserializer;
+import net.querz.nbt.io.SNBTUtil;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.Tag;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -53,7 +57,8 @@ public class DataTypeIO {
                 String data = readString(in, charset);
                 return InventoryUtils.fromBase64(data, title, holder);
             case 1:
-                int size = in.readInt();
+            case 2:
+                int size = encodingScheme == 2 ? readVarInt(in) : in.readInt();
                 Inventory inventory;
                 if (type.equals(InventoryType.CHEST)) {
                     inventory = hasTitle ? Bukkit.createInventory(holder, InventoryUtils.toMultipleOf9(size), title) : Bukkit.createInventory(holder, InventoryUtils.toMultipleOf9(size));
@@ -88,6 +93,12 @@ public class DataTypeIO {
                     writeItemStack(out, 1, inventory.getItem(i), charset);
                 }
                 break;
+            case 2:
+                writeVarInt(out, inventory.getSize());
+                for (int i = 0; i < inventory.getSize(); i++) {
+                    writeItemStack(out, 2, inventory.getItem(i), charset);
+                }
+                break;
             default:
                 throw new IllegalArgumentException("Unknown encodingScheme version " + encodingScheme);
         }
@@ -147,12 +158,32 @@ public class DataTypeIO {
                 } else {
                     return null;
                 }
+            case 2:
+                int length = readVarInt(in);
+                if (length == 0) {
+                    return null;
+                }
+                byte[] nbtBytes = new byte[length];
+                in.readFully(nbtBytes);
+                Tag<?> tag = new NBTDeserializer(false).fromBytes(nbtBytes).getTag();
+                ItemStack fromTag = null;
+                try {
+                    fromTag = ItemNBTUtils.getItemFromNBTJson(SNBTUtil.toSNBT(tag));
+                } catch (Exception ignore) {
+                }
+                if (fromTag == null) {
+                    String id = tag instanceof CompoundTag ? ((CompoundTag) tag).getString("id") : "";
+                    fromTag = InteractiveChat.unknownReplaceItem.clone();
+                    ItemMeta meta = fromTag.getItemMeta();
+                    meta.setDisplayName(meta.getDisplayName().replace("{Type}", id));
+                    fromTag.setItemMeta(meta);
+                }
+                return fromTag;
             default:
                 throw new IllegalArgumentException("Unknown encodingScheme version " + encodingScheme);
         }
     }
 
-    @SuppressWarnings("deprecation")
     public static void writeItemStack(ByteArrayDataOutput out, int defaultEncodingScheme, ItemStack itemStack, Charset charset) throws IOException {
         int encodingScheme = defaultEncodingScheme;
         ByteArrayDataOutput itemByte = ByteStreams.newDataOutput();
@@ -169,24 +200,19 @@ public class DataTypeIO {
                     itemByte = ByteStreams.newDataOutput();
                 }
             case 1:
-                if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
-                    itemByte.writeBoolean(false);
-                } else {
-                    itemByte.writeBoolean(true);
-                    ICMaterial material = FilledMapUtils.isFilledMap(itemStack) ? ICMaterial.of(XMaterial.FILLED_MAP) : ICMaterial.from(itemStack);
-                    writeString(itemByte, material.name(), charset);
-                    itemByte.writeInt(itemStack.getAmount());
-                    boolean isDamagable = itemStack.getType().getMaxDurability() > 0;
-                    if (isDamagable) {
-                        itemByte.writeBoolean(true);
-                        itemByte.writeInt(InteractiveChat.version.isLegacy() ? itemStack.getDurability() : ((Damageable) itemStack.getItemMeta()).getDamage());
-                    } else {
-                        itemByte.writeBoolean(false);
-                    }
-                    String nbt = ItemNBTUtils.getNMSItemStackJson(itemStack);
-                    writeString(itemByte, nbt, charset);
-                }
+                writeLegacyItemStack(itemByte, itemStack, charset);
                 break;
+            case 2:
+                try {
+                    writeBinaryItemStack(itemByte, itemStack);
+                    break;
+                } catch (Throwable e) {
+                    //Fallback to encodingScheme 1
+                    encodingScheme = 1;
+                    itemByte = ByteStreams.newDataOutput();
+                    writeLegacyItemStack(itemByte, itemStack, charset);
+                    break;
+                }
             default:
                 throw new IllegalArgumentException("Unknown encodingScheme version " + encodingScheme);
         }
@@ -194,6 +220,63 @@ public class DataTypeIO {
         out.write(itemByte.toByteArray());
     }
 
+    @SuppressWarnings("deprecation")
+    private static void writeLegacyItemStack(ByteArrayDataOutput itemByte, ItemStack itemStack, Charset charset) throws IOException {
+        if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
+            itemByte.writeBoolean(false);
+        } else {
+            itemByte.writeBoolean(true);
+            ICMaterial material = FilledMapUtils.isFilledMap(itemStack) ? ICMaterial.of(XMaterial.FILLED_MAP) : ICMaterial.from(itemStack);
+            writeString(itemByte, material.name(), charset);
+            itemByte.writeInt(itemStack.getAmount());
+            boolean isDamagable = itemStack.getType().getMaxDurability() > 0;
+            if (isDamagable) {
+                itemByte.writeBoolean(true);
+                itemByte.writeInt(InteractiveChat.version.isLegacy() ? itemStack.getDurability() : ((Damageable) itemStack.getItemMeta()).getDamage());
+            } else {
+                itemByte.writeBoolean(false);
+            }
+            String nbt = ItemNBTUtils.getNMSItemStackJson(itemStack);
+            writeString(itemByte, nbt, charset);
+        }
+    }
+
+    /**
+     * Encoding scheme 2, the item NBT as uncompressed binary NBT written directly by the server.
+     */
+    private static void writeBinaryItemStack(ByteArrayDataOutput itemByte, ItemStack itemStack) throws IOException {
+        if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
+            writeVarInt(itemByte, 0);
+            return;
+        }
+        byte[] bytes = ItemNBTUtils.getNMSItemStackBytes(itemStack);
+        writeVarInt(itemByte, bytes.length);
+        itemByte.write(bytes);
+    }
+
+    public static int readVarInt(ByteArrayDataInput in) throws IOException {
+        int value = 0;
+        int position = 0;
+        byte currentByte;
+        do {
+            if (position >= 35) {
+                throw new IOException("VarInt is too big");
+            }
+            currentByte = in.readByte();
+            value |= (currentByte & 0x7F) << position;
+            position += 7;
+        } while ((currentByte & 0x80) != 0);
+        return value;
+    }
+
+    public static void writeVarInt(ByteArrayDataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
     public static UUID readUUID(ByteArrayDataInput in) throws IOException {
         return new UUID(in.readLong(), in.readLong());
     }
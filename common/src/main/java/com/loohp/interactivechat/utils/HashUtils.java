@@ -20,22 +20,33 @@
 
 package com.loohp.interactivechat.utils;
 
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.bukkit.Material;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.io.BukkitObjectOutputStream;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.util.Formatter;
 
 public class HashUtils {
 
+    private static final HashFunction FINGERPRINT_FUNCTION = Hashing.murmur3_128();
+    private static final HashCode EMPTY_ITEM_FINGERPRINT = FINGERPRINT_FUNCTION.newHasher().putBoolean(false).hash();
+    private static final Cache<ItemStack, ItemFingerprint> ITEM_FINGERPRINTS = CacheBuilder.newBuilder().weakKeys().maximumSize(8192).build();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final long HASH64_PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long HASH64_PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long HASH64_PRIME_3 = 0x165667B19E3779F9L;
+
     public static byte[] createSha1(File file) throws Exception {
         return createSha1(new FileInputStream(file));
     }
@@ -55,102 +66,147 @@ public class HashUtils {
     }
 
     public static String createSha1String(File file) throws Exception {
-        byte[] b = createSha1(file);
-        String result = "";
-        for (int i = 0; i < b.length; i++) {
-            result += Integer.toString((b[i] & 0xff) + 0x100, 16).substring(1);
-        }
-        return result;
+        return toHexString(createSha1(file));
     }
 
     public static String createSha1String(InputStream fis) throws Exception {
-        byte[] b = createSha1(fis);
-        String result = "";
-        for (int i = 0; i < b.length; i++) {
-            result += Integer.toString((b[i] & 0xff) + 0x100, 16).substring(1);
-        }
-        return result;
+        return toHexString(createSha1(fis));
     }
 
-    public static String createSha1(boolean rightHanded, int selectedSlot, int level, String title, Inventory inventory) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
-        dataOutput.writeBoolean(rightHanded);
-        dataOutput.writeByte(selectedSlot);
-        dataOutput.writeInt(level);
-        if (title == null) {
-            dataOutput.writeBoolean(false);
-        } else {
-            dataOutput.writeBoolean(true);
-            dataOutput.write(title.getBytes(StandardCharsets.UTF_8));
+    private static String toHexString(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xFF;
+            chars[i * 2] = HEX_DIGITS[b >>> 4];
+            chars[i * 2 + 1] = HEX_DIGITS[b & 0x0F];
         }
-        dataOutput.writeInt(inventory.getSize());
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ByteArrayDataOutput itemByte = ByteStreams.newDataOutput();
-            DataTypeIO.writeItemStack(itemByte, 0, inventory.getItem(i), StandardCharsets.UTF_8);
-            dataOutput.write(itemByte.toByteArray());
+        return new String(chars);
+    }
+
+    /**
+     * Allocation-free 64-bit non-cryptographic hash of a byte array, seeded with the given value.
+     * Suitable for deduplication, not for anything security related.
+     */
+    public static long hash64(long seed, byte[] data) {
+        long h = seed * HASH64_PRIME_1 + data.length;
+        int i = 0;
+        for (int limit = data.length - 7; i < limit; i += 8) {
+            long k = (data[i] & 0xFFL) | (data[i + 1] & 0xFFL) << 8 | (data[i + 2] & 0xFFL) << 16 | (data[i + 3] & 0xFFL) << 24 | (data[i + 4] & 0xFFL) << 32 | (data[i + 5] & 0xFFL) << 40 | (data[i + 6] & 0xFFL) << 48 | (data[i + 7] & 0xFFL) << 56;
+            h ^= Long.rotateLeft(k * HASH64_PRIME_2, 31) * HASH64_PRIME_1;
+            h = Long.rotateLeft(h, 27) * HASH64_PRIME_1 + HASH64_PRIME_3;
         }
-        dataOutput.close();
-        byte[] bytes = outputStream.toByteArray();
-        MessageDigest md = MessageDigest.getInstance("SHA-1");
-        Formatter formatter = new Formatter();
-        for (byte b : md.digest(bytes)) {
-            formatter.format("%02x", b);
+        for (; i < data.length; i++) {
+            h ^= (data[i] & 0xFFL) * HASH64_PRIME_3;
+            h = Long.rotateLeft(h, 11) * HASH64_PRIME_1;
         }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
     }
 
+    /**
+     * @deprecated Use {@link #createFingerprint(boolean, int, int, String, Inventory)} instead
+     */
+    @Deprecated
+    public static String createSha1(boolean rightHanded, int selectedSlot, int level, String title, Inventory inventory) throws Exception {
+        return createFingerprint(rightHanded, selectedSlot, level, title, inventory);
+    }
+
+    /**
+     * @deprecated Use {@link #createFingerprint(String, Inventory)} instead
+     */
+    @Deprecated
     public static String createSha1(String title, Inventory inventory) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
-        if (title == null) {
-            dataOutput.writeBoolean(false);
-        } else {
-            dataOutput.writeBoolean(true);
-            dataOutput.write(title.getBytes(StandardCharsets.UTF_8));
+        return createFingerprint(title, inventory);
+    }
+
+    /**
+     * @deprecated Use {@link #createFingerprint(String, ItemStack)} instead
+     */
+    @Deprecated
+    public static String createSha1(String title, ItemStack item) throws Exception {
+        return createFingerprint(title, item);
+    }
+
+    public static String createFingerprint(boolean rightHanded, int selectedSlot, int level, String title, Inventory inventory) {
+        Hasher hasher = FINGERPRINT_FUNCTION.newHasher();
+        hasher.putBoolean(rightHanded);
+        hasher.putByte((byte) selectedSlot);
+        hasher.putInt(level);
+        putTitle(hasher, title);
+        putInventory(hasher, inventory);
+        return hasher.hash().toString();
+    }
+
+    public static String createFingerprint(String title, Inventory inventory) {
+        Hasher hasher = FINGERPRINT_FUNCTION.newHasher();
+        putTitle(hasher, title);
+        putInventory(hasher, inventory);
+        return hasher.hash().toString();
+    }
+
+    public static String createFingerprint(String title, ItemStack item) {
+        Hasher hasher = FINGERPRINT_FUNCTION.newHasher();
+        putTitle(hasher, title);
+        hasher.putBytes(createItemFingerprint(item).asBytes());
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Hashes the binary NBT of an item with a 128-bit non-cryptographic hash.
+     * Results are cached by ItemStack identity and validated against {@link ItemStack#hashCode()}
+     * in case the same instance has been modified since.
+     */
+    public static HashCode createItemFingerprint(ItemStack item) {
+        if (item == null || item.getType().equals(Material.AIR)) {
+            return EMPTY_ITEM_FINGERPRINT;
         }
-        dataOutput.writeInt(inventory.getSize());
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ByteArrayDataOutput itemByte = ByteStreams.newDataOutput();
-            DataTypeIO.writeItemStack(itemByte, 0, inventory.getItem(i), StandardCharsets.UTF_8);
-            dataOutput.write(itemByte.toByteArray());
+        int identity = item.hashCode();
+        ItemFingerprint cached = ITEM_FINGERPRINTS.getIfPresent(item);
+        if (cached != null && cached.identity == identity) {
+            return cached.hash;
         }
-        dataOutput.close();
-        byte[] bytes = outputStream.toByteArray();
-        MessageDigest md = MessageDigest.getInstance("SHA-1");
-        Formatter formatter = new Formatter();
-        for (byte b : md.digest(bytes)) {
-            formatter.format("%02x", b);
+        Hasher hasher = FINGERPRINT_FUNCTION.newHasher();
+        hasher.putBoolean(true);
+        try {
+            hasher.putBytes(ItemNBTUtils.getNMSItemStackBytes(item));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        HashCode hash = hasher.hash();
+        ITEM_FINGERPRINTS.put(item, new ItemFingerprint(identity, hash));
+        return hash;
     }
 
-    public static String createSha1(String title, ItemStack item) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
+    private static void putTitle(Hasher hasher, String title) {
         if (title == null) {
-            dataOutput.writeBoolean(false);
+            hasher.putBoolean(false);
         } else {
-            dataOutput.writeBoolean(true);
-            dataOutput.write(title.getBytes(StandardCharsets.UTF_8));
+            hasher.putBoolean(true);
+            hasher.putString(title, StandardCharsets.UTF_8);
         }
-        ByteArrayDataOutput itemByte = ByteStreams.newDataOutput();
-        DataTypeIO.writeItemStack(itemByte, 0, item, StandardCharsets.UTF_8);
-        dataOutput.write(itemByte.toByteArray());
-        dataOutput.close();
-        byte[] bytes = outputStream.toByteArray();
-        MessageDigest md = MessageDigest.getInstance("SHA-1");
-        Formatter formatter = new Formatter();
-        for (byte b : md.digest(bytes)) {
-            formatter.format("%02x", b);
+    }
+
+    private static void putInventory(Hasher hasher, Inventory inventory) {
+        hasher.putInt(inventory.getSize());
+        for (int i = 0; i < inventory.getSize(); i++) {
+            hasher.putBytes(createItemFingerprint(inventory.getItem(i)).asBytes());
         }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+    }
+
+    private static class ItemFingerprint {
+
+        private final int identity;
+        private final HashCode hash;
+
+        private ItemFingerprint(int identity, HashCode hash) {
+            this.identity = identity;
+            this.hash = hash;
+        }
+
     }
 
 }
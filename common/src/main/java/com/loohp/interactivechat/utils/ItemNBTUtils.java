@@ -27,6 +27,7 @@ import net.kyori.adventure.text.event.DataComponentValue;
 import net.kyori.adventure.text.serializer.gson.GsonDataComponentValue;
 import org.bukkit.inventory.ItemStack;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,10 @@ public class ItemNBTUtils {
         return NMS.getInstance().getNMSItemStackJson(itemStack);
     }
 
+    public static byte[] getNMSItemStackBytes(ItemStack itemStack) throws IOException {
+        return NMS.getInstance().getNMSItemStackBytes(itemStack);
+    }
+
     public static String getNMSItemStackCommandComponent(ItemStack itemStack) {
         Map<Key, DataComponentValue> components = getNMSItemStackDataComponents(itemStack);
         List<String> componentStrings = new ArrayList<>(components.size());
@@ -21,6 +21,7 @@
 package com.loohp.interactivechat.utils;
 
 import com.cryptomorin.xseries.XMaterial;
+import com.google.common.collect.Iterators;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.nms.NMS;
 import com.loohp.interactivechat.objectholders.ICMaterial;
@@ -51,8 +52,13 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -98,146 +104,186 @@ public class LanguageUtils {
                 JSONObject data = (JSONObject) new JSONParser().parse(hashStream);
                 hashStream.close();
 
-                try {
-                    JSONObject manifest = HTTPRequestUtils.getJSONResponse(VERSION_MANIFEST_URL);
-                    if (manifest == null) {
-                        Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to fetch version_manifest from " + VERSION_MANIFEST_URL);
-                    } else {
-                        String mcVersion = InteractiveChat.exactMinecraftVersion;
-                        Object urlObj = ((JSONArray) manifest.get("versions")).stream().filter(each -> ((JSONObject) each).get("id").toString().equalsIgnoreCase(mcVersion)).map(each -> ((JSONObject) each).get("url").toString()).findFirst().orElse(null);
-                        if (urlObj == null) {
-                            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to find " + mcVersion + " from version_manifest");
+                String mcVersion = InteractiveChat.exactMinecraftVersion;
+                File cacheFile = new File(langFolder, "translations.bin");
+                Map<String, String> expectedHashes = new HashMap<>();
+                for (String lang : new HashSet<>(Arrays.asList("en_us", language))) {
+                    Object values = data.get(lang);
+                    if (values instanceof JSONObject && ((JSONObject) values).get("hash") != null) {
+                        expectedHashes.put(lang, ((JSONObject) values).get("hash").toString());
+                    }
+                }
+                Map<String, Map<String, String>> cached = null;
+                if (expectedHashes.containsKey("en_us") && expectedHashes.containsKey(language)) {
+                    try {
+                        cached = TranslationCache.read(cacheFile, mcVersion, expectedHashes);
+                    } catch (Exception e) {
+                        Bukkit.getConsoleSender().sendMessage(ChatColor.YELLOW + "[InteractiveChat] Unable to read cached languages, they will be downloaded again");
+                        e.printStackTrace();
+                    }
+                }
+
+                if (cached != null) {
+                    for (Entry<String, Map<String, String>> entry : cached.entrySet()) {
+                        translations.put(entry.getKey(), new LayeredMapping(entry.getValue()));
+                    }
+                } else {
+                    Map<String, Map<String, String>> loaded = new HashMap<>();
+                    try {
+                        JSONObject manifest = HTTPRequestUtils.getJSONResponse(VERSION_MANIFEST_URL);
+                        if (manifest == null) {
+                            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to fetch version_manifest from " + VERSION_MANIFEST_URL);
                         } else {
-                            JSONObject versionData = HTTPRequestUtils.getJSONResponse(urlObj.toString());
-                            if (versionData == null) {
-                                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to fetch version data from " + urlObj);
+                            Object urlObj = ((JSONArray) manifest.get("versions")).stream().filter(each -> ((JSONObject) each).get("id").toString().equalsIgnoreCase(mcVersion)).map(each -> ((JSONObject) each).get("url").toString()).findFirst().orElse(null);
+                            if (urlObj == null) {
+                                Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to find " + mcVersion + " from version_manifest");
                             } else {
-                                String clientUrl = ((JSONObject) ((JSONObject) versionData.get("downloads")).get("client")).get("url").toString();
-                                try (ZipArchiveInputStream zip = new ZipArchiveInputStream(new ByteArrayInputStream(HTTPRequestUtils.download(clientUrl)), StandardCharsets.UTF_8.toString(), false, true, true)) {
-                                    while (true) {
-                                        ZipArchiveEntry entry = zip.getNextZipEntry();
-                                        if (entry == null) {
-                                            break;
-                                        }
-                                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                                        byte[] byteChunk = new byte[4096];
-                                        int n;
-                                        while ((n = zip.read(byteChunk)) > 0) {
-                                            baos.write(byteChunk, 0, n);
-                                        }
-                                        byte[] currentEntry = baos.toByteArray();
-
-                                        String name = entry.getName().toLowerCase();
-                                        if (name.matches("^.*assets/minecraft/lang/en_us.(json|lang)$")) {
-                                            String enUsFileHash = HashUtils.createSha1String(new ByteArrayInputStream(currentEntry));
-                                            String enUsExtension = name.substring(name.indexOf(".") + 1);
-                                            if (data.containsKey("en_us")) {
-                                                JSONObject values = (JSONObject) data.get("en_us");
-                                                File fileToSave = new File(langFileFolder, "en_us" + "." + enUsExtension);
-                                                if (!values.get("hash").toString().equals(enUsFileHash) || !fileToSave.exists()) {
+                                JSONObject versionData = HTTPRequestUtils.getJSONResponse(urlObj.toString());
+                                if (versionData == null) {
+                                    Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to fetch version data from " + urlObj);
+                                } else {
+                                    String clientUrl = ((JSONObject) ((JSONObject) versionData.get("downloads")).get("client")).get("url").toString();
+                                    try (ZipArchiveInputStream zip = new ZipArchiveInputStream(new ByteArrayInputStream(HTTPRequestUtils.download(clientUrl)), StandardCharsets.UTF_8.toString(), false, true, true)) {
+                                        while (true) {
+                                            ZipArchiveEntry entry = zip.getNextZipEntry();
+                                            if (entry == null) {
+                                                break;
+                                            }
+                                            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                                            byte[] byteChunk = new byte[4096];
+                                            int n;
+                                            while ((n = zip.read(byteChunk)) > 0) {
+                                                baos.write(byteChunk, 0, n);
+                                            }
+                                            byte[] currentEntry = baos.toByteArray();
+
+                                            String name = entry.getName().toLowerCase();
+                                            if (name.matches("^.*assets/minecraft/lang/en_us.(json|lang)$")) {
+                                                String enUsFileHash = HashUtils.createSha1String(new ByteArrayInputStream(currentEntry));
+                                                String enUsExtension = name.substring(name.indexOf(".") + 1);
+                                                if (data.containsKey("en_us")) {
+                                                    JSONObject values = (JSONObject) data.get("en_us");
+                                                    File fileToSave = new File(langFileFolder, "en_us" + "." + enUsExtension);
+                                                    if (!values.get("hash").toString().equals(enUsFileHash) || !fileToSave.exists()) {
+                                                        values.put("hash", enUsFileHash);
+                                                        if (fileToSave.exists()) {
+                                                            fileToSave.delete();
+                                                        }
+                                                        FileUtils.copy(new ByteArrayInputStream(currentEntry), fileToSave);
+                                                    }
+                                                } else {
+                                                    JSONObject values = new JSONObject();
                                                     values.put("hash", enUsFileHash);
+                                                    File fileToSave = new File(langFileFolder, "en_us" + "." + enUsExtension);
                                                     if (fileToSave.exists()) {
                                                         fileToSave.delete();
                                                     }
                                                     FileUtils.copy(new ByteArrayInputStream(currentEntry), fileToSave);
+                                                    data.put("en_us", values);
                                                 }
-                                            } else {
-                                                JSONObject values = new JSONObject();
-                                                values.put("hash", enUsFileHash);
-                                                File fileToSave = new File(langFileFolder, "en_us" + "." + enUsExtension);
-                                                if (fileToSave.exists()) {
-                                                    fileToSave.delete();
-                                                }
-                                                FileUtils.copy(new ByteArrayInputStream(currentEntry), fileToSave);
-                                                data.put("en_us", values);
+                                                zip.close();
+                                                break;
                                             }
-                                            zip.close();
-                                            break;
                                         }
+                                    } catch (Exception e) {
+                                        e.printStackTrace();
                                     }
-                                } catch (Exception e) {
-                                    e.printStackTrace();
-                                }
 
-                                String indexUrl = ((JSONObject) versionData.get("assetIndex")).get("url").toString();
-                                JSONObject assets = HTTPRequestUtils.getJSONResponse(indexUrl);
-                                if (assets == null) {
-                                    Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to fetch assets data from " + indexUrl);
-                                } else {
-                                    JSONObject objects = (JSONObject) assets.get("objects");
-                                    for (Object obj : objects.keySet()) {
-                                        String key = obj.toString().toLowerCase();
-                                        if (key.matches("^minecraft\\/lang\\/" + language + ".(json|lang)$")) {
-                                            String lang = key.substring(key.lastIndexOf("/") + 1, key.indexOf("."));
-                                            String extension = key.substring(key.indexOf(".") + 1);
-                                            String hash = ((JSONObject) objects.get(obj.toString())).get("hash").toString();
-                                            String fileUrl = RESOURCES_URL + hash.substring(0, 2) + "/" + hash;
-                                            if (data.containsKey(lang)) {
-                                                JSONObject values = (JSONObject) data.get(lang);
-                                                File fileToSave = new File(langFileFolder, lang + "." + extension);
-                                                if (!values.get("hash").toString().equals(hash) || !fileToSave.exists()) {
+                                    String indexUrl = ((JSONObject) versionData.get("assetIndex")).get("url").toString();
+                                    JSONObject assets = HTTPRequestUtils.getJSONResponse(indexUrl);
+                                    if (assets == null) {
+                                        Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to fetch assets data from " + indexUrl);
+                                    } else {
+                                        JSONObject objects = (JSONObject) assets.get("objects");
+                                        for (Object obj : objects.keySet()) {
+                                            String key = obj.toString().toLowerCase();
+                                            if (key.matches("^minecraft\\/lang\\/" + language + ".(json|lang)$")) {
+                                                String lang = key.substring(key.lastIndexOf("/") + 1, key.indexOf("."));
+                                                String extension = key.substring(key.indexOf(".") + 1);
+                                                String hash = ((JSONObject) objects.get(obj.toString())).get("hash").toString();
+                                                String fileUrl = RESOURCES_URL + hash.substring(0, 2) + "/" + hash;
+                                                if (data.containsKey(lang)) {
+                                                    JSONObject values = (JSONObject) data.get(lang);
+                                                    File fileToSave = new File(langFileFolder, lang + "." + extension);
+                                                    if (!values.get("hash").toString().equals(hash) || !fileToSave.exists()) {
+                                                        values.put("hash", hash);
+                                                        if (fileToSave.exists()) {
+                                                            fileToSave.delete();
+                                                        }
+                                                        if (!HTTPRequestUtils.download(fileToSave, fileUrl)) {
+                                                            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to download " + key + " from " + fileUrl);
+                                                        }
+                                                    }
+                                                } else {
+                                                    JSONObject values = new JSONObject();
                                                     values.put("hash", hash);
+                                                    File fileToSave = new File(langFileFolder, lang + "." + extension);
                                                     if (fileToSave.exists()) {
                                                         fileToSave.delete();
                                                     }
                                                     if (!HTTPRequestUtils.download(fileToSave, fileUrl)) {
                                                         Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to download " + key + " from " + fileUrl);
                                                     }
+                                                    data.put(lang, values);
                                                 }
-                                            } else {
-                                                JSONObject values = new JSONObject();
-                                                values.put("hash", hash);
-                                                File fileToSave = new File(langFileFolder, lang + "." + extension);
-                                                if (fileToSave.exists()) {
-                                                    fileToSave.delete();
-                                                }
-                                                if (!HTTPRequestUtils.download(fileToSave, fileUrl)) {
-                                                    Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to download " + key + " from " + fileUrl);
-                                                }
-                                                data.put(lang, values);
                                             }
                                         }
                                     }
                                 }
                             }
                         }
+                        JsonUtils.saveToFilePretty(data, hashFile);
+                    } catch (Exception e) {
+                        Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to download latest languages files from Mojang");
+                        e.printStackTrace();
                     }
-                    JsonUtils.saveToFilePretty(data, hashFile);
-                } catch (Exception e) {
-                    Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to download latest languages files from Mojang");
-                    e.printStackTrace();
-                }
 
-                String langRegex = "(en_us|" + language + ")";
+                    String langRegex = "(en_us|" + language + ")";
+
+                    for (File file : langFileFolder.listFiles()) {
+                        try {
+                            if (file.getName().matches("^" + langRegex + ".json$")) {
+                                InputStreamReader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+                                JSONObject json = (JSONObject) new JSONParser().parse(reader);
+                                reader.close();
+                                Map<String, String> mapping = new HashMap<>();
+                                for (Object obj : json.keySet()) {
+                                    try {
+                                        String key = (String) obj;
+                                        mapping.put(key, (String) json.get(key));
+                                    } catch (Exception e) {
+                                    }
+                                }
+                                loaded.put(file.getName().substring(0, file.getName().lastIndexOf(".")), mapping);
+                            } else if (file.getName().matches("^" + langRegex + ".lang$")) {
+                                BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+                                Map<String, String> mapping = new HashMap<>();
+                                br.lines().forEach(line -> {
+                                    if (line.contains("=")) {
+                                        mapping.put(line.substring(0, line.indexOf("=")), line.substring(line.indexOf("=") + 1));
+                                    }
+                                });
+                                br.close();
+                                loaded.put(file.getName().substring(0, file.getName().lastIndexOf(".")), mapping);
+                            }
+                        } catch (Exception e) {
+                            Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to load " + file.getName());
+                            e.printStackTrace();
+                        }
+                    }
+                    translations.putAll(loaded);
 
-                for (File file : langFileFolder.listFiles()) {
                     try {
-                        if (file.getName().matches("^" + langRegex + ".json$")) {
-                            InputStreamReader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
-                            JSONObject json = (JSONObject) new JSONParser().parse(reader);
-                            reader.close();
-                            Map<String, String> mapping = new HashMap<>();
-                            for (Object obj : json.keySet()) {
-                                try {
-                                    String key = (String) obj;
-                                    mapping.put(key, (String) json.get(key));
-                                } catch (Exception e) {
-                                }
+                        Map<String, String> hashes = new HashMap<>();
+                        for (String lang : loaded.keySet()) {
+                            Object values = data.get(lang);
+                            if (values instanceof JSONObject && ((JSONObject) values).get("hash") != null) {
+                                hashes.put(lang, ((JSONObject) values).get("hash").toString());
                             }
-                            translations.put(file.getName().substring(0, file.getName().lastIndexOf(".")), mapping);
-                        } else if (file.getName().matches("^" + langRegex + ".lang$")) {
-                            BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
-                            Map<String, String> mapping = new HashMap<>();
-                            br.lines().forEach(line -> {
-                                if (line.contains("=")) {
-                                    mapping.put(line.substring(0, line.indexOf("=")), line.substring(line.indexOf("=") + 1));
-                                }
-                            });
-                            br.close();
-                            translations.put(file.getName().substring(0, file.getName().lastIndexOf(".")), mapping);
                         }
+                        TranslationCache.write(cacheFile, mcVersion, hashes, loaded);
                     } catch (Exception e) {
-                        Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[InteractiveChat] Unable to load " + file.getName());
+                        Bukkit.getConsoleSender().sendMessage(ChatColor.YELLOW + "[InteractiveChat] Unable to cache languages");
                         e.printStackTrace();
                     }
                 }
@@ -387,21 +433,71 @@ public class LanguageUtils {
         try {
             Map<String, String> mapping = translations.get(language);
             if (language.equals("en_us")) {
-                String result = mapping.getOrDefault(translationKey, translationKey);
-                boolean hasTranslation = mapping.containsKey(translationKey);
-                return new TranslationResult(result, hasTranslation);
+                String result = mapping.get(translationKey);
+                return result == null ? new TranslationResult(translationKey, false) : new TranslationResult(result, true);
             } else if (mapping == null) {
                 return getTranslation(translationKey, "en_us");
             } else {
-                String result = mapping.getOrDefault(translationKey, getTranslation(translationKey, "en_us").getResult());
-                boolean hasTranslation = mapping.containsKey(translationKey);
-                return new TranslationResult(result, hasTranslation);
+                String result = mapping.get(translationKey);
+                return result == null ? new TranslationResult(getTranslation(translationKey, "en_us").getResult(), false) : new TranslationResult(result, true);
             }
         } catch (Exception e) {
             return new TranslationResult(translationKey, false);
         }
     }
 
+    private static class LayeredMapping extends AbstractMap<String, String> {
+
+        private final Map<String, String> base;
+        private final Map<String, String> overrides;
+
+        private LayeredMapping(Map<String, String> base) {
+            this.base = base;
+            this.overrides = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public String get(Object key) {
+            String value = overrides.get(key);
+            return value == null ? base.get(key) : value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return overrides.containsKey(key) || base.containsKey(key);
+        }
+
+        @Override
+        public String put(String key, String value) {
+            String previous = get(key);
+            overrides.put(key, value);
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, String>> baseEntries = Iterators.filter(base.entrySet().iterator(), entry -> !overrides.containsKey(entry.getKey()));
+                    return Iterators.unmodifiableIterator(Iterators.concat(overrides.entrySet().iterator(), baseEntries));
+                }
+
+                @Override
+                public int size() {
+                    int size = base.size();
+                    for (String key : overrides.keySet()) {
+                        if (!base.containsKey(key)) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+
+    }
+
     public static class TranslationResult {
 
         private final String result;
@@ -0,0 +1,157 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import com.loohp.interactivechat.objectholders.InternalOfflinePlayerInfo;
+import net.querz.nbt.io.NBTUtil;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.io.SNBTUtil;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.ListTag;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Reads the parts of an offline player's saved data InteractiveChat displays straight from
+ * playerdata/&lt;uuid&gt;.dat, without creating a player entity.
+ * Files saved with a different data version are left to the server so that they get upgraded.
+ */
+public class OfflinePlayerDataReader {
+
+    private static final int INVENTORY_ARMOR_START = 36;
+    private static final int INVENTORY_OFFHAND = 40;
+    private static final String[] EQUIPMENT_SLOTS = {"feet", "legs", "chest", "head"};
+
+    private static final int DATA_VERSION = getServerDataVersion();
+
+    @SuppressWarnings("deprecation")
+    private static int getServerDataVersion() {
+        try {
+            return Bukkit.getUnsafe().getDataVersion();
+        } catch (Throwable e) {
+            return -1;
+        }
+    }
+
+    public static boolean isSupported() {
+        return DATA_VERSION > 0;
+    }
+
+    public static File getPlayerDataFile(UUID uuid) {
+        if (Bukkit.getWorlds().isEmpty()) {
+            return null;
+        }
+        World world = Bukkit.getWorlds().get(0);
+        return new File(world.getWorldFolder(), "playerdata" + File.separator + uuid + ".dat");
+    }
+
+    /**
+     * @return The read data, or null if the file does not exist or has to be loaded by the server instead
+     */
+    public static InternalOfflinePlayerInfo read(File file, Inventory inventory, Inventory enderchest) throws IOException {
+        if (!isSupported() || !file.exists()) {
+            return null;
+        }
+        NamedTag namedTag = NBTUtil.read(file);
+        if (!(namedTag.getTag() instanceof CompoundTag)) {
+            return null;
+        }
+        CompoundTag root = (CompoundTag) namedTag.getTag();
+        if (root.getInt("DataVersion") != DATA_VERSION) {
+            return null;
+        }
+
+        int selectedSlot = root.getInt("SelectedItemSlot");
+        int xpLevel = root.getInt("XpLevel");
+
+        ListTag<CompoundTag> inventoryTag = getCompoundList(root, "Inventory");
+        if (inventoryTag != null) {
+            for (CompoundTag itemTag : inventoryTag) {
+                int slot = toInventorySlot(itemTag.getByte("Slot"));
+                if (slot >= 0 && slot < inventory.getSize()) {
+                    inventory.setItem(slot, toItemStack(itemTag));
+                }
+            }
+        }
+        CompoundTag equipmentTag = root.getCompoundTag("equipment");
+        if (equipmentTag != null) {
+            for (int i = 0; i < EQUIPMENT_SLOTS.length; i++) {
+                CompoundTag itemTag = equipmentTag.getCompoundTag(EQUIPMENT_SLOTS[i]);
+                if (itemTag != null && INVENTORY_ARMOR_START + i < inventory.getSize()) {
+                    inventory.setItem(INVENTORY_ARMOR_START + i, toItemStack(itemTag));
+                }
+            }
+            CompoundTag offhandTag = equipmentTag.getCompoundTag("offhand");
+            if (offhandTag != null && INVENTORY_OFFHAND < inventory.getSize()) {
+                inventory.setItem(INVENTORY_OFFHAND, toItemStack(offhandTag));
+            }
+        }
+
+        ListTag<CompoundTag> enderTag = getCompoundList(root, "EnderItems");
+        if (enderTag != null) {
+            for (CompoundTag itemTag : enderTag) {
+                int slot = itemTag.getByte("Slot") & 255;
+                if (slot < enderchest.getSize()) {
+                    enderchest.setItem(slot, toItemStack(itemTag));
+                }
+            }
+        }
+
+        return new InternalOfflinePlayerInfo(selectedSlot, true, xpLevel, inventory, enderchest);
+    }
+
+    private static int toInventorySlot(byte slot) {
+        if (slot >= 0 && slot < INVENTORY_ARMOR_START) {
+            return slot;
+        }
+        if (slot >= 100 && slot <= 103) {
+            return INVENTORY_ARMOR_START + slot - 100;
+        }
+        if (slot == -106) {
+            return INVENTORY_OFFHAND;
+        }
+        return -1;
+    }
+
+    private static ListTag<CompoundTag> getCompoundList(CompoundTag root, String key) {
+        ListTag<?> list = root.getListTag(key);
+        if (list == null || list.size() == 0 || !CompoundTag.class.equals(list.getTypeClass())) {
+            return null;
+        }
+        return list.asCompoundTagList();
+    }
+
+    private static ItemStack toItemStack(CompoundTag itemTag) throws IOException {
+        CompoundTag tag = itemTag;
+        if (tag.containsKey("Slot")) {
+            tag = tag.clone();
+            tag.remove("Slot");
+        }
+        return ItemNBTUtils.getItemFromNBTJson(SNBTUtil.toSNBT(tag));
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of plugin messaging payloads. Compressed payloads are flagged by setting {@link #COMPRESSED_FLAG}
+ * on the packet id in the packet header, and are laid out as the uncompressed length followed by zlib data
+ * produced with {@link #DICTIONARY} as the preset dictionary.
+ * <p>
+ * The dictionary must be identical on every server, changing it requires a plugin messaging protocol bump.
+ */
+public class PacketCompressionUtils {
+
+    public static final int COMPRESSED_FLAG = 0x8000;
+    public static final int COMPRESSION_THRESHOLD = 512;
+    public static final int MAX_DECOMPRESSED_SIZE = 64 * 1024 * 1024;
+
+    private static final byte[] DICTIONARY = (
+            "{\"text\":\"\",\"extra\":[{\"text\":\"" +
+            "\"color\":\"gray\",\"color\":\"white\",\"color\":\"yellow\",\"color\":\"gold\",\"color\":\"aqua\"," +
+            "\"italic\":false,\"bold\":false,\"underlined\":false,\"strikethrough\":false,\"obfuscated\":false," +
+            "\"hoverEvent\":{\"action\":\"show_text\",\"contents\":\"show_item\",\"value\":" +
+            "\"clickEvent\":{\"action\":\"run_command\",\"suggest_command\",\"open_url\",\"value\":\"/interactivechat " +
+            "\"translate\":\"item.minecraft.\",\"block.minecraft.\",\"with\":[\"font\":\"minecraft:default\"" +
+            "{id:\"minecraft:\",Count:1b,count:1,tag:{display:{Name:'Lore:[\"components\":{\"minecraft:custom_name\"," +
+            "\"minecraft:lore\",\"minecraft:enchantments\":{levels:{Enchantments:[{id:\"minecraft:\",lvl:1s}]," +
+            "Damage:0,Unbreakable:1b,CustomModelData:SkullOwner:{Id:[I;Properties:{textures:[{Value:\"" +
+            "[item][inv][ender]%player_name%%player_displayname%"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private static volatile boolean enabled = false;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        PacketCompressionUtils.enabled = enabled;
+    }
+
+    public static boolean shouldCompress(byte[] data) {
+        return enabled && data.length >= COMPRESSION_THRESHOLD;
+    }
+
+    /**
+     * Compresses the payload if compression is enabled and worthwhile.
+     *
+     * @return the payload to send along with the packet id to write in the packet header
+     */
+    public static EncodedPayload encode(int packetId, byte[] data) {
+        if (shouldCompress(data)) {
+            byte[] compressed = compress(data);
+            if (compressed != null) {
+                return new EncodedPayload(packetId | COMPRESSED_FLAG, compressed);
+            }
+        }
+        return new EncodedPayload(packetId, data);
+    }
+
+    /**
+     * @return the compressed payload, or null if compressing would not make it any smaller
+     */
+    public static byte[] compress(byte[] data) {
+        if (data.length <= 4) {
+            return null;
+        }
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(data);
+        deflater.finish();
+        byte[] buffer = new byte[data.length];
+        buffer[0] = (byte) (data.length >>> 24);
+        buffer[1] = (byte) (data.length >>> 16);
+        buffer[2] = (byte) (data.length >>> 8);
+        buffer[3] = (byte) data.length;
+        int position = 4;
+        while (!deflater.finished()) {
+            if (position >= buffer.length) {
+                return null;
+            }
+            position += deflater.deflate(buffer, position, buffer.length - position);
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public static byte[] decompress(byte[] data) throws IOException {
+        if (data.length < 4) {
+            throw new IOException("Compressed payload is too short");
+        }
+        int length = (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+        if (length < 0 || length > MAX_DECOMPRESSED_SIZE) {
+            throw new IOException("Invalid decompressed payload length " + length);
+        }
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(data, 4, data.length - 4);
+        byte[] result = new byte[length];
+        int position = 0;
+        try {
+            while (!inflater.finished()) {
+                int read = inflater.inflate(result, position, result.length - position);
+                if (read == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput() || position >= result.length) {
+                        throw new IOException("Compressed payload is truncated or corrupted");
+                    }
+                }
+                position += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Unable to decompress payload", e);
+        }
+        if (position != length) {
+            throw new IOException("Decompressed payload length mismatch, expected " + length + " but got " + position);
+        }
+        return result;
+    }
+
+    public static class EncodedPayload {
+
+        private final int header;
+        private final byte[] data;
+
+        private EncodedPayload(int header, byte[] data) {
+            this.header = header;
+            this.data = data;
+        }
+
+        public int getHeader() {
+            return header;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+    }
+
+}
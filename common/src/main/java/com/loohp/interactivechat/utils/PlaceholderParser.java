@@ -21,25 +21,18 @@
 package com.loohp.interactivechat.utils;
 
 import com.loohp.interactivechat.InteractiveChat;
-import com.loohp.interactivechat.bungeemessaging.BungeeMessageSender;
 import com.loohp.interactivechat.objectholders.ICPlayer;
-import com.loohp.interactivechat.objectholders.ICPlayerFactory;
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
-import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.platformscheduler.Scheduler;
 import me.clip.placeholderapi.PlaceholderAPI;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -50,16 +43,32 @@ public class PlaceholderParser {
 
     private static final Pattern PLACEHOLDER_PATTERN = PlaceholderAPI.getPlaceholderPattern();
 
-    static {
-        Scheduler.runTaskTimerAsynchronously(InteractiveChat.plugin, () -> {
-            if (InteractiveChat.bungeecordMode) {
-                if (InteractiveChat.useTooltipOnTab) {
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        parse(ICPlayerFactory.getICPlayer(player), InteractiveChat.tabTooltip);
-                    }
-                }
+    private static final PlaceholderResolver RESOLVER = new PlaceholderResolver(PLACEHOLDER_PATTERN);
+
+    public static void setCacheTimeouts(long defaultTimeout, Map<String, Long> timeouts) {
+        RESOLVER.setTimeouts(defaultTimeout, timeouts);
+    }
+
+    /**
+     * Resolve the placeholders in the given texts for the player without waiting for them,
+     * this is used to keep the placeholder values known by other servers up to date.
+     */
+    public static void prefetch(ICPlayer player, Component... components) {
+        if (player == null || !player.isLocal()) {
+            return;
+        }
+        for (Component component : components) {
+            String str = InteractiveChatComponentSerializer.plainText().serialize(component);
+            if (InteractiveChat.parsePAPIOnMainThread && !Scheduler.isPrimaryThread()) {
+                RESOLVER.resolveLater(player, str);
+            } else {
+                RESOLVER.resolve(player, str);
             }
-        }, 100, 100);
+        }
+    }
+
+    public static boolean containsPlaceholders(Component component) {
+        return PLACEHOLDER_PATTERN.matcher(InteractiveChatComponentSerializer.gson().serialize(component)).find();
     }
 
     public static Component parse(OfflineICPlayer offlineICPlayer, Component component) {
@@ -76,63 +85,28 @@ public class PlaceholderParser {
     }
 
     public static String parse(OfflineICPlayer offlineICPlayer, String str) {
+        ICPlayer player = offlineICPlayer.getPlayer();
+        if (player != null && !player.isLocal()) {
+            for (Entry<String, String> entry : player.getRemotePlaceholdersMapping().entrySet()) {
+                str = str.replace(entry.getKey(), entry.getValue());
+            }
+            return ChatColorUtils.translateAlternateColorCodes('&', str);
+        }
         if (InteractiveChat.parsePAPIOnMainThread && !Scheduler.isPrimaryThread()) {
             try {
-                CompletableFuture<String> future = new CompletableFuture<>();
-                if (offlineICPlayer.isOnline() && offlineICPlayer.getPlayer().isLocal()) {
-                    Scheduler.runTask(InteractiveChat.plugin, () -> future.complete(parse0(offlineICPlayer, str)), offlineICPlayer.getPlayer().getLocalPlayer());
-                } else {
-                    Scheduler.runTask(InteractiveChat.plugin, () -> future.complete(parse0(offlineICPlayer, str)));
-                }
-                return future.get(1500, TimeUnit.MILLISECONDS);
+                return ChatColorUtils.translateAlternateColorCodes('&', RESOLVER.resolveLater(offlineICPlayer, str).get(1500, TimeUnit.MILLISECONDS));
             } catch (InterruptedException | ExecutionException e) {
                 e.printStackTrace();
                 return "";
             } catch (TimeoutException e) {
-                ICPlayer player = offlineICPlayer.getPlayer();
                 if (player == null) {
                     return PlaceholderAPI.setPlaceholders(offlineICPlayer.getLocalOfflinePlayer(), str);
                 } else {
-                    if (player.isLocal()) {
-                        return PlaceholderAPI.setPlaceholders(player.getLocalPlayer(), str);
-                    } else {
-                        return "";
-                    }
+                    return PlaceholderAPI.setPlaceholders(player.getLocalPlayer(), str);
                 }
             }
         } else {
-            return parse0(offlineICPlayer, str);
-        }
-    }
-
-    private static String parse0(OfflineICPlayer offlineICPlayer, String str) {
-        return ChatColorUtils.translateAlternateColorCodes('&', parsePlaceholder(offlineICPlayer, str));
-    }
-
-    private static String parsePlaceholder(OfflineICPlayer offlineICPlayer, String str) {
-        ICPlayer player = offlineICPlayer.getPlayer();
-        if (player == null) {
-            return PlaceholderAPI.setPlaceholders(offlineICPlayer.getLocalOfflinePlayer(), str);
-        } else {
-            if (player.isLocal()) {
-                if (InteractiveChat.bungeecordMode) {
-                    List<ValuePairs<String, String>> pairs = new ArrayList<>();
-                    for (Entry<String, String> entry : getAllPlaceholdersContained(player.getLocalPlayer(), str).entrySet()) {
-                        pairs.add(new ValuePairs<>(entry.getKey(), entry.getValue()));
-                    }
-                    try {
-                        BungeeMessageSender.forwardPlaceholders(System.currentTimeMillis(), player.getUniqueId(), pairs);
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-                return PlaceholderAPI.setPlaceholders(player.getLocalPlayer(), str);
-            } else {
-                for (Entry<String, String> entry : player.getRemotePlaceholdersMapping().entrySet()) {
-                    str = str.replace(entry.getKey(), entry.getValue());
-                }
-                return str;
-            }
+            return ChatColorUtils.translateAlternateColorCodes('&', RESOLVER.resolve(offlineICPlayer, str));
         }
     }
 
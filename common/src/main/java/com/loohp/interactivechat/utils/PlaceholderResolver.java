@@ -0,0 +1,275 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.loohp.interactivechat.InteractiveChat;
+import com.loohp.interactivechat.bungeemessaging.BungeeMessageSender;
+import com.loohp.interactivechat.objectholders.ICPlayer;
+import com.loohp.interactivechat.objectholders.OfflineICPlayer;
+import com.loohp.interactivechat.objectholders.ValuePairs;
+import com.loohp.platformscheduler.Scheduler;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves PlaceholderAPI placeholders for local and offline players.
+ * Resolved placeholders are cached per player with a timeout that can be set per placeholder identifier,
+ * and requests made off the main thread are collected and resolved together in one task per player per tick.
+ */
+public class PlaceholderResolver {
+
+    private final Pattern pattern;
+    private final Map<UUID, PendingBatch> batches;
+    private volatile Cache<ValuePairs<UUID, String>, CachedPlaceholder> cache;
+    private volatile long defaultTimeout;
+    private volatile Map<String, Long> timeouts;
+
+    public PlaceholderResolver(Pattern pattern) {
+        this.pattern = pattern;
+        this.batches = new ConcurrentHashMap<>();
+        setTimeouts(0, Collections.emptyMap());
+    }
+
+    public synchronized void setTimeouts(long defaultTimeout, Map<String, Long> timeouts) {
+        long maxTimeout = defaultTimeout;
+        for (long timeout : timeouts.values()) {
+            maxTimeout = Math.max(maxTimeout, timeout);
+        }
+        this.defaultTimeout = defaultTimeout;
+        this.timeouts = Collections.unmodifiableMap(new HashMap<>(timeouts));
+        this.cache = CacheBuilder.newBuilder().expireAfterWrite(Math.max(1, maxTimeout), TimeUnit.MILLISECONDS).build();
+    }
+
+    public void clearCache() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Resolve on the current thread
+     */
+    public String resolve(OfflineICPlayer offlineICPlayer, String str) {
+        Request request = createRequest(offlineICPlayer, str);
+        if (!request.isResolved()) {
+            resolve(offlineICPlayer, Collections.singletonList(request));
+        }
+        return request.apply();
+    }
+
+    /**
+     * Resolve in the next batch on the main thread (or the player's region thread), unless everything is already cached
+     */
+    public CompletableFuture<String> resolveLater(OfflineICPlayer offlineICPlayer, String str) {
+        Request request = createRequest(offlineICPlayer, str);
+        if (request.isResolved()) {
+            return CompletableFuture.completedFuture(request.apply());
+        }
+        PendingBatch batch = batches.computeIfAbsent(offlineICPlayer.getUniqueId(), k -> new PendingBatch(offlineICPlayer));
+        batch.requests.add(request);
+        if (batch.scheduled.compareAndSet(false, true)) {
+            ICPlayer player = offlineICPlayer.getPlayer();
+            if (player != null && player.isLocal()) {
+                Scheduler.runTask(InteractiveChat.plugin, () -> flush(batch), player.getLocalPlayer());
+            } else {
+                Scheduler.runTask(InteractiveChat.plugin, () -> flush(batch));
+            }
+        }
+        return request.future;
+    }
+
+    private void flush(PendingBatch batch) {
+        batches.remove(batch.player.getUniqueId(), batch);
+        batch.scheduled.set(false);
+        List<Request> requests = new ArrayList<>();
+        Request request;
+        while ((request = batch.requests.poll()) != null) {
+            requests.add(request);
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+        try {
+            resolve(batch.player, requests);
+            for (Request each : requests) {
+                each.future.complete(each.apply());
+            }
+        } catch (Throwable e) {
+            for (Request each : requests) {
+                each.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void resolve(OfflineICPlayer offlineICPlayer, List<Request> requests) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (Request request : requests) {
+            missing.addAll(request.missing);
+        }
+        ICPlayer player = offlineICPlayer.getPlayer();
+        Player localPlayer = player != null && player.isLocal() ? player.getLocalPlayer() : null;
+        Cache<ValuePairs<UUID, String>, CachedPlaceholder> cache = this.cache;
+        long now = System.currentTimeMillis();
+        Map<String, String> resolved = new HashMap<>();
+        List<ValuePairs<String, String>> pairs = new ArrayList<>();
+        for (String placeholder : missing) {
+            String value = localPlayer == null ? PlaceholderAPI.setPlaceholders(offlineICPlayer.getLocalOfflinePlayer(), placeholder) : PlaceholderAPI.setPlaceholders(localPlayer, placeholder);
+            resolved.put(placeholder, value);
+            pairs.add(new ValuePairs<>(placeholder, value));
+            long timeout = getTimeout(placeholder);
+            if (timeout > 0) {
+                cache.put(new ValuePairs<>(offlineICPlayer.getUniqueId(), placeholder), new CachedPlaceholder(value, now + timeout));
+            }
+        }
+        for (Request request : requests) {
+            request.values.putAll(resolved);
+        }
+        if (localPlayer != null && InteractiveChat.bungeecordMode && !pairs.isEmpty()) {
+            try {
+                BungeeMessageSender.forwardPlaceholders(System.currentTimeMillis(), offlineICPlayer.getUniqueId(), pairs);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private Request createRequest(OfflineICPlayer offlineICPlayer, String str) {
+        Request request = new Request(str);
+        Matcher matcher = pattern.matcher(str);
+        if (!matcher.find()) {
+            return request;
+        }
+        Cache<ValuePairs<UUID, String>, CachedPlaceholder> cache = this.cache;
+        long now = System.currentTimeMillis();
+        do {
+            String placeholder = matcher.group();
+            if (request.values.containsKey(placeholder)) {
+                continue;
+            }
+            CachedPlaceholder cached = cache.getIfPresent(new ValuePairs<>(offlineICPlayer.getUniqueId(), placeholder));
+            if (cached != null && cached.getExpireAt() > now) {
+                request.values.put(placeholder, cached.getValue());
+            } else {
+                request.missing.add(placeholder);
+            }
+        } while (matcher.find());
+        return request;
+    }
+
+    private long getTimeout(String placeholder) {
+        Map<String, Long> timeouts = this.timeouts;
+        if (!timeouts.isEmpty()) {
+            int end = placeholder.indexOf('_');
+            String identifier = end < 0 ? placeholder.substring(1, placeholder.length() - 1) : placeholder.substring(1, end);
+            Long timeout = timeouts.get(identifier.toLowerCase());
+            if (timeout != null) {
+                return timeout;
+            }
+        }
+        return defaultTimeout;
+    }
+
+    private static class PendingBatch {
+
+        private final OfflineICPlayer player;
+        private final Queue<Request> requests;
+        private final AtomicBoolean scheduled;
+
+        private PendingBatch(OfflineICPlayer player) {
+            this.player = player;
+            this.requests = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean(false);
+        }
+
+    }
+
+    private class Request {
+
+        private final String str;
+        private final Map<String, String> values;
+        private final Set<String> missing;
+        private final CompletableFuture<String> future;
+
+        private Request(String str) {
+            this.str = str;
+            this.values = new HashMap<>();
+            this.missing = new LinkedHashSet<>();
+            this.future = new CompletableFuture<>();
+        }
+
+        private boolean isResolved() {
+            return missing.isEmpty();
+        }
+
+        private String apply() {
+            if (values.isEmpty()) {
+                return str;
+            }
+            Matcher matcher = pattern.matcher(str);
+            StringBuffer sb = new StringBuffer();
+            while (matcher.find()) {
+                String value = values.get(matcher.group());
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(value == null ? matcher.group() : value));
+            }
+            matcher.appendTail(sb);
+            return sb.toString();
+        }
+
+    }
+
+    private static class CachedPlaceholder {
+
+        private final String value;
+        private final long expireAt;
+
+        private CachedPlaceholder(String value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getExpireAt() {
+            return expireAt;
+        }
+
+    }
+
+}
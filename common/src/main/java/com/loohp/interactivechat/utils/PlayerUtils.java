@@ -24,7 +24,7 @@ import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.nms.NMS;
 import com.loohp.interactivechat.objectholders.ICPlayer;
 import com.loohp.interactivechat.objectholders.ICPlayerFactory;
-import com.loohp.interactivechat.objectholders.PermissionCache;
+import com.loohp.interactivechat.objectholders.PermissionSnapshotManager;
 import com.loohp.platformscheduler.Scheduler;
 import com.viaversion.viaversion.api.Via;
 import org.bukkit.Bukkit;
@@ -33,36 +33,29 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 public class PlayerUtils implements Listener {
 
-    private static final Map<UUID, Map<String, PermissionCache>> PERMISSION_CACHE = new ConcurrentHashMap<>();
+    private static final PermissionSnapshotManager PERMISSION_SNAPSHOTS = new PermissionSnapshotManager(Arrays.asList(
+            "interactivechat.module.item",
+            "interactivechat.module.inventory",
+            "interactivechat.module.enderchest",
+            "interactivechat.mention.player",
+            "interactivechat.mention.here",
+            "interactivechat.mention.everyone",
+            "interactivechat.chatcolor.translate",
+            "interactivechat.customfont.translate",
+            "interactivechat.cooldown.bypass"
+    ));
 
     static {
-        Scheduler.runTaskTimerAsynchronously(InteractiveChat.plugin, () -> {
-            long now = System.currentTimeMillis();
-            Iterator<Entry<UUID, Map<String, PermissionCache>>> itr0 = PERMISSION_CACHE.entrySet().iterator();
-            while (itr0.hasNext()) {
-                Entry<UUID, Map<String, PermissionCache>> entry = itr0.next();
-                Map<String, PermissionCache> map = entry.getValue();
-                if (map == null || map.isEmpty()) {
-                    itr0.remove();
-                } else {
-                    map.values().removeIf(permissionCache -> permissionCache.getTime() + 180000 < now);
-                }
-            }
-        }, 0, 600);
+        Scheduler.runTaskTimerAsynchronously(InteractiveChat.plugin, () -> PERMISSION_SNAPSHOTS.cleanUp(), 0, 600);
     }
 
     public static void chatAsPlayer(Player player, String message) {
@@ -85,53 +78,33 @@ public class PlayerUtils implements Listener {
         return NMS.getInstance().getPing(player);
     }
 
+    /**
+     * @deprecated Permission checks no longer block, use {@link #hasPermission(UUID, String, boolean)}
+     */
+    @Deprecated
     public static boolean hasPermission(UUID uuid, String permission, boolean def, int timeout) {
-        Player player = Bukkit.getPlayer(uuid);
-        if (player != null) {
-            Map<String, PermissionCache> map = PERMISSION_CACHE.get(uuid);
-            if (map == null) {
-                PERMISSION_CACHE.putIfAbsent(uuid, new ConcurrentHashMap<>());
-                map = PERMISSION_CACHE.get(uuid);
-            }
-            PermissionCache cachedResult = map.get(permission);
-            boolean result = cachedResult != null ? cachedResult.getValue() : player.hasPermission(permission);
-            if (cachedResult == null) {
-                map.put(permission, new PermissionCache(result, System.currentTimeMillis()));
-            } else {
-                cachedResult.setValue(result);
-            }
-            return result;
-        } else {
-            CompletableFuture<Boolean> future = new CompletableFuture<>();
-            Scheduler.runTaskAsynchronously(InteractiveChat.plugin, () -> {
-                Map<String, PermissionCache> map = PERMISSION_CACHE.get(uuid);
-                if (map == null) {
-                    PERMISSION_CACHE.putIfAbsent(uuid, new ConcurrentHashMap<>());
-                    map = PERMISSION_CACHE.get(uuid);
-                }
-                PermissionCache cachedResult = map.get(permission);
-                boolean result = cachedResult != null ? cachedResult.getValue() : InteractiveChat.perms.playerHas(Bukkit.getWorlds().get(0).getName(), Bukkit.getOfflinePlayer(uuid), permission);
-                future.complete(result);
-                if (cachedResult == null) {
-                    map.put(permission, new PermissionCache(result, System.currentTimeMillis()));
-                } else {
-                    cachedResult.setValue(result);
-                }
-            });
-            try {
-                return future.get(timeout, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                return def;
-            }
-        }
+        return hasPermission(uuid, permission, def);
+    }
+
+    /**
+     * Check a permission against the player's permission snapshot.
+     * If the snapshot is not available yet, online players are checked directly and
+     * offline players return the default, while the snapshot is computed in the background.
+     */
+    public static boolean hasPermission(UUID uuid, String permission, boolean def) {
+        return PERMISSION_SNAPSHOTS.hasPermission(uuid, permission, def);
+    }
+
+    public static void registerPermissions(Collection<String> permissions) {
+        PERMISSION_SNAPSHOTS.registerPermissions(permissions);
     }
 
     public static void resetAllPermissionCache() {
-        PERMISSION_CACHE.clear();
+        PERMISSION_SNAPSHOTS.refreshAll();
     }
 
     public static void resetPermissionCache(UUID uuid) {
-        PERMISSION_CACHE.remove(uuid);
+        PERMISSION_SNAPSHOTS.invalidate(uuid);
     }
 
     public static ItemStack getHeldItem(Player player) {
@@ -180,7 +153,12 @@ public class PlayerUtils implements Listener {
 
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
-        PERMISSION_CACHE.remove(event.getPlayer().getUniqueId());
+        PERMISSION_SNAPSHOTS.scheduleRefresh(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        PERMISSION_SNAPSHOTS.remove(event.getPlayer().getUniqueId());
     }
 
 }
@@ -21,8 +21,11 @@
 package com.loohp.interactivechat.utils;
 
 import com.cryptomorin.xseries.XMaterial;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.nms.NMS;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -35,10 +38,12 @@ import org.json.simple.parser.JSONParser;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class SkinUtils {
 
     private static final String PLAYER_INFO_URL = "https://sessionserver.mojang.com/session/minecraft/profile/%s";
+    private static final Cache<ValuePairs<UUID, String>, ItemStack> SKULLS = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).maximumSize(256).build();
 
     public static String getSkinJsonFromProfile(Player player) {
         return new String(Base64.getDecoder().decode(getSkinValue(player)));
@@ -52,8 +57,30 @@ public class SkinUtils {
         return NMS.getInstance().getSkinValue(skull);
     }
 
-    @SuppressWarnings("deprecation")
+    /**
+     * Get a player head of the player, finished skulls are cached per player and skin texture,
+     * so a skin change results in a new skull.
+     */
     public static ItemStack getSkull(UUID uuid) {
+        Player player = Bukkit.getPlayer(uuid);
+        String base64 = null;
+        if (player != null) {
+            try {
+                base64 = getSkinValue(player);
+            } catch (Throwable ignore) {
+            }
+        }
+        ValuePairs<UUID, String> key = new ValuePairs<>(uuid, base64 == null ? "" : base64);
+        ItemStack head = SKULLS.getIfPresent(key);
+        if (head == null) {
+            head = createSkull(uuid, base64);
+            SKULLS.put(key, head);
+        }
+        return head.clone();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static ItemStack createSkull(UUID uuid, String base64) {
         ItemStack head = XMaterial.PLAYER_HEAD.parseItem();
 
         SkullMeta meta = (SkullMeta) head.getItemMeta();
@@ -64,10 +91,8 @@ public class SkinUtils {
         }
         head.setItemMeta(meta);
 
-        Player player = Bukkit.getPlayer(uuid);
         try {
-            if (player != null) {
-                String base64 = getSkinValue(player);
+            if (base64 != null) {
                 if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_20_5)) {
                     head = Bukkit.getUnsafe().modifyItemStack(head, "minecraft:player_head[minecraft:profile={properties:[{name:\"textures\",value:\"" + base64 + "\"}]}]");
                 } else {
@@ -0,0 +1,299 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A binary cache of parsed Minecraft translations, so that they don't have to be downloaded and parsed on every startup.
+ * The cache is only valid for the Minecraft version and the language asset hashes it was written with.
+ * <p>
+ * The file is memory-mapped when read, each language is a sorted table of offsets into a flat UTF-8 string pool
+ * which is looked up with a binary search, so no per-entry objects are kept on the heap.
+ */
+public class TranslationCache {
+
+    private static final int MAGIC = 0x49434C43;
+    private static final int FORMAT_VERSION = 1;
+    private static final int ENTRY_SIZE = 16;
+
+    public static void write(File file, String minecraftVersion, Map<String, String> hashes, Map<String, Map<String, String>> translations) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, minecraftVersion);
+            out.writeInt(translations.size());
+            for (Map.Entry<String, Map<String, String>> entry : translations.entrySet()) {
+                String language = entry.getKey();
+                writeString(out, language);
+                writeString(out, hashes.getOrDefault(language, ""));
+                writeTable(out, entry.getValue());
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return The cached translations, or null if the cache does not exist or does not match the given version and hashes
+     */
+    public static Map<String, Map<String, String>> read(File file, String minecraftVersion, Map<String, String> expectedHashes) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return null;
+        }
+        if (!minecraftVersion.equals(readString(buffer))) {
+            return null;
+        }
+        Map<String, Map<String, String>> translations = new HashMap<>();
+        int languages = buffer.getInt();
+        for (int i = 0; i < languages; i++) {
+            String language = readString(buffer);
+            String hash = readString(buffer);
+            int entries = buffer.getInt();
+            int poolLength = buffer.getInt();
+            int tableLength = entries * ENTRY_SIZE;
+            ByteBuffer table = slice(buffer, buffer.position(), tableLength);
+            ByteBuffer pool = slice(buffer, buffer.position() + tableLength, poolLength);
+            buffer.position(buffer.position() + tableLength + poolLength);
+            if (expectedHashes.containsKey(language) && hash.equals(expectedHashes.get(language))) {
+                translations.put(language, new FlatTranslationMap(entries, table, pool));
+            }
+        }
+        if (!translations.keySet().containsAll(expectedHashes.keySet())) {
+            return null;
+        }
+        return translations;
+    }
+
+    private static void writeTable(DataOutputStream out, Map<String, String> mapping) throws IOException {
+        byte[][] keys = new byte[mapping.size()][];
+        Map<ByteArrayKey, byte[]> values = new HashMap<>();
+        int i = 0;
+        for (Map.Entry<String, String> entry : mapping.entrySet()) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            keys[i++] = key;
+            values.put(new ByteArrayKey(key), entry.getValue() == null ? new byte[0] : entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        Arrays.sort(keys, (a, b) -> compare(a, 0, a.length, b, 0, b.length));
+        int poolLength = 0;
+        for (byte[] key : keys) {
+            poolLength += key.length + values.get(new ByteArrayKey(key)).length;
+        }
+        out.writeInt(keys.length);
+        out.writeInt(poolLength);
+        int offset = 0;
+        for (byte[] key : keys) {
+            byte[] value = values.get(new ByteArrayKey(key));
+            out.writeInt(offset);
+            out.writeInt(key.length);
+            out.writeInt(offset + key.length);
+            out.writeInt(value.length);
+            offset += key.length + value.length;
+        }
+        for (byte[] key : keys) {
+            out.write(key);
+            out.write(values.get(new ByteArrayKey(key)));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position);
+        duplicate.limit(position + length);
+        return duplicate.slice();
+    }
+
+    private static int compare(byte[] a, int aOffset, int aLength, byte[] b, int bOffset, int bLength) {
+        int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            int result = (a[aOffset + i] & 0xFF) - (b[bOffset + i] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    private static class ByteArrayKey {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        private ByteArrayKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ByteArrayKey && Arrays.equals(bytes, ((ByteArrayKey) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * A read-only view of one language in the cache, entries are decoded from the mapped file on access.
+     */
+    public static class FlatTranslationMap extends AbstractMap<String, String> {
+
+        private final int size;
+        private final ByteBuffer table;
+        private final ByteBuffer pool;
+
+        private FlatTranslationMap(int size, ByteBuffer table, ByteBuffer pool) {
+            this.size = size;
+            this.table = table;
+            this.pool = pool;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && indexOf((String) key) >= 0;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            int index = indexOf((String) key);
+            return index < 0 ? null : decode(table.getInt(index * ENTRY_SIZE + 8), table.getInt(index * ENTRY_SIZE + 12));
+        }
+
+        private int indexOf(String key) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            byte[] candidate = new byte[0];
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int offset = table.getInt(mid * ENTRY_SIZE);
+                int length = table.getInt(mid * ENTRY_SIZE + 4);
+                if (candidate.length < length) {
+                    candidate = new byte[Math.max(length, candidate.length * 2)];
+                }
+                for (int i = 0; i < length; i++) {
+                    candidate[i] = pool.get(offset + i);
+                }
+                int result = compare(candidate, 0, length, bytes, 0, bytes.length);
+                if (result < 0) {
+                    low = mid + 1;
+                } else if (result > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private String decode(int offset, int length) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = pool.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int base = index++ * ENTRY_SIZE;
+                            String key = decode(table.getInt(base), table.getInt(base + 4));
+                            String value = decode(table.getInt(base + 8), table.getInt(base + 12));
+                            return new SimpleImmutableEntry<>(key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+    }
+
+}
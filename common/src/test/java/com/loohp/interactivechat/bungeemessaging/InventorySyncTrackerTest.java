@@ -0,0 +1,180 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.bungeemessaging;
+
+import com.loohp.interactivechat.bungeemessaging.InventorySyncTracker.Update;
+import com.loohp.interactivechat.nms.NMS;
+import com.loohp.interactivechat.nms.NMSWrapper;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InventorySyncTrackerTest {
+
+    private final InventorySyncTracker tracker = new InventorySyncTracker();
+    private final UUID player = UUID.randomUUID();
+    private NMSWrapper nms;
+
+    @Before
+    public void setUp() throws Exception {
+        nms = mock(NMSWrapper.class);
+        setNMSInstance(nms);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        setNMSInstance(null);
+    }
+
+    private static void setNMSInstance(NMSWrapper instance) throws Exception {
+        Field field = NMS.class.getDeclaredField("instance");
+        field.setAccessible(true);
+        field.set(null, instance);
+    }
+
+    private ItemStack item(int id) throws IOException {
+        ItemStack item = mock(ItemStack.class);
+        when(item.getType()).thenReturn(Material.STONE);
+        when(nms.getNMSItemStackBytes(item)).thenReturn(new byte[] {(byte) id});
+        return item;
+    }
+
+    @Test
+    public void testFirstUpdateIsFull() {
+        Update update = tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]);
+        assertTrue(update.isFull());
+        assertEquals(update.getBaseVersion(), update.getVersion());
+    }
+
+    @Test
+    public void testUnchangedUpdateIsAnEmptyDelta() {
+        Update full = tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]);
+        Update delta = tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]);
+        assertFalse(delta.isFull());
+        assertEquals(full.getVersion(), delta.getBaseVersion());
+        assertEquals(full.getVersion() + 1, delta.getVersion());
+        assertArrayEquals(new int[0], delta.getChangedSlots());
+
+        Update next = tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]);
+        assertEquals(delta.getVersion(), next.getBaseVersion());
+    }
+
+    @Test
+    public void testChangedSlotsAreADelta() throws IOException {
+        ItemStack[] contents = new ItemStack[41];
+        Update full = tracker.update(player, InventorySyncTracker.INVENTORY, null, contents);
+
+        contents[3] = item(1);
+        contents[40] = item(2);
+        Update delta = tracker.update(player, InventorySyncTracker.INVENTORY, null, contents);
+        assertFalse(delta.isFull());
+        assertEquals(full.getVersion(), delta.getBaseVersion());
+        assertArrayEquals(new int[] {3, 40}, delta.getChangedSlots());
+
+        contents[3] = item(3);
+        Update next = tracker.update(player, InventorySyncTracker.INVENTORY, null, contents);
+        assertFalse(next.isFull());
+        assertEquals(delta.getVersion(), next.getBaseVersion());
+        assertArrayEquals(new int[] {3}, next.getChangedSlots());
+
+        contents[40] = item(2);
+        assertArrayEquals(new int[0], tracker.update(player, InventorySyncTracker.INVENTORY, null, contents).getChangedSlots());
+
+        contents[40] = null;
+        assertArrayEquals(new int[] {40}, tracker.update(player, InventorySyncTracker.INVENTORY, null, contents).getChangedSlots());
+    }
+
+    @Test
+    public void testMostSlotsChangedIsFull() throws IOException {
+        ItemStack[] contents = new ItemStack[41];
+        tracker.update(player, InventorySyncTracker.INVENTORY, null, contents);
+        for (int i = 0; i < 21; i++) {
+            contents[i] = item(i);
+        }
+        Update update = tracker.update(player, InventorySyncTracker.INVENTORY, null, contents);
+        assertTrue(update.isFull());
+        assertEquals(update.getBaseVersion(), update.getVersion());
+        assertArrayEquals(new int[0], tracker.update(player, InventorySyncTracker.INVENTORY, null, contents).getChangedSlots());
+    }
+
+    @Test
+    public void testHalfOfSlotsChangedIsADelta() throws IOException {
+        ItemStack[] contents = new ItemStack[40];
+        tracker.update(player, InventorySyncTracker.ENDERCHEST, null, contents);
+        for (int i = 0; i < 20; i++) {
+            contents[i * 2] = item(i);
+        }
+        Update update = tracker.update(player, InventorySyncTracker.ENDERCHEST, null, contents);
+        assertFalse(update.isFull());
+        assertEquals(20, update.getChangedSlots().length);
+    }
+
+    @Test
+    public void testSizeOrTitleChangeIsFull() {
+        tracker.update(player, InventorySyncTracker.ENDERCHEST, "Ender Chest", new ItemStack[27]);
+        assertTrue(tracker.update(player, InventorySyncTracker.ENDERCHEST, "Ender Chest", new ItemStack[54]).isFull());
+        assertTrue(tracker.update(player, InventorySyncTracker.ENDERCHEST, "Other", new ItemStack[54]).isFull());
+        assertTrue(tracker.update(player, InventorySyncTracker.ENDERCHEST, null, new ItemStack[54]).isFull());
+        assertFalse(tracker.update(player, InventorySyncTracker.ENDERCHEST, null, new ItemStack[54]).isFull());
+    }
+
+    @Test
+    public void testBaselinesAreKeptPerPlayerAndType() {
+        tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]);
+        assertTrue(tracker.update(player, InventorySyncTracker.EQUIPMENT, null, new ItemStack[41]).isFull());
+        assertTrue(tracker.update(UUID.randomUUID(), InventorySyncTracker.INVENTORY, null, new ItemStack[41]).isFull());
+        assertFalse(tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]).isFull());
+    }
+
+    @Test
+    public void testInvalidate() {
+        tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]);
+        tracker.invalidate(player, InventorySyncTracker.INVENTORY);
+        assertTrue(tracker.update(player, InventorySyncTracker.INVENTORY, null, new ItemStack[41]).isFull());
+    }
+
+    @Test
+    public void testRemoteVersions() {
+        assertFalse(tracker.advanceRemoteVersion(player, InventorySyncTracker.INVENTORY, 1, 2));
+
+        tracker.setRemoteVersion(player, InventorySyncTracker.INVENTORY, 1);
+        assertTrue(tracker.advanceRemoteVersion(player, InventorySyncTracker.INVENTORY, 1, 2));
+        assertTrue(tracker.advanceRemoteVersion(player, InventorySyncTracker.INVENTORY, 2, 3));
+        assertFalse(tracker.advanceRemoteVersion(player, InventorySyncTracker.ENDERCHEST, 2, 3));
+
+        assertFalse(tracker.advanceRemoteVersion(player, InventorySyncTracker.INVENTORY, 2, 3));
+        assertFalse(tracker.advanceRemoteVersion(player, InventorySyncTracker.INVENTORY, 3, 4));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentCacheHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(60000);
+        assertNull(map.put("a", "1"));
+        assertEquals("1", map.put("a", "2"));
+        assertEquals("2", map.get("a"));
+        assertEquals(1, map.size());
+        assertEquals("2", map.remove("a"));
+        assertNull(map.remove("a"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testExpiredEntriesAreAbsent() throws InterruptedException {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(50);
+        map.put("a", "1");
+        Thread.sleep(100);
+        assertFalse(map.containsKey("a"));
+        assertNull(map.get("a"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotCounted() throws InterruptedException {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(50);
+        map.put("a", "1");
+        map.put("b", "2");
+        Thread.sleep(100);
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRemovalListenerFiresWithinATick() throws InterruptedException {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(800);
+        List<String> removed = new ArrayList<>();
+        map.registerRemovalListener((key, value) -> removed.add(key));
+        map.put("a", "1");
+        long start = System.currentTimeMillis();
+        while (removed.isEmpty() && System.currentTimeMillis() - start < 5000) {
+            Thread.sleep(50);
+            map.cleanUp();
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        assertEquals(1, removed.size());
+        assertTrue("reclaimed after " + elapsed + "ms", elapsed < 2500);
+        assertEquals(1, map.getExpirationCount());
+    }
+
+    @Test
+    public void testRemoveCondition() throws InterruptedException {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(50);
+        map.setRemoveCondition((key, value) -> !key.equals("kept"));
+        map.put("kept", "1");
+        map.put("dropped", "2");
+        Thread.sleep(100);
+        assertEquals("1", map.get("kept"));
+        assertNull(map.get("dropped"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPutIfAbsentWithExpiry() throws InterruptedException {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(60000);
+        assertNull(map.putIfAbsent("a", "1", System.currentTimeMillis() + 50));
+        assertEquals("1", map.putIfAbsent("a", "2", System.currentTimeMillis() + 60000));
+        Thread.sleep(100);
+        assertNull(map.get("a"));
+        assertNull(map.putIfAbsent("b", "1", System.currentTimeMillis() - 1));
+        assertNull(map.get("b"));
+    }
+
+    @Test
+    public void testMaximumSize() {
+        ConcurrentCacheHashMap<Integer, Integer> map = new ConcurrentCacheHashMap<>(60000);
+        List<Integer> removed = new ArrayList<>();
+        map.registerRemovalListener((key, value) -> removed.add(key));
+        map.setMaximumSize(100);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(100, map.size());
+        assertEquals(900, map.getEvictionCount());
+        assertEquals(900, removed.size());
+
+        map.setMaximumSize(10);
+        assertEquals(10, map.size());
+        map.setMaximumSize(-1);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(1000, map.size());
+    }
+
+    @Test
+    public void testRecentlyUsedEntriesAreKept() throws InterruptedException {
+        ConcurrentCacheHashMap<Integer, Integer> map = new ConcurrentCacheHashMap<>(60000);
+        map.setMaximumSize(4);
+        for (int i = 0; i < 4; i++) {
+            map.put(i, i);
+        }
+        Thread.sleep(1);
+        map.get(0);
+        map.get(1);
+        map.get(3);
+        map.put(4, 4);
+        assertNull(map.get(2));
+        assertEquals(0, (int) map.get(0));
+        assertEquals(1, (int) map.get(1));
+        assertEquals(3, (int) map.get(3));
+        assertEquals(4, (int) map.get(4));
+    }
+
+    @Test
+    public void testCounters() {
+        ConcurrentCacheHashMap<String, String> map = new ConcurrentCacheHashMap<>(60000);
+        map.put("a", "1");
+        map.get("a");
+        map.get("a");
+        map.get("b");
+        assertEquals(2, map.getHitCount());
+        assertEquals(1, map.getMissCount());
+        assertEquals(0, map.getEvictionCount());
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import com.loohp.interactivechat.objectholders.MentionNameTrie.MentionMatch;
+import com.loohp.interactivechat.objectholders.MentionNameTrie.MentionName;
+import com.loohp.interactivechat.objectholders.MentionNameTrie.MentionType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MentionNameTrieTest {
+
+    private static final MentionName ALICE = new MentionName("Alice", UUID.randomUUID(), MentionType.PLAYER, false);
+    private static final MentionName AL = new MentionName("Al", UUID.randomUUID(), MentionType.PLAYER, false);
+    private static final MentionName BOB = new MentionName("Bob", UUID.randomUUID(), MentionType.PLAYER, false);
+    private static final MentionName EVERYONE = new MentionName("everyone", null, MentionType.EVERYONE, false);
+
+    private static final MentionNameTrie TRIE = new MentionNameTrie(Arrays.asList(ALICE, AL, BOB, EVERYONE, new MentionName("", null, MentionType.PLAYER, false)));
+
+    @Test
+    public void testFindIgnoresCase() {
+        MentionMatch match = TRIE.find("hey @BOB, look", "@", each -> true);
+        assertNotNull(match);
+        assertSame(BOB, match.getName());
+        assertEquals(4, match.getStart());
+        assertEquals(8, match.getEnd());
+    }
+
+    @Test
+    public void testLongestNameIsPreferred() {
+        MentionMatch match = TRIE.find("@alice", "@", each -> true);
+        assertSame(ALICE, match.getName());
+        assertEquals(0, match.getStart());
+        assertEquals(6, match.getEnd());
+
+        match = TRIE.find("@alfred", "@", each -> true);
+        assertSame(AL, match.getName());
+        assertEquals(3, match.getEnd());
+    }
+
+    @Test
+    public void testEarliestMentionIsFound() {
+        MentionMatch match = TRIE.find("@bob and @alice", "@", each -> true);
+        assertSame(BOB, match.getName());
+
+        match = TRIE.find("@nobody and @everyone", "@", each -> true);
+        assertSame(EVERYONE, match.getName());
+        assertEquals(12, match.getStart());
+    }
+
+    @Test
+    public void testFilter() {
+        MentionMatch match = TRIE.find("@alice", "@", each -> each != ALICE);
+        assertSame(AL, match.getName());
+
+        assertNull(TRIE.find("@alice @bob", "@", each -> each.getType() == MentionType.EVERYONE));
+    }
+
+    @Test
+    public void testPrefix() {
+        assertNull(TRIE.find("alice", "@", each -> true));
+        assertSame(ALICE, TRIE.find("alice", "", each -> true).getName());
+        assertSame(BOB, TRIE.find("ping!!BOB", "!!", each -> true).getName());
+        assertNull(TRIE.find("@", "@", each -> true));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertNull(MentionNameTrie.EMPTY.find("@alice", "@", each -> true));
+        assertNull(TRIE.find("", "@", each -> true));
+    }
+
+}
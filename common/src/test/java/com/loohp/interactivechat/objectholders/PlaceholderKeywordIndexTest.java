@@ -0,0 +1,133 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.objectholders;
+
+import net.kyori.adventure.text.Component;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PlaceholderKeywordIndexTest {
+
+    private static ICPlaceholder placeholder(String name, String keyword) {
+        return new ICPlaceholder(Pattern.compile(keyword), name, Component.empty(), "interactivechat.test." + name, 0) {
+            @Override
+            public boolean isBuildIn() {
+                return false;
+            }
+        };
+    }
+
+    private static PlaceholderKeywordIndex build(List<ICPlaceholder> placeholders) {
+        return PlaceholderKeywordIndex.build(placeholders, each -> true, each -> each.getKeyword());
+    }
+
+    @Test
+    public void testFindsOnlyPresentKeywords() {
+        ICPlaceholder item = placeholder("item", "\\[item\\]");
+        ICPlaceholder inv = placeholder("inv", "\\[inv\\]");
+        ICPlaceholder ender = placeholder("ender", "\\[ender\\]");
+        PlaceholderKeywordIndex index = build(Arrays.asList(item, inv, ender));
+
+        PlaceholderKeywordIndex.Matches matches = index.find("look at my [item] and [ender]");
+        assertTrue(matches.mayContain(item));
+        assertFalse(matches.mayContain(inv));
+        assertTrue(matches.mayContain(ender));
+        assertFalse(matches.isEmpty());
+    }
+
+    @Test
+    public void testNoMatch() {
+        ICPlaceholder item = placeholder("item", "\\[item\\]");
+        PlaceholderKeywordIndex index = build(Collections.singletonList(item));
+
+        assertTrue(index.find("").isEmpty());
+        assertTrue(index.find("nothing to see here").isEmpty());
+        assertFalse(index.find("[ite]").mayContain(item));
+    }
+
+    @Test
+    public void testKeywordsMatchingAtTheSamePosition() {
+        ICPlaceholder shortKeyword = placeholder("short", "\\[it");
+        ICPlaceholder longKeyword = placeholder("long", "\\[item\\]");
+        PlaceholderKeywordIndex index = build(Arrays.asList(shortKeyword, longKeyword));
+
+        PlaceholderKeywordIndex.Matches matches = index.find("[item]");
+        assertTrue(matches.mayContain(shortKeyword));
+        assertTrue(matches.mayContain(longKeyword));
+    }
+
+    @Test
+    public void testKeywordsWithGroups() {
+        ICPlaceholder grouped = placeholder("grouped", "\\[(pos|loc)\\]");
+        ICPlaceholder after = placeholder("after", "\\[(?:ping)\\]");
+        PlaceholderKeywordIndex index = build(Arrays.asList(grouped, after));
+
+        PlaceholderKeywordIndex.Matches matches = index.find("[ping]");
+        assertFalse(matches.mayContain(grouped));
+        assertTrue(matches.mayContain(after));
+
+        matches = index.find("[loc]");
+        assertTrue(matches.mayContain(grouped));
+        assertFalse(matches.mayContain(after));
+    }
+
+    @Test
+    public void testBackReferenceKeywordIsMatchedOnItsOwn() {
+        ICPlaceholder repeated = placeholder("repeated", "(ab)\\1");
+        ICPlaceholder item = placeholder("item", "\\[item\\]");
+        PlaceholderKeywordIndex index = build(Arrays.asList(repeated, item));
+
+        assertTrue(index.find("xxababxx").mayContain(repeated));
+        assertFalse(index.find("xxabxx").mayContain(repeated));
+        assertTrue(index.find("[item]").mayContain(item));
+    }
+
+    @Test
+    public void testUnindexedPlaceholdersMayAlwaysBePresent() {
+        ICPlaceholder item = placeholder("item", "\\[item\\]");
+        ICPlaceholder excluded = placeholder("excluded", "\\[excluded\\]");
+        PlaceholderKeywordIndex index = PlaceholderKeywordIndex.build(Arrays.asList(item, excluded), each -> each != excluded, each -> each.getKeyword());
+
+        assertTrue(index.isIndexed(item));
+        assertFalse(index.isIndexed(excluded));
+        assertTrue(index.find("nothing").mayContain(excluded));
+    }
+
+    @Test
+    public void testIsBuiltFrom() {
+        ICPlaceholder item = placeholder("item", "\\[item\\]");
+        ICPlaceholder inv = placeholder("inv", "\\[inv\\]");
+        PlaceholderKeywordIndex index = build(Arrays.asList(item, inv));
+
+        assertTrue(index.isBuiltFrom(Arrays.asList(item, inv)));
+        assertFalse(index.isBuiltFrom(Arrays.asList(inv, item)));
+        assertFalse(index.isBuiltFrom(Collections.singletonList(item)));
+        assertFalse(index.isBuiltFrom(Arrays.asList(placeholder("item", "\\[item\\]"), inv)));
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.loohp.interactivechat.nms.NMS;
+import com.loohp.interactivechat.nms.NMSWrapper;
+import net.querz.nbt.io.NBTSerializer;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.io.SNBTUtil;
+import net.querz.nbt.tag.CompoundTag;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataTypeIOTest {
+
+    private NMSWrapper nms;
+
+    @Before
+    public void setUp() throws Exception {
+        nms = mock(NMSWrapper.class);
+        setNMSInstance(nms);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        setNMSInstance(null);
+    }
+
+    private static void setNMSInstance(NMSWrapper instance) throws Exception {
+        Field field = NMS.class.getDeclaredField("instance");
+        field.setAccessible(true);
+        field.set(null, instance);
+    }
+
+    private static byte[] writeVarInt(int value) throws IOException {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTypeIO.writeVarInt(out, value);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testVarIntRoundTrip() throws IOException {
+        int[] values = {0, 1, 127, 128, 255, 300, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE, -1, -128, Integer.MIN_VALUE};
+        for (int value : values) {
+            assertEquals(value, DataTypeIO.readVarInt(ByteStreams.newDataInput(writeVarInt(value))));
+        }
+    }
+
+    @Test
+    public void testVarIntLength() throws IOException {
+        assertEquals(1, writeVarInt(0).length);
+        assertEquals(1, writeVarInt(127).length);
+        assertEquals(2, writeVarInt(128).length);
+        assertEquals(2, writeVarInt(16383).length);
+        assertEquals(3, writeVarInt(16384).length);
+        assertEquals(5, writeVarInt(Integer.MAX_VALUE).length);
+        assertEquals(5, writeVarInt(-1).length);
+    }
+
+    @Test
+    public void testVarIntEncoding() throws IOException {
+        byte[] bytes = writeVarInt(300);
+        assertEquals(0xAC, bytes[0] & 0xFF);
+        assertEquals(0x02, bytes[1] & 0xFF);
+    }
+
+    @Test
+    public void testConsecutiveVarInts() throws IOException {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTypeIO.writeVarInt(out, 128);
+        DataTypeIO.writeVarInt(out, 0);
+        DataTypeIO.writeVarInt(out, -1);
+        out.writeByte(42);
+        ByteArrayDataInput in = ByteStreams.newDataInput(out.toByteArray());
+        assertEquals(128, DataTypeIO.readVarInt(in));
+        assertEquals(0, DataTypeIO.readVarInt(in));
+        assertEquals(-1, DataTypeIO.readVarInt(in));
+        assertEquals(42, in.readByte());
+    }
+
+    @Test(expected = IOException.class)
+    public void testVarIntTooBig() throws IOException {
+        DataTypeIO.readVarInt(ByteStreams.newDataInput(new byte[] {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testVarIntTruncated() throws IOException {
+        DataTypeIO.readVarInt(ByteStreams.newDataInput(new byte[] {(byte) 0x80, (byte) 0x80}));
+    }
+
+    @Test
+    public void testBinaryItemStackRoundTrip() throws IOException {
+        CompoundTag display = new CompoundTag();
+        display.putString("Name", "{\"text\":\"Excalibur\"}");
+        CompoundTag itemTag = new CompoundTag();
+        itemTag.put("display", display);
+        itemTag.putInt("Damage", 12);
+        CompoundTag nbt = new CompoundTag();
+        nbt.putString("id", "minecraft:diamond_sword");
+        nbt.putByte("Count", (byte) 1);
+        nbt.put("tag", itemTag);
+        byte[] nbtBytes = new NBTSerializer(false).toBytes(new NamedTag("", nbt));
+
+        ItemStack item = mock(ItemStack.class);
+        when(item.getType()).thenReturn(Material.DIAMOND_SWORD);
+        when(nms.getNMSItemStackBytes(item)).thenReturn(nbtBytes);
+        ItemStack decoded = mock(ItemStack.class);
+        ArgumentCaptor<String> snbt = ArgumentCaptor.forClass(String.class);
+        when(nms.getItemFromNBTJson(snbt.capture())).thenReturn(decoded);
+
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTypeIO.writeItemStack(out, 2, item, StandardCharsets.UTF_8);
+        out.writeByte(42);
+        byte[] encoded = out.toByteArray();
+        assertEquals(2, encoded[0]);
+        verify(nms, never()).getNMSItemStackJson(any());
+
+        ByteArrayDataInput in = ByteStreams.newDataInput(encoded);
+        assertSame(decoded, DataTypeIO.readItemStack(in, StandardCharsets.UTF_8));
+        assertEquals(nbt, SNBTUtil.fromSNBT(snbt.getValue()));
+        assertEquals(42, in.readByte());
+    }
+
+    @Test
+    public void testBinaryItemStackEmpty() throws IOException {
+        ItemStack air = mock(ItemStack.class);
+        when(air.getType()).thenReturn(Material.AIR);
+
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTypeIO.writeItemStack(out, 2, null, StandardCharsets.UTF_8);
+        DataTypeIO.writeItemStack(out, 2, air, StandardCharsets.UTF_8);
+        byte[] encoded = out.toByteArray();
+        assertEquals(4, encoded.length);
+
+        ByteArrayDataInput in = ByteStreams.newDataInput(encoded);
+        assertNull(DataTypeIO.readItemStack(in, StandardCharsets.UTF_8));
+        assertNull(DataTypeIO.readItemStack(in, StandardCharsets.UTF_8));
+        verify(nms, never()).getNMSItemStackBytes(any());
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import com.loohp.interactivechat.utils.PacketCompressionUtils.EncodedPayload;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PacketCompressionUtilsTest {
+
+    private static byte[] compressible(int length) {
+        byte[] chunk = "{\"text\":\"\",\"extra\":[{\"text\":\"[item]\",\"color\":\"gray\"}]}".getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = chunk[i % chunk.length];
+        }
+        return data;
+    }
+
+    private static byte[] random(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    @After
+    public void tearDown() {
+        PacketCompressionUtils.setEnabled(false);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (int length : new int[] {256, PacketCompressionUtils.COMPRESSION_THRESHOLD, 4096, 65536, 1048576}) {
+            byte[] data = compressible(length);
+            byte[] compressed = PacketCompressionUtils.compress(data);
+            assertNotNull(compressed);
+            assertTrue(compressed.length < data.length);
+            assertArrayEquals(data, PacketCompressionUtils.decompress(compressed));
+        }
+    }
+
+    @Test
+    public void testIncompressible() {
+        assertNull(PacketCompressionUtils.compress(random(4096)));
+        assertNull(PacketCompressionUtils.compress(new byte[0]));
+        assertNull(PacketCompressionUtils.compress(new byte[] {1, 2, 3, 4}));
+    }
+
+    @Test
+    public void testEncode() throws IOException {
+        byte[] small = compressible(PacketCompressionUtils.COMPRESSION_THRESHOLD - 1);
+        byte[] large = compressible(PacketCompressionUtils.COMPRESSION_THRESHOLD * 4);
+        byte[] incompressible = random(PacketCompressionUtils.COMPRESSION_THRESHOLD * 4);
+
+        EncodedPayload payload = PacketCompressionUtils.encode(0x0A, large);
+        assertEquals(0x0A, payload.getHeader());
+        assertSame(large, payload.getData());
+
+        PacketCompressionUtils.setEnabled(true);
+        payload = PacketCompressionUtils.encode(0x0A, small);
+        assertEquals(0x0A, payload.getHeader());
+        assertSame(small, payload.getData());
+
+        payload = PacketCompressionUtils.encode(0x0A, incompressible);
+        assertEquals(0x0A, payload.getHeader());
+        assertSame(incompressible, payload.getData());
+
+        payload = PacketCompressionUtils.encode(0x0A, large);
+        assertEquals(0x0A | PacketCompressionUtils.COMPRESSED_FLAG, payload.getHeader());
+        assertEquals(0x0A, payload.getHeader() & ~PacketCompressionUtils.COMPRESSED_FLAG);
+        assertArrayEquals(large, PacketCompressionUtils.decompress(payload.getData()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressTooShort() throws IOException {
+        PacketCompressionUtils.decompress(new byte[] {0, 0, 1});
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressInvalidLength() throws IOException {
+        byte[] compressed = PacketCompressionUtils.compress(compressible(4096));
+        compressed[0] = (byte) 0xFF;
+        PacketCompressionUtils.decompress(compressed);
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressLengthMismatch() throws IOException {
+        byte[] compressed = PacketCompressionUtils.compress(compressible(4096));
+        compressed[3]++;
+        PacketCompressionUtils.decompress(compressed);
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressTruncated() throws IOException {
+        byte[] compressed = PacketCompressionUtils.compress(compressible(4096));
+        PacketCompressionUtils.decompress(Arrays.copyOf(compressed, compressed.length - 8));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressCorrupted() throws IOException {
+        byte[] compressed = PacketCompressionUtils.compress(random(4096));
+        assertNull(compressed);
+        byte[] garbage = random(64);
+        garbage[0] = 0;
+        garbage[1] = 0;
+        garbage[2] = 1;
+        garbage[3] = 0;
+        PacketCompressionUtils.decompress(garbage);
+    }
+
+}
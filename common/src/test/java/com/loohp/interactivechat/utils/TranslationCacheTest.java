@@ -0,0 +1,148 @@
+/*
+ * This file is part of InteractiveChat4.
+ *
+ * Copyright (C) 2020 - 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2020 - 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechat.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TranslationCacheTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("translations", ".bin").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static Map<String, String> language(String... entries) {
+        Map<String, String> mapping = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            mapping.put(entries[i], entries[i + 1]);
+        }
+        return mapping;
+    }
+
+    private static Map<String, String> hashes(String... entries) {
+        return language(entries);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Map<String, String> enUs = language("item.minecraft.stone", "Stone", "block.minecraft.dirt", "Dirt", "item.minecraft.diamond", "Diamond");
+        Map<String, String> zhTw = language("item.minecraft.stone", "石頭", "block.minecraft.dirt", "泥土", "empty", "");
+        Map<String, Map<String, String>> translations = new HashMap<>();
+        translations.put("en_us", enUs);
+        translations.put("zh_tw", zhTw);
+        TranslationCache.write(file, "1.21.1", hashes("en_us", "a", "zh_tw", "b"), translations);
+
+        Map<String, Map<String, String>> read = TranslationCache.read(file, "1.21.1", hashes("en_us", "a", "zh_tw", "b"));
+        assertNotNull(read);
+        assertEquals(translations.keySet(), read.keySet());
+        for (Entry<String, Map<String, String>> entry : translations.entrySet()) {
+            Map<String, String> mapping = read.get(entry.getKey());
+            assertEquals(entry.getValue().size(), mapping.size());
+            for (Entry<String, String> translation : entry.getValue().entrySet()) {
+                assertTrue(mapping.containsKey(translation.getKey()));
+                assertEquals(translation.getValue(), mapping.get(translation.getKey()));
+            }
+            assertEquals(entry.getValue(), new HashMap<>(mapping));
+        }
+    }
+
+    @Test
+    public void testMissingKeys() throws IOException {
+        TranslationCache.write(file, "1.21.1", hashes("en_us", "a"), Collections.singletonMap("en_us", language("b", "B", "d", "D")));
+        Map<String, String> mapping = TranslationCache.read(file, "1.21.1", hashes("en_us", "a")).get("en_us");
+
+        for (String key : new String[] {"", "a", "c", "e", "bb", "B"}) {
+            assertFalse(mapping.containsKey(key));
+            assertNull(mapping.get(key));
+        }
+        assertNull(mapping.get(1));
+    }
+
+    @Test
+    public void testEmptyLanguage() throws IOException {
+        TranslationCache.write(file, "1.21.1", hashes("en_us", "a"), Collections.singletonMap("en_us", Collections.emptyMap()));
+        Map<String, String> mapping = TranslationCache.read(file, "1.21.1", hashes("en_us", "a")).get("en_us");
+
+        assertTrue(mapping.isEmpty());
+        assertNull(mapping.get("item.minecraft.stone"));
+        assertFalse(mapping.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testEntriesAreSortedByKey() throws IOException {
+        TranslationCache.write(file, "1.21.1", hashes("en_us", "a"), Collections.singletonMap("en_us", language("c", "3", "a", "1", "é", "4", "b", "2")));
+        Map<String, String> mapping = TranslationCache.read(file, "1.21.1", hashes("en_us", "a")).get("en_us");
+
+        StringBuilder keys = new StringBuilder();
+        for (Entry<String, String> entry : mapping.entrySet()) {
+            keys.append(entry.getKey());
+        }
+        assertEquals("abcé", keys.toString());
+    }
+
+    @Test
+    public void testMismatchedCacheIsNotUsed() throws IOException {
+        TranslationCache.write(file, "1.21.1", hashes("en_us", "a", "de_de", "b"), Collections.singletonMap("en_us", language("a", "A")));
+
+        assertNull(TranslationCache.read(file, "1.21.2", hashes("en_us", "a")));
+        assertNull(TranslationCache.read(file, "1.21.1", hashes("en_us", "changed")));
+        assertNull(TranslationCache.read(file, "1.21.1", hashes("en_us", "a", "de_de", "b")));
+        assertNotNull(TranslationCache.read(file, "1.21.1", hashes("en_us", "a")));
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x12345678);
+            out.writeInt(1);
+        }
+        assertNull(TranslationCache.read(file, "1.21.1", hashes("en_us", "a")));
+
+        file.delete();
+        assertNull(TranslationCache.read(file, "1.21.1", hashes("en_us", "a")));
+    }
+
+}